@@ -0,0 +1,67 @@
+package util;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * An implementation of {@code Reducer} using SIMD lanes of the incubating Vector API.
+ * <p>
+ * This class is compiled only with the {@code vector} Maven profile on JDK 16 or later and is loaded reflectively by {@code Reducers},
+ * which requires running with {@code --add-modules jdk.incubator.vector}. Tails of ranges shorter than a vector are reduced with plain loops.
+ * @see Reducer
+ * @see Reducers
+ */
+public class VectorReducer implements Reducer {
+
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+
+    @Override
+    public double sum(double[] values, int from, int to) {
+        int i = from;
+        DoubleVector sums = DoubleVector.zero(DOUBLES);
+        for(int bound = from + DOUBLES.loopBound(to - from); i < bound; i += DOUBLES.length())
+            sums = sums.add(DoubleVector.fromArray(DOUBLES, values, i));
+        double sum = sums.reduceLanes(VectorOperators.ADD);
+        for(; i < to; i++)
+            sum += values[i];
+        return sum;
+    }
+
+    @Override
+    public long sum(int[] values, int from, int to) {
+        int i = from;
+        long sum = 0;
+        for(int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length())
+            sum += IntVector.fromArray(INTS, values, i).reduceLanesToLong(VectorOperators.ADD);
+        for(; i < to; i++)
+            sum += values[i];
+        return sum;
+    }
+
+    @Override
+    public int count(int[] values, int from, int to, int value) {
+        int i = from;
+        int count = 0;
+        for(int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length())
+            count += IntVector.fromArray(INTS, values, i).eq(value).trueCount();
+        for(; i < to; i++)
+            if(values[i] == value)
+                count++;
+        return count;
+    }
+
+    @Override
+    public boolean anyPositive(int[] values, int from, int to) {
+        int i = from;
+        for(int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length())
+            if(IntVector.fromArray(INTS, values, i).compare(VectorOperators.GT, 0).anyTrue())
+                return true;
+        for(; i < to; i++)
+            if(values[i] > 0)
+                return true;
+        return false;
+    }
+}
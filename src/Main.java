@@ -1,20 +1,58 @@
 import cli.ELCPaperOptionsCreator;
 import org.apache.commons.cli.*;
+import simulation.benchmark.AllocationBenchmark;
+import simulation.cache.ResultCache;
+import simulation.distributed.Coordinator;
+import simulation.distributed.SimulationDaemon;
+import simulation.distributed.Worker;
+import simulation.environment.Salience;
+import simulation.experiment.Experiment;
+import simulation.experiment.ExperimentFile;
+import simulation.experiment.ExperimentRunner;
+import simulation.outcome.OutcomeWriter;
+import simulation.simulation.AdaptiveConductor;
+import simulation.simulation.ConfidenceTarget;
+import simulation.simulation.HistoryFormat;
+import simulation.simulation.PairedConductor;
+import simulation.simulation.PairedConductorSerializer;
 import simulation.simulation.Simulation;
 import simulation.simulation.SimulationConductor;
 import simulation.simulation.SimulationConductorSerializer;
+import simulation.simulation.SimulationResultsMerger;
+import simulation.simulation.SimulationSnapshots;
 import simulation.simulation.creator.ELCPaperSimulationCreator;
+import simulation.termination.TerminationCriteria;
+import simulation.trajectory.TrajectoryRecorder;
+import util.Randoms;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * This class is provided as a main class to conduct simulations of computer model described in the "Evolutionary Language Competition - an agent-based model" paper. Please see the paper for more details. It is available <a href="https://github.com/Grzejdziok/Evolutionary-language-competition">here</a>.
  * <p>
  * The class contains only {@code main} method, which pparses command-line arguments, conducts simulations with specified parameters, and saves results to a JSON file.
+ * If the first argument is {@code merge}, the remaining arguments are paths of results files, which are merged into one results file
+ * saved in the path given with {@code -p}.
+ * If the first argument is {@code snapshot}, the simulation defined by the remaining arguments is evolved without its variant agent for {@code -burnin} iterations
+ * {@code -states} times, and the evolved states are saved in the path given with {@code -p}, so that simulations can start from them with {@code -warm}.
+ * If the first argument is {@code bench}, the throughput and the bytes allocated per interaction of the simulation defined by the remaining arguments
+ * are measured for the scheduler given with {@code -sched}, or for each scheduler if it is not given, and the program exits with status {@code 1}
+ * if a budget given with {@code -budget} is exceeded, or with status {@code 2} if the virtual machine does not measure allocated bytes of threads.
+ * If the first argument is {@code run}, the remaining arguments are paths of JSON files of experiments read by {@code ExperimentFile}, and all experiments
+ * are run in this process on a pool of {@code -threads} threads (by default, one per available processor), in batches of {@code -batch} simulations.
  */
 
 public class Main {
 
+    private static final int MIN_ADAPTIVE_SIMULATIONS = 10;
+
     /**
      * A method that parses arguments, conducts simulations with specified parameters, and saves results to a JSON file.
      * <p>
@@ -27,16 +65,63 @@ public class Main {
      * <li> {@code -d} defines the number of objects (default: {@code 5})</li>
      * <li> {@code -d1} defines the initial environment (number of recognized objects with the words belonging to a language) of the 1-lingual population (default: {@code 5})</li>
      * <li> {@code -d2} defines the initial environemnt of the 2-lingual population (default: {@code 5})</li>
+     * <li> {@code -L} defines the number of competing languages, from {@code 1} to {@code 64} (default: {@code 2})</li>
+     * <li> {@code -Nl} defines the initial sizes of the populations using each language as a comma-separated list (default: {@code N1,N2} for two languages, otherwise {@code N} split evenly)</li>
+     * <li> {@code -dl} defines the initial environments of the populations using each language as a comma-separated list (default: {@code d1,d2} for two languages, otherwise {@code d} for each language)</li>
      * <li> {@code -eps} defines the epsilon parameter (default: {@code 0.05})</li>
      * <li> {@code -var} defines the model variant (with string argument from the {{@code "zero"}, {@code "ts"}, {@code "tl"}} set) (default: {@code "zero"})</li>
      * <li> {@code -v} defines the variant influence (default: {@code 0})</li>
-     * <li> {@code -iv} defines the variant language (from the set {{@code 1}, {@code 2}}) (default: {@code 1})</li>
+     * <li> {@code -iv} defines the variant language (from {@code 1} to {@code L}) (default: {@code 1})</li>
      * <li> {@code -p} defines the json results file path (default: {@code "results.json"})</li>
      * <li> {@code -s} defines the number of independent simulations to be conducted (default: {@code 1000})</li>
      * <li> {@code -stop} defines the maximal number of iterations to simulate in every independent simulation (default: {@code 100000})</li>
+     * <li> {@code -sal} defines the salience of objects: {@code uniform}, {@code zipf:s} for Zipf salience with exponent {@code s}, or a path to a file with one weight per object (default: {@code uniform})</li>
+     * <li> {@code -sched} defines the scheduler of interactions: {@code sequential}, {@code batched}, which samples all interactions of a step in advance,
+     * or {@code continuous}, which simulates interactions in continuous time with agents speaking at their own rates (default: {@code sequential})</li>
+     * <li> {@code -rates} defines activity rates of agents for the {@code continuous} scheduler: {@code constant}, {@code exponential}, {@code pareto:alpha}
+     * or a path to a file with one rate per agent; random rates are drawn with the pattern simulation, so they are reproducible with {@code -seed} (default: {@code constant})</li>
+     * <li> {@code -term} defines the criterion of terminating each simulation: {@code synchronization} (lexical synchronization with one-to-one lexicons),
+     * {@code extinction} (at most one language left), {@code consensus:f} (a language dominating for the fraction {@code f} of agents)
+     * or {@code plateau:w:t} (sums of weights changed relatively by at most {@code t} over {@code w} steps) (default: {@code synchronization})</li>
+     * <li> {@code -dt} defines the time by which a step of the {@code continuous} scheduler advances, i.e. the spacing of the grid on which statistics are recorded (default: 1)</li>
+     * <li> {@code -worker} runs the program as a worker listening on the given port of the loopback interface, which conducts batches of simulations for a coordinator</li>
+     * <li> {@code -workers} defines a comma-separated list of {@code host:port} addresses of workers to conduct the simulations in; the program is then the coordinator of the workers (default: none)</li>
+     * <li> {@code -batch} defines the number of simulations handed to a worker, or to a thread in the {@code run} subcommand, at once (default: {@code 10})</li>
+     * <li> {@code -enc} defines the lossless encoding of histories in the results file: {@code plain}, {@code xor} or {@code delta} (default: {@code plain})</li>
+     * <li> {@code -ds} defines the downsampling of averaged histories in the results file: {@code none}, {@code lttb:k} for {@code k} points chosen with
+     * the Largest-Triangle-Three-Buckets algorithm, or {@code maxdev:e} for points between which the linear interpolation deviates by at most {@code e} (default: {@code none})</li>
+     * <li> {@code -threads} defines the number of threads conducting simulations in parallel (default: {@code 1}, or the number of available processors in the {@code run} subcommand and a daemon)</li>
+     * <li> {@code -ci} enables conducting simulations until the confidence intervals of the given comma-separated targets {@code statistic[@iteration]:tolerance}
+     * are narrower than their tolerances, with {@code -s} as the maximal number of simulations; statistics are {@code iterations}, {@code users} (share of agents),
+     * {@code weights} and {@code things} (default: none)</li>
+     * <li> {@code -conf} defines the confidence level of the intervals of {@code -ci} targets (default: {@code 0.95})</li>
+     * <li> {@code -traj} defines the path of a memory-mapped file to record the dominating languages of agents of the first simulation to; not used with {@code -workers} (default: none)</li>
+     * <li> {@code -trajk} defines the number of iterations between recorded frames of the trajectory (default: {@code 1})</li>
+     * <li> {@code -warm} defines the path of a file of evolved states saved with the {@code snapshot} subcommand, from which simulations start (default: none)</li>
+     * <li> {@code -warms} defines how states of {@code -warm} are sampled for consecutive simulations: {@code roundrobin} or {@code random} (default: {@code roundrobin})</li>
+     * <li> {@code -burnin} defines the number of iterations by which states are evolved in the {@code snapshot} subcommand (default: {@code 1000})</li>
+     * <li> {@code -states} defines the number of states saved in the {@code snapshot} subcommand (default: {@code 10})</li>
+     * <li> {@code -pair} defines a comma-separated list of configurations {@code variant:influence} conducted on common random numbers, the first of which is the baseline;
+     * {@code -s} replicas of each configuration are conducted, and the results of the configurations with the paired differences from the baseline are saved (default: none)</li>
+     * <li> {@code -seed} defines the seed of the random streams of replicas of {@code -pair}, or of the pattern simulation and of each replica of other simulations,
+     * or of each state of the {@code snapshot} subcommand, whose results are then reproducible (default: the current time for {@code -pair}, otherwise none)</li>
+     * <li> {@code -warmup} defines the number of steps simulated before measuring in the {@code bench} subcommand (default: {@code 1000})</li>
+     * <li> {@code -steps} defines the number of steps measured in the {@code bench} subcommand (default: {@code 10000})</li>
+     * <li> {@code -budget} defines budgets of bytes allocated per interaction in the {@code bench} subcommand as a comma-separated list of {@code scheduler:bytes}
+     * budgets and at most one {@code bytes} budget of other schedulers (default: none)</li>
+     * <li> {@code -daemon} runs the program as a daemon listening on the given port of the loopback interface, which conducts jobs sent by clients
+     * as lines of JSON objects of options on {@code -threads} threads (by default, one per available processor) and streams their progress and results back</li>
+     * <li> {@code -queue} defines the maximal number of jobs of a daemon waiting for a thread; further jobs are rejected (default: {@code 64})</li>
+     * <li> {@code -cache} defines the directory of an on-disk cache of results of seeded simulations, from which cached replicas of the same configuration are served
+     * and to which missing replicas are added; it requires {@code -seed} (default: none)</li>
+     * <li> {@code -cachesize} defines the maximal size of the cache in megabytes, above which least recently used results are evicted (default: {@code 1024})</li>
+     * <li> {@code -outcomes} defines the path of a file to which the outcome of each simulation is written as it completes: its replica, seed, numbers of iterations
+     * and interactions, whether it finished, the winning language and final statistics of languages; not used with {@code -pair}, {@code -workers} or {@code -cache} (default: none)</li>
+     * <li> {@code -outformat} defines the format of the file of outcomes: {@code ndjson} for a JSON object per line or {@code binary} for fixed-width records (default: {@code ndjson})</li>
      * </ul>
      *
      * @see ELCPaperOptionsCreator
+     * @see SimulationResultsMerger
      * @see Simulation
      * @see SimulationConductor
      * @param args command-line arguments specyfing the details of a simulation to conduct
@@ -45,15 +130,266 @@ public class Main {
 
         Options options = new ELCPaperOptionsCreator().create();
 
+        boolean merge = args.length > 0 && args[0].equals("merge");
+        boolean snapshot = args.length > 0 && args[0].equals("snapshot");
+        boolean bench = args.length > 0 && args[0].equals("bench");
+        boolean run = args.length > 0 && args[0].equals("run");
+
         CommandLineParser parser = new DefaultParser();
         CommandLine commandLine;
         try {
-            commandLine = parser.parse(options, args);
+            commandLine = parser.parse(options, merge || snapshot || bench || run ? Arrays.copyOfRange(args, 1, args.length) : args);
         } catch (ParseException e) {
             e.printStackTrace();
             return;
         }
 
+        if(merge) {
+            try {
+                SimulationResultsMerger.merge(commandLine.getArgList(), commandLine.getOptionValue("p", "results.json"));
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            return;
+        }
+
+        if(snapshot) {
+            try {
+                ELCPaperSimulationCreator creator = createCreator(commandLine);
+                Simulation pattern = createConductor(commandLine, creator).getPatternSimulation();
+                Long seed = commandLine.hasOption("seed") ? Long.parseLong(commandLine.getOptionValue("seed")) : null;
+                SimulationSnapshots.burnIn(pattern, Integer.parseInt(commandLine.getOptionValue("burnin", "1000")), Integer.parseInt(commandLine.getOptionValue("states", "10")),
+                        seed, creator.getStateSpecification()).writeToFile(commandLine.getOptionValue("p", "states.bin"));
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            return;
+        }
+
+        if(bench) {
+            AllocationBenchmark benchmark = new AllocationBenchmark(Integer.parseInt(commandLine.getOptionValue("warmup", "1000")), Integer.parseInt(commandLine.getOptionValue("steps", "10000")));
+            String[] engines = commandLine.hasOption("sched") ? new String[]{commandLine.getOptionValue("sched")} : new String[]{"sequential", "batched", "continuous"};
+            boolean exceeded = false;
+            for(String engine: engines) {
+                AllocationBenchmark.Measurement measurement;
+                try {
+                    measurement = benchmark.measure(createConductor(withOption(args, "sched", engine)).getPatternSimulation());
+                } catch (UnsupportedOperationException e) {
+                    System.err.println(e.getMessage());
+                    System.exit(2);
+                    return;
+                }
+                double budget = AllocationBenchmark.parseBudget(commandLine.getOptionValue("budget"), engine);
+                boolean withinBudget = measurement.getBytesPerInteraction() <= budget;
+                exceeded |= !withinBudget;
+                System.out.printf("%-12s %14.0f interactions/s %12d bytes %10.4f bytes/interaction %s%n", engine, measurement.getInteractionsPerSecond(),
+                        measurement.getAllocatedBytes(), measurement.getBytesPerInteraction(), budget == Double.POSITIVE_INFINITY ? "" : withinBudget ? "within budget " + budget : "EXCEEDED budget " + budget);
+            }
+            if(exceeded)
+                System.exit(1);
+            return;
+        }
+
+        if(run) {
+            List<Experiment> experiments = new ArrayList<>();
+            try {
+                for(String file: commandLine.getArgList())
+                    for(String[] experimentArgs: ExperimentFile.read(file))
+                        experiments.add(createExperiment(experimentArgs));
+            } catch (IOException | ParseException | IllegalArgumentException e) {
+                e.printStackTrace();
+                System.exit(1);
+            }
+            int threads = Integer.parseInt(commandLine.getOptionValue("threads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+            int batchSize = Integer.parseInt(commandLine.getOptionValue("batch", "10"));
+            try {
+                if(new ExperimentRunner(threads, batchSize).run(experiments) > 0)
+                    System.exit(1);
+            } catch (InterruptedException e) {
+                e.printStackTrace();
+            }
+            return;
+        }
+
+        if(commandLine.hasOption("daemon")) {
+            try {
+                SimulationDaemon daemon = new SimulationDaemon(Integer.parseInt(commandLine.getOptionValue("daemon")),
+                        Integer.parseInt(commandLine.getOptionValue("threads", String.valueOf(Runtime.getRuntime().availableProcessors()))),
+                        Integer.parseInt(commandLine.getOptionValue("queue", "64")), Main::createConductor);
+                System.out.println("Listening on port " + daemon.getPort());
+                daemon.serve();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            return;
+        }
+
+        if(commandLine.hasOption("worker")) {
+            try {
+                new Worker(Integer.parseInt(commandLine.getOptionValue("worker")), Main::createConductor).serve();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            return;
+        }
+
+        HistoryFormat historyFormat = HistoryFormat.parse(commandLine.getOptionValue("enc", "plain"), commandLine.getOptionValue("ds", "none"));
+
+        ELCPaperSimulationCreator creator;
+        SimulationConductor conductor;
+        try {
+            creator = createCreator(commandLine);
+            conductor = createConductor(commandLine, creator);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return;
+        }
+
+        int simulations = Integer.parseInt(commandLine.getOptionValue("s", "1000"));
+        int stopIteration = Integer.parseInt(commandLine.getOptionValue("stop", "100000"));
+
+        if(commandLine.hasOption("cache")) {
+            if(!commandLine.hasOption("seed"))
+                throw new IllegalArgumentException("Only seeded simulations can be cached, so -cache requires -seed.");
+            for(String option: new String[]{"pair", "workers", "ci", "traj", "outcomes"})
+                if(commandLine.hasOption(option))
+                    throw new IllegalArgumentException("The option -" + option + " cannot be used with -cache.");
+        }
+        if(commandLine.hasOption("outcomes") && (commandLine.hasOption("pair") || commandLine.hasOption("workers")))
+            throw new IllegalArgumentException("Outcomes of replicas cannot be written with -pair or -workers.");
+
+        if(commandLine.hasOption("pair")) {
+            String[] configurations = commandLine.getOptionValue("pair").split(",");
+            long seed = commandLine.hasOption("seed") ? Long.parseLong(commandLine.getOptionValue("seed")) : System.nanoTime();
+            SimulationConductor[] conductors = new SimulationConductor[configurations.length];
+            for(int i = 0; i < configurations.length; i++) {
+                configurations[i] = configurations[i].trim();
+                String[] variant = configurations[i].split(":");
+                if(variant.length != 2)
+                    throw new IllegalArgumentException("A paired configuration must be given as variant:influence, but found " + configurations[i]);
+                conductors[i] = createConductor(withOption(withVariant(args, variant[0], variant[1]), "seed", String.valueOf(seed)));
+            }
+            PairedConductor pairedConductor = new PairedConductor(conductors, configurations, seed);
+            try {
+                pairedConductor.conduct(simulations, stopIteration, Integer.parseInt(commandLine.getOptionValue("threads", "1")));
+                PairedConductorSerializer.writeToFile(pairedConductor, commandLine.getOptionValue("p", "results.json"), historyFormat);
+            } catch (IOException | InterruptedException e) {
+                e.printStackTrace();
+            }
+            return;
+        }
+
+        if(commandLine.hasOption("workers")) {
+            List<InetSocketAddress> workers = new ArrayList<>();
+            for(String address: commandLine.getOptionValue("workers").split(",")) {
+                int colon = address.lastIndexOf(':');
+                workers.add(new InetSocketAddress(address.substring(0, colon).trim(), Integer.parseInt(address.substring(colon + 1).trim())));
+            }
+            int batchSize = Integer.parseInt(commandLine.getOptionValue("batch", "10"));
+            try {
+                new Coordinator(conductor, args, workers, batchSize).conduct(simulations, stopIteration);
+            } catch (IOException | InterruptedException e) {
+                e.printStackTrace();
+                return;
+            }
+        }
+        else {
+            int threads = Integer.parseInt(commandLine.getOptionValue("threads", "1"));
+            if(commandLine.hasOption("traj"))
+                conductor.setTrajectoryRecorder(new TrajectoryRecorder(commandLine.getOptionValue("traj"), Integer.parseInt(commandLine.getOptionValue("trajk", "1"))));
+            OutcomeWriter outcomeWriter = null;
+            try {
+                if(commandLine.hasOption("outcomes")) {
+                    outcomeWriter = new OutcomeWriter(commandLine.getOptionValue("outcomes"), commandLine.getOptionValue("outformat", "ndjson"), conductor.getLanguagesArray().length);
+                    conductor.setOutcomeWriter(outcomeWriter);
+                }
+                if(commandLine.hasOption("cache")) {
+                    ResultCache cache = new ResultCache(Paths.get(commandLine.getOptionValue("cache")), Long.parseLong(commandLine.getOptionValue("cachesize", "1024")) << 20);
+                    int cached = cache.conduct(conductor, createSpecification(commandLine, creator), Long.parseLong(commandLine.getOptionValue("seed")), simulations, stopIteration, threads);
+                    System.out.println(cached + " of " + simulations + " simulations served from the cache " + cache.getDirectory());
+                }
+                else if(commandLine.hasOption("ci")) {
+                    AdaptiveConductor adaptiveConductor = new AdaptiveConductor(conductor, ConfidenceTarget.parseList(commandLine.getOptionValue("ci")),
+                            Double.parseDouble(commandLine.getOptionValue("conf", "0.95")), threads, Math.min(MIN_ADAPTIVE_SIMULATIONS, Math.max(2, simulations)));
+                    adaptiveConductor.conduct(simulations, stopIteration);
+                }
+                else
+                    conductor.conduct(simulations, stopIteration, threads);
+                if(outcomeWriter != null)
+                    outcomeWriter.close();
+            } catch (IOException | InterruptedException e) {
+                e.printStackTrace();
+                return;
+            }
+        }
+
+        try {
+            SimulationConductorSerializer.writeToFile(conductor, commandLine.getOptionValue("p", "results.json"), historyFormat);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static Experiment createExperiment(String[] args) throws ParseException, IOException {
+        CommandLine commandLine = new DefaultParser().parse(new ELCPaperOptionsCreator().create(), args);
+        for(String option: new String[]{"worker", "workers", "pair", "ci", "traj", "outcomes", "cache"})
+            if(commandLine.hasOption(option))
+                throw new IllegalArgumentException("The option -" + option + " is not supported in files of experiments, but found in " + String.join(" ", args));
+        if(!commandLine.getArgList().isEmpty())
+            throw new IllegalArgumentException("Unexpected arguments " + commandLine.getArgList() + " of an experiment " + String.join(" ", args));
+        return new Experiment(createConductor(commandLine), Integer.parseInt(commandLine.getOptionValue("s", "1000")),
+                Integer.parseInt(commandLine.getOptionValue("stop", "100000")), commandLine.getOptionValue("p", "results.json"),
+                HistoryFormat.parse(commandLine.getOptionValue("enc", "plain"), commandLine.getOptionValue("ds", "none")));
+    }
+
+    private static SimulationConductor createConductor(String[] args) {
+        try {
+            return createConductor(new DefaultParser().parse(new ELCPaperOptionsCreator().create(), args));
+        } catch (ParseException e) {
+            throw new IllegalArgumentException(e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static SimulationConductor createConductor(CommandLine commandLine) throws IOException {
+        return createConductor(commandLine, createCreator(commandLine));
+    }
+
+    private static SimulationConductor createConductor(CommandLine commandLine, ELCPaperSimulationCreator creator) throws IOException {
+        Simulation pattern;
+        if(commandLine.hasOption("seed")) {
+            Randoms.seed(Long.parseLong(commandLine.getOptionValue("seed")), -1);
+            try {
+                pattern = creator.create();
+            } finally {
+                Randoms.unseed();
+            }
+        }
+        else
+            pattern = creator.create();
+
+        SimulationConductor conductor = new SimulationConductor(pattern, TerminationCriteria.parse(commandLine.getOptionValue("term", "synchronization")));
+        if(commandLine.hasOption("warm"))
+            conductor.setSnapshots(SimulationSnapshots.readFromFile(commandLine.getOptionValue("warm"), commandLine.getOptionValue("warms", "roundrobin"),
+                    creator.getStateSpecification()));
+        if(commandLine.hasOption("seed"))
+            conductor.setSeed(Long.parseLong(commandLine.getOptionValue("seed")), 0);
+        return conductor;
+    }
+
+    private static String createSpecification(CommandLine commandLine, ELCPaperSimulationCreator creator) throws IOException {
+        String specification = creator.getSpecification()
+                + ";termination=" + TerminationCriteria.parse(commandLine.getOptionValue("term", "synchronization")).getSpecification();
+        if(commandLine.hasOption("warm"))
+            specification += ";warm=" + ResultCache.hash(Files.readAllBytes(Paths.get(commandLine.getOptionValue("warm"))))
+                    + ";warms=" + commandLine.getOptionValue("warms", "roundrobin");
+        if("continuous".equals(creator.getScheduler()) && Files.isRegularFile(Paths.get(creator.getRates())))
+            specification += ";ratesFile=" + ResultCache.hash(Files.readAllBytes(Paths.get(creator.getRates())));
+        return specification;
+    }
+
+    private static ELCPaperSimulationCreator createCreator(CommandLine commandLine) throws IOException {
         int things = Integer.parseInt(commandLine.getOptionValue("d", "5"));
         int devdegree1 = Integer.parseInt(commandLine.getOptionValue("d1", String.valueOf(things)));
         int devdegree2 = Integer.parseInt(commandLine.getOptionValue("d2", String.valueOf(things)));
@@ -64,28 +400,65 @@ public class Main {
         int agents1 = Integer.parseInt(commandLine.getOptionValue("N1", String.valueOf(side*side/2)));
         int agents2 = Integer.parseInt(commandLine.getOptionValue("N2", String.valueOf(agents-agents1)));
 
+        int numOfLanguages = Integer.parseInt(commandLine.getOptionValue("L", "2"));
+        int[] numsOfUsers;
+        if(commandLine.hasOption("Nl"))
+            numsOfUsers = parseList(commandLine.getOptionValue("Nl"));
+        else if(numOfLanguages == 2)
+            numsOfUsers = new int[]{agents1, agents2};
+        else {
+            numsOfUsers = new int[numOfLanguages];
+            for(int i = 0; i < numOfLanguages; i++)
+                numsOfUsers[i] = agents / numOfLanguages + (i < agents % numOfLanguages ? 1 : 0);
+        }
+        int[] devdegrees;
+        if(commandLine.hasOption("dl"))
+            devdegrees = parseList(commandLine.getOptionValue("dl"));
+        else if(numOfLanguages == 2)
+            devdegrees = new int[]{devdegree1, devdegree2};
+        else {
+            devdegrees = new int[numOfLanguages];
+            for(int i = 0; i < numOfLanguages; i++)
+                devdegrees[i] = things;
+        }
+
         double epsilon = Double.parseDouble(commandLine.getOptionValue("eps", "0.05"));
         String variant = commandLine.getOptionValue("var", "zero");
         int variantLanguage = Integer.parseInt(commandLine.getOptionValue("iv", "0"))-1;
         int variantInfluence = Integer.parseInt(commandLine.getOptionValue("v", "0"));
 
-        Simulation pattern = ELCPaperSimulationCreator.builder()
-                .numOfAgents(agents).numsOfUsers(new int[]{agents1, agents2}).side(side)
-                .numOfThings(things).devdegrees(new int[]{devdegree1, devdegree2})
+        double[] salience = Salience.parse(commandLine.getOptionValue("sal", "uniform"), things);
+        return ELCPaperSimulationCreator.builder()
+                .numOfAgents(agents).numsOfUsers(numsOfUsers).side(side)
+                .numOfThings(things).devdegrees(devdegrees)
                 .epsilon(epsilon).variant(variant).variantInfluence(variantInfluence)
-                .variantLanguage(variantLanguage).build().create();
-
-        SimulationConductor conductor = new SimulationConductor(pattern);
-
-        int simulations = Integer.parseInt(commandLine.getOptionValue("s", "1000"));
-        int stopIteration = Integer.parseInt(commandLine.getOptionValue("stop", "100000"));
+                .variantLanguage(variantLanguage).salience(salience)
+                .scheduler(commandLine.getOptionValue("sched", "sequential")).rates(commandLine.getOptionValue("rates", "constant"))
+                .timeStep(Double.parseDouble(commandLine.getOptionValue("dt", "1"))).build();
+    }
 
-        conductor.conduct(simulations, stopIteration);
+    private static String[] withVariant(String[] args, String variant, String variantInfluence) {
+        return withOption(withOption(args, "var", variant), "v", variantInfluence);
+    }
 
-        try {
-            SimulationConductorSerializer.writeToFile(conductor, commandLine.getOptionValue("p", "results.json"));
-        } catch (IOException e) {
-            e.printStackTrace();
+    private static String[] withOption(String[] args, String option, String value) {
+        Option definition = new ELCPaperOptionsCreator().create().getOption(option);
+        List<String> result = new ArrayList<>();
+        for(int i = 0; i < args.length; i++) {
+            if(args[i].equals("-" + definition.getOpt()) || args[i].equals("--" + definition.getLongOpt()))
+                i++;
+            else
+                result.add(args[i]);
         }
+        result.addAll(Arrays.asList("-" + option, value));
+        return result.toArray(new String[0]);
+    }
+
+    private static int[] parseList(String list) {
+        String[] values = list.split(",");
+        int[] result = new int[values.length];
+        for(int i = 0; i < values.length; i++)
+            result[i] = Integer.parseInt(values[i].trim());
+        return result;
     }
 }
@@ -21,6 +21,9 @@ public class ELCPaperOptionsCreator implements OptionsCreator {
      * <li> {@code -d} ({@code --objects}) defines the number of objects</li>
      * <li> {@code -d1} ({@code --devdegree1}) defines the initial environment (number of recognized objects with the words belonging to a language) of the 1-lingual population</li>
      * <li> {@code -d2} ({@code --devdegree2}) defines the initial environemnt of the 2-lingual population</li>
+     * <li> {@code -L} ({@code --languages}) defines the number of competing languages</li>
+     * <li> {@code -Nl} ({@code --languageAgents}) defines the initial sizes of the populations using each language as a comma-separated list</li>
+     * <li> {@code -dl} ({@code --languageDevdegrees}) defines the initial environments of the populations using each language as a comma-separated list</li>
      * <li> {@code -eps} ({@code --epsilon}) defines the epsilon parameter</li>
      * <li> {@code -var} ({@code --variant}) defines the model variant</li>
      * <li> {@code -v} ({@code --variantInfluence}) defines the variant influence </li>
@@ -28,6 +31,36 @@ public class ELCPaperOptionsCreator implements OptionsCreator {
      * <li> {@code -p} ({@code --path}) defines the json results file path</li>
      * <li> {@code -s} ({@code --simulations}) defines the number of independent simulations to be conducted</li>
      * <li> {@code -stop} ({@code --stopIteration}) defines the maximal number of iterations to simulate in every independent simulation</li>
+     * <li> {@code -sal} ({@code --salience}) defines the salience of objects ({@code uniform}, {@code zipf:s} or a path to a file with weights)</li>
+     * <li> {@code -sched} ({@code --scheduler}) defines the scheduler of interactions ({@code sequential}, {@code batched} or {@code continuous})</li>
+     * <li> {@code -rates} ({@code --rates}) defines activity rates of agents for the continuous scheduler ({@code constant}, {@code exponential}, {@code pareto:alpha} or a path to a file with rates)</li>
+     * <li> {@code -term} ({@code --termination}) defines the criterion of terminating each simulation ({@code synchronization}, {@code extinction}, {@code consensus:f} or {@code plateau:w:t})</li>
+     * <li> {@code -dt} ({@code --timestep}) defines the time by which a step of the continuous scheduler advances</li>
+     * <li> {@code -worker} ({@code --worker}) runs the program as a worker listening on the given port</li>
+     * <li> {@code -workers} ({@code --workers}) defines a comma-separated list of {@code host:port} addresses of workers to conduct simulations in</li>
+     * <li> {@code -batch} ({@code --batch}) defines the number of simulations handed to a worker, or to a thread in the {@code run} subcommand, at once</li>
+     * <li> {@code -enc} ({@code --encoding}) defines the lossless encoding of histories in the results file ({@code plain}, {@code xor} or {@code delta})</li>
+     * <li> {@code -ds} ({@code --downsampling}) defines the downsampling of averaged histories in the results file ({@code none}, {@code lttb:k} or {@code maxdev:e})</li>
+     * <li> {@code -threads} ({@code --threads}) defines the number of threads conducting simulations in parallel</li>
+     * <li> {@code -ci} ({@code --confidenceTargets}) defines comma-separated targets {@code statistic[@iteration]:tolerance} of confidence intervals to conduct simulations until</li>
+     * <li> {@code -conf} ({@code --confidence}) defines the confidence level of the intervals</li>
+     * <li> {@code -traj} ({@code --trajectory}) defines the path of a file to record the trajectory of dominating languages of agents to</li>
+     * <li> {@code -trajk} ({@code --trajectoryInterval}) defines the number of iterations between recorded frames of the trajectory</li>
+     * <li> {@code -warm} ({@code --warmStart}) defines the path of a file of evolved states to start simulations from</li>
+     * <li> {@code -warms} ({@code --warmStartSampling}) defines how the evolved states are sampled</li>
+     * <li> {@code -burnin} ({@code --burnIn}) defines the number of iterations by which saved states are evolved</li>
+     * <li> {@code -states} ({@code --states}) defines the number of saved states</li>
+     * <li> {@code -pair} ({@code --paired}) defines configurations conducted on common random numbers</li>
+     * <li> {@code -seed} ({@code --seed}) defines the seed of random streams of replicas</li>
+     * <li> {@code -warmup} ({@code --warmupSteps}) defines the number of steps simulated before measuring allocations</li>
+     * <li> {@code -steps} ({@code --measuredSteps}) defines the number of steps measured for allocations</li>
+     * <li> {@code -budget} ({@code --allocationBudget}) defines budgets of bytes allocated per interaction of schedulers</li>
+     * <li> {@code -daemon} ({@code --daemon}) runs the program as a daemon listening on the given port of the loopback interface, which conducts jobs sent by clients</li>
+     * <li> {@code -queue} ({@code --queue}) defines the maximal number of jobs of a daemon waiting for a thread</li>
+     * <li> {@code -cache} ({@code --cache}) defines the directory of the cache of results of seeded simulations</li>
+     * <li> {@code -cachesize} ({@code --cacheSize}) defines the maximal size of the cache of results in megabytes</li>
+     * <li> {@code -outcomes} ({@code --outcomes}) defines the path of the file of outcomes of single simulations</li>
+     * <li> {@code -outformat} ({@code --outcomesFormat}) defines the format of the file of outcomes ({@code ndjson} or {@code binary})</li>
      * </ul>
      * All of the options are by default not required.
      * @return An {@code Options} object with options for simulations conducted in accordance with the computer model described in the "Evolutionary language competition - an agent-based model" paper.
@@ -64,6 +97,18 @@ public class ELCPaperOptionsCreator implements OptionsCreator {
         numOfAgentsSecondLanguage.setRequired(false);
         options.addOption(numOfAgentsSecondLanguage);
 
+        Option numOfLanguages = new Option("L", "languages", true, "specifies the number of competing languages in simulation, from 1 to 64");
+        numOfLanguages.setRequired(false);
+        options.addOption(numOfLanguages);
+
+        Option languageAgents = new Option("Nl", "languageAgents", true, "specifies the initial sizes of the populations using each language as a comma-separated list");
+        languageAgents.setRequired(false);
+        options.addOption(languageAgents);
+
+        Option languageDevdegrees = new Option("dl", "languageDevdegrees", true, "specifies the initial environments of the populations using each language as a comma-separated list");
+        languageDevdegrees.setRequired(false);
+        options.addOption(languageDevdegrees);
+
         Option epsilon = new Option("eps", "epsilon", true, "specifies the epsilon parameter in simulation");
         epsilon.setRequired(false);
         options.addOption(epsilon);
@@ -92,6 +137,126 @@ public class ELCPaperOptionsCreator implements OptionsCreator {
         path.setRequired(false);
         options.addOption(path);
 
+        Option salience = new Option("sal", "salience", true, "specifies the salience of objects in simulation. uniform for uniform salience, zipf:s for Zipf salience with exponent s, or a path to a file with one weight per object");
+        salience.setRequired(false);
+        options.addOption(salience);
+
+        Option scheduler = new Option("sched", "scheduler", true, "specifies the scheduler of interactions in simulation. sequential for sampling each interaction right before it is conducted, batched for sampling all interactions of a step in advance, continuous for interactions in continuous time with heterogeneous rates of agents");
+        scheduler.setRequired(false);
+        options.addOption(scheduler);
+
+        Option rates = new Option("rates", "rates", true, "specifies activity rates of agents for the continuous scheduler. constant for equal rates, exponential for exponentially distributed rates, pareto:alpha for Pareto distributed rates with shape alpha, or a path to a file with one rate per agent");
+        rates.setRequired(false);
+        options.addOption(rates);
+
+        Option termination = new Option("term", "termination", true, "specifies the criterion of terminating each simulation. synchronization for lexical synchronization with one-to-one lexicons, extinction for at most one language left, consensus:f for a language dominating for the fraction f of agents, plateau:w:t for sums of weights changed relatively by at most t over w steps");
+        termination.setRequired(false);
+        options.addOption(termination);
+
+        Option timeStep = new Option("dt", "timestep", true, "specifies the time by which a step of the continuous scheduler advances");
+        timeStep.setRequired(false);
+        options.addOption(timeStep);
+
+        Option worker = new Option("worker", "worker", true, "runs the program as a worker listening on the given port of the loopback interface, which conducts batches of simulations for a coordinator");
+        worker.setRequired(false);
+        options.addOption(worker);
+
+        Option workers = new Option("workers", "workers", true, "specifies a comma-separated list of host:port addresses of workers to conduct simulations in");
+        workers.setRequired(false);
+        options.addOption(workers);
+
+        Option batch = new Option("batch", "batch", true, "specifies the number of simulations handed to a worker, or to a thread in the run subcommand, at once");
+        batch.setRequired(false);
+        options.addOption(batch);
+
+        Option encoding = new Option("enc", "encoding", true, "specifies the lossless encoding of histories in the results file. plain for arrays of numbers, xor or delta for base64 strings of compactly encoded values");
+        encoding.setRequired(false);
+        options.addOption(encoding);
+
+        Option downsampling = new Option("ds", "downsampling", true, "specifies the downsampling of averaged histories in the results file. none for all iterations, lttb:k for k iterations chosen with the Largest-Triangle-Three-Buckets algorithm, maxdev:e for iterations between which the linear interpolation deviates by at most e");
+        downsampling.setRequired(false);
+        options.addOption(downsampling);
+
+        Option threads = new Option("threads", "threads", true, "specifies the number of threads conducting simulations in parallel");
+        threads.setRequired(false);
+        options.addOption(threads);
+
+        Option confidenceTargets = new Option("ci", "confidenceTargets", true, "specifies comma-separated targets statistic[@iteration]:tolerance; simulations are conducted until the half-widths of confidence intervals of the targets are at most their tolerances, or the number of simulations is reached. statistics are iterations, users (share of agents), weights and things");
+        confidenceTargets.setRequired(false);
+        options.addOption(confidenceTargets);
+
+        Option confidence = new Option("conf", "confidence", true, "specifies the confidence level of the intervals of confidence targets");
+        confidence.setRequired(false);
+        options.addOption(confidence);
+
+        Option trajectory = new Option("traj", "trajectory", true, "specifies the path of a memory-mapped file to which dominating languages of agents of the first simulation are recorded, bit-packed");
+        trajectory.setRequired(false);
+        options.addOption(trajectory);
+
+        Option trajectoryInterval = new Option("trajk", "trajectoryInterval", true, "specifies the number of iterations between recorded frames of the trajectory");
+        trajectoryInterval.setRequired(false);
+        options.addOption(trajectoryInterval);
+
+        Option warmStart = new Option("warm", "warmStart", true, "specifies the path of a file of evolved states saved with the snapshot subcommand, from which simulations start");
+        warmStart.setRequired(false);
+        options.addOption(warmStart);
+
+        Option warmStartSampling = new Option("warms", "warmStartSampling", true, "specifies how evolved states are sampled for consecutive simulations: roundrobin or random");
+        warmStartSampling.setRequired(false);
+        options.addOption(warmStartSampling);
+
+        Option burnIn = new Option("burnin", "burnIn", true, "specifies the number of iterations by which states are evolved without the variant agent in the snapshot subcommand");
+        burnIn.setRequired(false);
+        options.addOption(burnIn);
+
+        Option states = new Option("states", "states", true, "specifies the number of evolved states saved in the snapshot subcommand");
+        states.setRequired(false);
+        options.addOption(states);
+
+        Option paired = new Option("pair", "paired", true, "specifies comma-separated configurations variant:influence conducted on common random numbers; the first one is the baseline of paired differences");
+        paired.setRequired(false);
+        options.addOption(paired);
+
+        Option seed = new Option("seed", "seed", true, "specifies the seed of random streams of replicas, which makes the results reproducible");
+        seed.setRequired(false);
+        options.addOption(seed);
+
+        Option warmupSteps = new Option("warmup", "warmupSteps", true, "specifies the number of steps simulated before measuring allocations in the bench subcommand");
+        warmupSteps.setRequired(false);
+        options.addOption(warmupSteps);
+
+        Option measuredSteps = new Option("steps", "measuredSteps", true, "specifies the number of steps measured in the bench subcommand");
+        measuredSteps.setRequired(false);
+        options.addOption(measuredSteps);
+
+        Option allocationBudget = new Option("budget", "allocationBudget", true, "specifies comma-separated budgets scheduler:bytes of bytes allocated per interaction, and at most one budget bytes of other schedulers");
+        allocationBudget.setRequired(false);
+        options.addOption(allocationBudget);
+
+        Option daemon = new Option("daemon", "daemon", true, "runs the program as a daemon listening on the given port of the loopback interface, which conducts jobs sent by clients");
+        daemon.setRequired(false);
+        options.addOption(daemon);
+
+        Option queue = new Option("queue", "queue", true, "specifies the maximal number of jobs of a daemon waiting for a thread");
+        queue.setRequired(false);
+        options.addOption(queue);
+
+        Option cache = new Option("cache", "cache", true, "specifies the directory of the cache of results of seeded simulations");
+        cache.setRequired(false);
+        options.addOption(cache);
+
+        Option cacheSize = new Option("cachesize", "cacheSize", true, "specifies the maximal size of the cache of results in megabytes");
+        cacheSize.setRequired(false);
+        options.addOption(cacheSize);
+
+        Option outcomes = new Option("outcomes", "outcomes", true, "specifies the path of the file to which the outcome of each simulation is written as it completes");
+        outcomes.setRequired(false);
+        options.addOption(outcomes);
+
+        Option outcomesFormat = new Option("outformat", "outcomesFormat", true, "specifies the format of the file of outcomes. ndjson for a JSON object per line, binary for fixed-width records");
+        outcomesFormat.setRequired(false);
+        options.addOption(outcomesFormat);
+
         return options;
     }
 }
@@ -4,9 +4,9 @@ import simulation.environment.Environment;
 import simulation.environment.Thing;
 import simulation.language.Language;
 
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 
 /**
@@ -32,6 +32,14 @@ public interface Agent extends Speaker, Listener {
      */
     boolean oneToOneLexicon();
 
+    /**
+     * Returns {@code true} if the given thing is denoted by at most one word in this agent's lexicon.
+     * An agent's lexicon is one-to-one if and only if this method returns {@code true} for each thing.
+     * @param thing a thing to be checked
+     * @return {@code true} if the given thing is denoted by at most one word in this agent's lexicon; {@code false} otherwise.
+     */
+    boolean oneToOneLexicon(Thing thing);
+
     /**
      * Returns the dominating language of this agent from among the specified collection of languages.
      * @param languages a collection of languages to be checked for dominating language
@@ -39,6 +47,13 @@ public interface Agent extends Speaker, Listener {
      */
     Language dominatingLanguage(Collection<Language> languages);
 
+    /**
+     * Returns the position of the dominating language of this agent in the given array of languages.
+     * @param languages an array of languages to be checked for dominating language
+     * @return the position of the dominating language of this agent in the given array; {@code -1} if there is no dominating language
+     */
+    int dominatingLanguage(Language[] languages);
+
     /**
      * Returns a map from the given collection of languages to integers such that each language
      * is mapped to the number of dominating words in this agent's lexicon
@@ -48,6 +63,13 @@ public interface Agent extends Speaker, Listener {
      */
     Map<Language, Integer> countDominatingWords(Collection<Language> languages);
 
+    /**
+     * Returns an array of numbers of dominating words in this agent's lexicon belonging to each of the given languages.
+     * @param languages an array of languages
+     * @return an array such that its {@code i}-th element is the number of dominating words in this agent's lexicon belonging to {@code languages[i]}
+     */
+    int[] countDominatingWords(Language[] languages);
+
     /**
      * Returns a map from the given collection of languages to collections of things such that each language
      * is mapped to the collection of things recognized with the words belonging to it in this agent's lexicon
@@ -57,18 +79,24 @@ public interface Agent extends Speaker, Listener {
      */
     Map<Language, Collection<Thing>> recognizedThings(Collection<Language> languages);
 
+    /**
+     * For each of the given languages, sets the bits of ids of things recognized with words belonging to this language in this agent's lexicon
+     * in the bit set at the position of the language.
+     * @param languages an array of languages
+     * @param recognized an array of bit sets parallel to the array of languages
+     */
+    void markRecognizedThings(Language[] languages, BitSet[] recognized);
+
     /**
      * Returns {@code true} if all agents from the given array are pair-wise lexically synchronized on the given environment.
+     * Lexical synchronization is transitive, so each agent is compared only with the first one.
      * @param agents an array of agents to be checked for lexical synchronization on the given environment
      * @param environment an environment on which the given array of agents should be checked for lexical synchronization
      * @return {@code true} if all agents from the given array are pair-wise lexically synchronized on the things from the given environment; {@code false} otherwise.
      */
     static boolean lexicallySynchronized(Agent[] agents, Environment environment){
-        for(int i = 0; i < agents.length; i++){
-            for(int j = i+1; j< agents.length; j++){
-                if(!lexicallySynchronized(agents[i], agents[j], environment)) return false;
-            }
-        }
+        for(int i = 1; i < agents.length; i++)
+            if(!lexicallySynchronized(agents[0], agents[i], environment)) return false;
         return true;
     }
 
@@ -96,16 +124,24 @@ public interface Agent extends Speaker, Listener {
      * the number of agents from the given array for which this language is dominating.
      */
     static Map<Language, Integer> countUsers(Collection<Language> languages, Agent[] agents){
+        Language[] array = languages.toArray(new Language[0]);
+        int[] counts = countUsers(array, agents);
         Map<Language, Integer> users = new HashMap<>();
+        for(int i = 0; i < array.length; i++)
+            users.put(array[i], counts[i]);
+        return users;
+    }
 
-        for(Language language: languages)
-            users.put(language, 0);
-
-        for (Agent agent : agents) {
-            Language curAgentDomLanguage = agent.dominatingLanguage(languages);
-            users.replace(curAgentDomLanguage, users.get(curAgentDomLanguage) + 1);
-        }
-
+    /**
+     * Returns an array of numbers of agents from the given array for which each of the given languages is dominating.
+     * @param languages an array of languages
+     * @param agents an array of agents from which numbers of users of the given languages should be counted
+     * @return an array such that its {@code i}-th element is the number of agents for which {@code languages[i]} is dominating
+     */
+    static int[] countUsers(Language[] languages, Agent[] agents){
+        int[] users = new int[languages.length];
+        for (Agent agent : agents)
+            users[agent.dominatingLanguage(languages)]++;
         return users;
     }
 
@@ -118,22 +154,31 @@ public interface Agent extends Speaker, Listener {
      * the number of things recognized by any agent from the given array of agents in association with a word belonging to this language.
      */
     static Map<Language, Integer> countRecognizedThings(Collection<Language> languages, Agent[] agents){
-        Map<Language, Collection<Thing>> languageThings = new HashMap<>();
-
-        for(Language language: languages)
-            languageThings.put(language, new HashSet<>());
-
-        for (Agent agent : agents) {
-            Map<Language, Collection<Thing>> curAgentThingsSet = agent.recognizedThings(languages);
-            for (Language language : languages)
-                languageThings.get(language).addAll(curAgentThingsSet.get(language));
-        }
-
+        Language[] array = languages.toArray(new Language[0]);
+        int[] counts = countRecognizedThings(array, agents);
         Map<Language, Integer> developmentDegrees = new HashMap<>();
+        for(int i = 0; i < array.length; i++)
+            developmentDegrees.put(array[i], counts[i]);
+        return developmentDegrees;
+    }
+
+    /**
+     * Returns an array of numbers of things recognized by any agent from the given array of agents in association with a word belonging to each of the given languages.
+     * @param languages an array of languages
+     * @param agents an array of agents to be included in evaluation
+     * @return an array such that its {@code i}-th element is the number of things recognized by any agent in association with a word belonging to {@code languages[i]}
+     */
+    static int[] countRecognizedThings(Language[] languages, Agent[] agents){
+        BitSet[] languageThings = new BitSet[languages.length];
+        for(int i = 0; i < languages.length; i++)
+            languageThings[i] = new BitSet();
 
-        for(Language language: languages)
-            developmentDegrees.put(language, languageThings.get(language).size());
+        for (Agent agent : agents)
+            agent.markRecognizedThings(languages, languageThings);
 
+        int[] developmentDegrees = new int[languages.length];
+        for(int i = 0; i < languages.length; i++)
+            developmentDegrees[i] = languageThings[i].cardinality();
         return developmentDegrees;
     }
 
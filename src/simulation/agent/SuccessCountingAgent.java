@@ -13,6 +13,9 @@ import java.util.*;
  * A class of agents described in "Evolutionary language competition - an agent-based model" paper. This type of agent
  * preserves information about all its interactions in the form of counting successes and losses of interactions concerning words
  * from a collection of languages. For more details about this kind of agent's behaviour, see the paper.
+ * <p>
+ * Counters of successes and losses are kept in arrays indexed by indices of languages, and languages of a word are found with
+ * the word's language mask, so the languages of an agent must share the word registry of the words it communicates.
  * @see simulation.agent.Agent
  * @see simulation.agent.WeightedLexiconAgent
  * @see WeightedLexicon
@@ -24,8 +27,10 @@ public class SuccessCountingAgent implements WeightedLexiconAgent {
     private WeightedLexicon lexicon;
 
     private Collection<Language> languages;
-    private Map<Language, Integer> successes;
-    private Map<Language, Integer> losses;
+    private Language[] languagesArray;
+    private long languagesMask;
+    private int[] successes;
+    private int[] losses;
 
     private double acquireWeight;
     private double weightChangingValue;
@@ -53,13 +58,12 @@ public class SuccessCountingAgent implements WeightedLexiconAgent {
         this.acquireWeight = acquireWeight;
         this.weightChangingValue = weightChangingValue;
 
-        this.successes = new HashMap<>();
-        this.losses = new HashMap<>();
+        this.languagesArray = this.languages.toArray(new Language[0]);
+        this.languagesMask = Language.mask(this.languages);
 
-        for(Language language: languages){
-            successes.put(language, 0);
-            losses.put(language, 0);
-        }
+        int numOfIndices = Long.SIZE - Long.numberOfLeadingZeros(languagesMask);
+        this.successes = new int[numOfIndices];
+        this.losses = new int[numOfIndices];
     }
 
     /**
@@ -70,11 +74,13 @@ public class SuccessCountingAgent implements WeightedLexiconAgent {
      */
     @Override
     public void success(Thing thing, Word word){
-        Collection<Language> wordLanguages = word.languages(languages);
-        for(Language language: wordLanguages) {
-            successes.replace(language, successes.get(language) + 1);
-            lexicon.increaseWeight(thing, word, (weightChangingValue * proportion(language))/(double) wordLanguages.size());
-            lexicon.decreaseOtherWeights(thing, word, (weightChangingValue * proportion(language))/(double) wordLanguages.size());
+        long wordLanguages = word.getLanguageMask() & languagesMask;
+        int numOfWordLanguages = Long.bitCount(wordLanguages);
+        for(long m = wordLanguages; m != 0; m &= m - 1) {
+            int language = Long.numberOfTrailingZeros(m);
+            successes[language]++;
+            lexicon.increaseWeight(thing, word, (weightChangingValue * proportion(language))/(double) numOfWordLanguages);
+            lexicon.decreaseOtherWeights(thing, word, (weightChangingValue * proportion(language))/(double) numOfWordLanguages);
         }
     }
 
@@ -86,9 +92,7 @@ public class SuccessCountingAgent implements WeightedLexiconAgent {
     @Override
     public void loss(Thing thing, Word word){
         lexicon.decreaseWeight(thing, word, weightChangingValue);
-        for(Language language: word.languages(languages)) {
-            losses.replace(language, losses.get(language) + 1);
-        }
+        countLoss(word);
     }
 
     /**
@@ -100,8 +104,7 @@ public class SuccessCountingAgent implements WeightedLexiconAgent {
     @Override
     public void acquire(Thing thing, Word word){
         lexicon.add(thing, word, acquireWeight);
-        for(Language language: word.languages(languages))
-            losses.replace(language, losses.get(language) + 1);
+        countLoss(word);
     }
 
     /**
@@ -114,7 +117,7 @@ public class SuccessCountingAgent implements WeightedLexiconAgent {
     @Override
     public Word signal(Thing thing){
         if(!lexicon.contains(thing))
-            lexicon.add(thing, dominatingLanguage(languages).generateWord(), acquireWeight);
+            lexicon.add(thing, languagesArray[dominatingLanguage(languagesArray)].generateWord(), acquireWeight);
         return lexicon.signal(thing);
     }
 
@@ -124,12 +127,7 @@ public class SuccessCountingAgent implements WeightedLexiconAgent {
      */
     @Override
     public Thing randomRecognizedThing() {
-        Collection<Thing> things = lexicon.things();
-        int num = new Random().nextInt(things.size());
-        int i = 0;
-        for(Thing thing: things)
-            if(i++ == num) return thing;
-        return null;
+        return lexicon.randomThing();
     }
 
     /**
@@ -162,23 +160,37 @@ public class SuccessCountingAgent implements WeightedLexiconAgent {
         return lexicon.oneToOne();
     }
 
+    /**
+     * Returns {@code this.lexicon.oneToOne(thing)}.
+     * @param thing a thing to be checked
+     * @return {@code this.lexicon.oneToOne(thing)}.
+     */
+    @Override
+    public boolean oneToOneLexicon(Thing thing){
+        return lexicon.oneToOne(thing);
+    }
+
     @Override
     public Language dominatingLanguage(Collection<Language> languages) {
-        Map<Language, Integer> domWords = countDominatingWords(languages);
-        Map<Language, Double> weights = countWeightSums(languages);
+        Language[] array = languages.toArray(new Language[0]);
+        int dominatingLanguage = dominatingLanguage(array);
+        return dominatingLanguage < 0 ? null : array[dominatingLanguage];
+    }
+
+    @Override
+    public int dominatingLanguage(Language[] languages) {
+        int[] domWords = countDominatingWords(languages);
+        double[] weights = countWeightSums(languages);
 
         int dominatingLanguageWords = 0;
         double dominatingLanguageWeights = 0;
-        Language dominatingLanguage = null;
+        int dominatingLanguage = -1;
 
-        for(Language language: languages){
-            int curDomWords = domWords.get(language);
-            double curWeights = weights.get(language);
-
-            if(dominatingLanguageWords < curDomWords || (dominatingLanguageWords == curDomWords && dominatingLanguageWeights < curWeights)){
-                dominatingLanguageWords = curDomWords;
-                dominatingLanguageWeights = curWeights;
-                dominatingLanguage = language;
+        for(int i = 0; i < languages.length; i++){
+            if(dominatingLanguageWords < domWords[i] || (dominatingLanguageWords == domWords[i] && dominatingLanguageWeights < weights[i])){
+                dominatingLanguageWords = domWords[i];
+                dominatingLanguageWeights = weights[i];
+                dominatingLanguage = i;
             }
         }
 
@@ -190,20 +202,53 @@ public class SuccessCountingAgent implements WeightedLexiconAgent {
         return lexicon.countWeightSums(languages);
     }
 
+    @Override
+    public double[] countWeightSums(Language[] languages){
+        return lexicon.countWeightSums(languages);
+    }
+
     @Override
     public Map<Language, Integer> countDominatingWords(Collection<Language> languages){
         return lexicon.countDominatingWords(languages);
     }
 
+    @Override
+    public int[] countDominatingWords(Language[] languages){
+        return lexicon.countDominatingWords(languages);
+    }
+
+    @Override
+    public void markRecognizedThings(Language[] languages, BitSet[] recognized){
+        lexicon.markRecognizedThings(languages, recognized);
+    }
+
     @Override
     public Map<Language, Collection<Thing>> recognizedThings(Collection<Language> languages){
         return lexicon.recognizedThings(languages);
     }
 
-    private double proportion(Language language){
-        return (double) successes.get(language)/((double) (losses.get(language) + successes.get(language)));
+    /**
+     * Sets the counters of successes and losses of this agent to the given values, e.g. to restore the state of an evolved agent.
+     * @param successes counters of successes indexed by indices of languages, of the same length as this agent's counters
+     * @param losses counters of losses indexed by indices of languages, of the same length as this agent's counters
+     */
+    public void setCounters(int[] successes, int[] losses){
+        if(successes.length != this.successes.length || losses.length != this.losses.length)
+            throw new IllegalArgumentException("Counters must be indexed by the same indices of languages.");
+        System.arraycopy(successes, 0, this.successes, 0, successes.length);
+        System.arraycopy(losses, 0, this.losses, 0, losses.length);
+    }
+
+    private void countLoss(Word word){
+        for(long m = word.getLanguageMask() & languagesMask; m != 0; m &= m - 1)
+            losses[Long.numberOfTrailingZeros(m)]++;
     }
 
+    private double proportion(int language){
+        return (double) successes[language]/((double) (losses[language] + successes[language]));
+    }
+
+    @Override
     public WeightedLexicon getLexicon() {
         return this.lexicon;
     }
@@ -212,11 +257,11 @@ public class SuccessCountingAgent implements WeightedLexiconAgent {
         return this.languages;
     }
 
-    public Map<Language, Integer> getSuccesses() {
+    public int[] getSuccesses() {
         return this.successes;
     }
 
-    public Map<Language, Integer> getLosses() {
+    public int[] getLosses() {
         return this.losses;
     }
 
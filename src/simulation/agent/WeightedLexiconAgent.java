@@ -1,6 +1,7 @@
 package simulation.agent;
 
 import simulation.language.Language;
+import simulation.lexicon.WeightedLexicon;
 
 import java.util.Collection;
 import java.util.HashMap;
@@ -22,6 +23,19 @@ public interface WeightedLexiconAgent extends Agent {
      */
     Map<Language, Double> countWeightSums(Collection<Language> languages);
 
+    /**
+     * Returns an array of sums of weights of words from this agent's lexicon belonging to each of the given languages.
+     * @param languages an array of languages
+     * @return an array such that its {@code i}-th element is the sum of weights of words from this agent's lexicon belonging to {@code languages[i]}
+     */
+    double[] countWeightSums(Language[] languages);
+
+    /**
+     * Returns the weighted lexicon of this agent.
+     * @return the weighted lexicon of this agent
+     */
+    WeightedLexicon getLexicon();
+
     /**
      * Returns a map from the given collection of languages to numbers such that each language
      * is mapped to sum of weights of words from the lexicons of the agents from the given array, beloning to this language.
@@ -31,25 +45,29 @@ public interface WeightedLexiconAgent extends Agent {
      * is mapped to sum of weights of words from the lexicons of the agents from the given array, beloning to this language.
      */
     static Map<Language, Double> countWeightSums(Collection<Language> languages, Agent[] agents){
-
-        WeightedLexiconAgent[] weightedLexiconAgents = new WeightedLexiconAgent[agents.length];
-        for(int i=0;i<agents.length;i++){
-            if (!(agents[i] instanceof WeightedLexiconAgent))
-                throw new AssertionError("I cannot count weightsSums for getAgentsArray without weighted lexicons.");
-            weightedLexiconAgents[i] = (WeightedLexiconAgent) agents[i];
-        }
-
+        Language[] array = languages.toArray(new Language[0]);
+        double[] sums = countWeightSums(array, agents);
         Map<Language, Double> weights = new HashMap<>();
+        for(int i = 0; i < array.length; i++)
+            weights.put(array[i], sums[i]);
+        return weights;
+    }
 
-        for(Language language: languages)
-            weights.put(language, 0.0);
-
-        for(int i=0;i<agents.length;i++){
-            Map<Language, Double> curAgentWeights = weightedLexiconAgents[i].countWeightSums(languages);
-            for(Language language: languages)
-                weights.replace(language, weights.get(language)+curAgentWeights.get(language));
+    /**
+     * Returns an array of sums of weights of words from the lexicons of the agents from the given array, belonging to each of the given languages.
+     * @param languages an array of languages
+     * @param agents an array of agents to be included in evaluation of sums of weights
+     * @return an array such that its {@code i}-th element is the sum of weights of words from the lexicons of the agents belonging to {@code languages[i]}
+     */
+    static double[] countWeightSums(Language[] languages, Agent[] agents){
+        double[] weights = new double[languages.length];
+        for (Agent agent : agents) {
+            if (!(agent instanceof WeightedLexiconAgent))
+                throw new AssertionError("I cannot count weightsSums for getAgentsArray without weighted lexicons.");
+            double[] curAgentWeights = ((WeightedLexiconAgent) agent).countWeightSums(languages);
+            for(int i = 0; i < languages.length; i++)
+                weights[i] += curAgentWeights[i];
         }
-
         return weights;
     }
 }
@@ -8,6 +8,7 @@ import simulation.interaction.InteractionRunner;
 import simulation.language.Language;
 import simulation.language.Word;
 
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Map;
 
@@ -111,6 +112,16 @@ public class TotalListener implements VariantAgent {
         return false;
     }
 
+    /**
+     * Returns {@code false}.
+     * @param thing a thing to be checked
+     * @return false
+     */
+    @Override
+    public boolean oneToOneLexicon(Thing thing) {
+        return false;
+    }
+
     /**
      * Returns {@code null}
      * @param languages a collection of languages to be checked for dominating language
@@ -121,6 +132,16 @@ public class TotalListener implements VariantAgent {
         return null;
     }
 
+    /**
+     * Returns {@code -1}.
+     * @param languages an array of languages to be checked for dominating language
+     * @return -1
+     */
+    @Override
+    public int dominatingLanguage(Language[] languages) {
+        return -1;
+    }
+
     /**
      * Returns {@code null}.
      * @param languages a collection of languages to be a domain of returned map
@@ -131,6 +152,16 @@ public class TotalListener implements VariantAgent {
         return null;
     }
 
+    /**
+     * Returns {@code null}.
+     * @param languages an array of languages
+     * @return null
+     */
+    @Override
+    public int[] countDominatingWords(Language[] languages) {
+        return null;
+    }
+
     /**
      * Returns {@code null}.
      * @param languages a collection of languages to be a domain of returned map
@@ -140,4 +171,14 @@ public class TotalListener implements VariantAgent {
     public Map<Language, Collection<Thing>> recognizedThings(Collection<Language> languages) {
         return null;
     }
+
+    /**
+     * Has no effect.
+     * @param languages an array of languages
+     * @param recognized an array of bit sets parallel to the array of languages
+     */
+    @Override
+    public void markRecognizedThings(Language[] languages, BitSet[] recognized) {
+
+    }
 }
@@ -9,9 +9,9 @@ import simulation.language.Language;
 import simulation.language.Word;
 import simulation.lexicon.Lexicon;
 
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Map;
-import java.util.Random;
 
 /**
  * A class of variant agents described in "Evolutionary language competition - an agent-based model" paper.
@@ -92,12 +92,7 @@ public class TotalSpeaker implements VariantAgent {
 
     @Override
     public Thing randomRecognizedThing() {
-        Collection<Thing> things = lexicon.things();
-        int num = new Random().nextInt(things.size());
-        int i = 0;
-        for(Thing thing: things)
-            if(i++ == num) return thing;
-        return null;
+        return lexicon.randomThing();
     }
 
     /**
@@ -119,15 +114,32 @@ public class TotalSpeaker implements VariantAgent {
         return true;
     }
 
+    /**
+     * Returns {@code true}.
+     * @param thing a thing to be checked
+     * @return true
+     */
+    @Override
+    public boolean oneToOneLexicon(Thing thing) {
+        return true;
+    }
+
     @Override
     public Language dominatingLanguage(Collection<Language> languages) {
-        Language maxNumOfWordsLanguage = null;
+        Language[] array = languages.toArray(new Language[0]);
+        int dominatingLanguage = dominatingLanguage(array);
+        return dominatingLanguage < 0 ? null : array[dominatingLanguage];
+    }
+
+    @Override
+    public int dominatingLanguage(Language[] languages) {
+        int maxNumOfWordsLanguage = -1;
         int maxNumOfWords = 0;
-        Map<Language, Integer> dominatingWords = lexicon.countDominatingWords(languages);
-        for(Language language: languages) {
-            if(dominatingWords.get(language) > maxNumOfWords){
-                maxNumOfWords = dominatingWords.get(language);
-                maxNumOfWordsLanguage = language;
+        int[] dominatingWords = lexicon.countDominatingWords(languages);
+        for(int i = 0; i < languages.length; i++) {
+            if(dominatingWords[i] > maxNumOfWords){
+                maxNumOfWords = dominatingWords[i];
+                maxNumOfWordsLanguage = i;
             }
         }
         return maxNumOfWordsLanguage;
@@ -138,6 +150,16 @@ public class TotalSpeaker implements VariantAgent {
         return lexicon.countDominatingWords(languages);
     }
 
+    @Override
+    public int[] countDominatingWords(Language[] languages) {
+        return lexicon.countDominatingWords(languages);
+    }
+
+    @Override
+    public void markRecognizedThings(Language[] languages, BitSet[] recognized) {
+        lexicon.markRecognizedThings(languages, recognized);
+    }
+
     @Override
     public Map<Language, Collection<Thing>> recognizedThings(Collection<Language> languages) {
         return lexicon.recognizedThings(languages);
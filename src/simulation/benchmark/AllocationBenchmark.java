@@ -0,0 +1,169 @@
+package simulation.benchmark;
+
+import com.rits.cloning.Cloner;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import simulation.simulation.Simulation;
+import simulation.termination.LexiconCounters;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * A class measuring the throughput of interactions of a simulation and the number of bytes allocated per interaction in the steady state,
+ * so that allocations creeping back into {@code Simulation.simulateOneStep} and the interaction runner can be detected.
+ * <p>
+ * A clone of the given simulation, observed by {@code LexiconCounters} as in {@code SimulationConductor}, is warmed up for a number of steps,
+ * so that the code is compiled and lexicons reach their sizes. Then the bytes allocated by the current thread during the measured steps are read
+ * with {@code com.sun.management.ThreadMXBean.getThreadAllocatedBytes}, less the bytes allocated by an empty measurement.
+ * The measured steps are repeated in {@value #ROUNDS} rounds, and the bytes per interaction of the round allocating least are reported,
+ * so that one-off allocations of the virtual machine are not counted, while allocations of every step are. The termination criterion is not evaluated, so all steps are simulated.
+ * A budget of bytes per interaction can be given for each engine, i.e. scheduler, with {@code parseBudget}. As pairs of associations removed from lexicons
+ * are reused by new associations, all schedulers allocate no bytes per interaction in the steady state, which is guarded by the budget {@code 0}.
+ * @see simulation.simulation.Simulation
+ */
+@EqualsAndHashCode @ToString
+public class AllocationBenchmark {
+
+    private static final int ROUNDS = 5;
+
+    private final int warmupSteps;
+    private final int measuredSteps;
+
+    /**
+     * Initializes this benchmark with the given numbers of steps.
+     * @param warmupSteps the number of steps simulated before measuring
+     * @param measuredSteps the number of measured steps of each round, positive
+     */
+    public AllocationBenchmark(int warmupSteps, int measuredSteps) {
+        if(measuredSteps < 1)
+            throw new IllegalArgumentException("At least one step must be measured.");
+        this.warmupSteps = warmupSteps;
+        this.measuredSteps = measuredSteps;
+    }
+
+    /**
+     * Warms up and measures a clone of the given simulation in the current thread.
+     * @param pattern the simulation to be measured
+     * @return the measurements
+     * @throws UnsupportedOperationException if the virtual machine does not measure allocated bytes of threads
+     */
+    public Measurement measure(Simulation pattern) {
+        com.sun.management.ThreadMXBean threadMXBean = threadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        Simulation simulation = new Cloner().deepClone(pattern);
+        simulation.setInteractionObserver(new LexiconCounters(simulation));
+        for(int i = 0; i < warmupSteps; i++)
+            simulation.simulateOneStep();
+
+        measure(threadMXBean, threadId, simulation, 0, 0);
+        Measurement overhead = measure(threadMXBean, threadId, simulation, 0, 0);
+        long interactions = 0;
+        long nanos = 0;
+        double bytesPerInteraction = Double.POSITIVE_INFINITY;
+        for(int round = 0; round < ROUNDS; round++) {
+            Measurement measurement = measure(threadMXBean, threadId, simulation, measuredSteps, overhead.allocatedBytes);
+            interactions += measurement.interactions;
+            nanos += measurement.nanos;
+            bytesPerInteraction = Math.min(bytesPerInteraction, measurement.getBytesPerInteraction());
+        }
+        return new Measurement(interactions, nanos, Math.round(bytesPerInteraction * interactions));
+    }
+
+    private static Measurement measure(com.sun.management.ThreadMXBean threadMXBean, long threadId, Simulation simulation, int steps, long overhead) {
+        int interactions = simulation.getNumOfInteractions();
+        long bytes = threadMXBean.getThreadAllocatedBytes(threadId);
+        long nanos = System.nanoTime();
+        for(int i = 0; i < steps; i++)
+            simulation.simulateOneStep();
+        nanos = System.nanoTime() - nanos;
+        bytes = Math.max(0, threadMXBean.getThreadAllocatedBytes(threadId) - bytes - overhead);
+        return new Measurement(simulation.getNumOfInteractions() - interactions, nanos, bytes);
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if(!(threadMXBean instanceof com.sun.management.ThreadMXBean) || !((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemorySupported())
+            throw new UnsupportedOperationException("The virtual machine does not measure bytes allocated by threads.");
+        com.sun.management.ThreadMXBean allocationMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+        if(!allocationMXBean.isThreadAllocatedMemoryEnabled())
+            allocationMXBean.setThreadAllocatedMemoryEnabled(true);
+        return allocationMXBean;
+    }
+
+    /**
+     * Returns the budget of bytes per interaction of the given engine from the given specification, a comma-separated list of
+     * {@code engine:bytes} budgets of single engines and at most one {@code bytes} budget of all other engines, e.g. {@code "0"} or {@code "sequential:0,batched:0,64"}.
+     * @param specification a specification of budgets; {@code null} for no budgets
+     * @param engine the name of an engine
+     * @return the budget of bytes per interaction of the engine; {@code Double.POSITIVE_INFINITY} if there is no budget
+     */
+    public static double parseBudget(String specification, String engine) {
+        double budget = Double.POSITIVE_INFINITY;
+        if(specification == null)
+            return budget;
+        for(String entry: specification.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if(parts.length == 1)
+                budget = Double.parseDouble(parts[0]);
+            else if(parts.length == 2 && parts[0].equals(engine))
+                return Double.parseDouble(parts[1]);
+            else if(parts.length != 2)
+                throw new IllegalArgumentException("Unknown allocation budget: " + entry);
+        }
+        return budget;
+    }
+
+    public int getWarmupSteps() {
+        return this.warmupSteps;
+    }
+
+    public int getMeasuredSteps() {
+        return this.measuredSteps;
+    }
+
+    /**
+     * A class holding the measurements of a benchmark.
+     */
+    @EqualsAndHashCode @ToString
+    public static class Measurement {
+
+        private final long interactions;
+        private final long nanos;
+        private final long allocatedBytes;
+
+        Measurement(long interactions, long nanos, long allocatedBytes) {
+            this.interactions = interactions;
+            this.nanos = nanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        /**
+         * Returns the number of bytes allocated per measured interaction.
+         * @return the number of bytes allocated per measured interaction
+         */
+        public double getBytesPerInteraction() {
+            return interactions == 0 ? 0 : (double) allocatedBytes / interactions;
+        }
+
+        /**
+         * Returns the number of measured interactions per second.
+         * @return the number of measured interactions per second
+         */
+        public double getInteractionsPerSecond() {
+            return nanos == 0 ? 0 : interactions * 1e9 / nanos;
+        }
+
+        public long getInteractions() {
+            return this.interactions;
+        }
+
+        public long getNanos() {
+            return this.nanos;
+        }
+
+        public long getAllocatedBytes() {
+            return this.allocatedBytes;
+        }
+    }
+}
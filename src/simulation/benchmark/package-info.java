@@ -0,0 +1,5 @@
+/**
+ * classes for measuring throughput and allocations of simulations of agent-based models of language competition
+ */
+
+package simulation.benchmark;
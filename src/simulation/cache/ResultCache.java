@@ -0,0 +1,249 @@
+package simulation.cache;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import simulation.simulation.SimulationConductor;
+import util.Reducers;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * A class of on-disk caches of results of seeded simulations, so that repeated configurations are served without conducting their simulations again.
+ * <p>
+ * Results are addressed by the SHA-256 hash of the canonical specification of a configuration, the seed of its replicas, the maximal number of iterations,
+ * {@code ENGINE_VERSION} and the implementation of {@code Reducer} in use, as reducers sum weights in different orders and so differ in the last bits of results. Each entry is a directory named with the hash, holding the specification and batches of replicas: files named {@code from-to.bin}
+ * with the partial results of replicas from {@code from} inclusive to {@code to} exclusive, written by {@code SimulationConductor.writePartialResults}.
+ * As replicas of a seeded conductor are reproducible, a request for more replicas than cached merges the cached batches with a batch of the missing replicas,
+ * which is conducted and cached, so the results are the same as if all replicas had been conducted at once.
+ * <p>
+ * The total size of batches is bounded: after each request, batches which were least recently used are deleted until the size does not exceed the bound.
+ * Batches are written to temporary files and moved to their names atomically, so concurrent processes sharing a cache never read incomplete batches.
+ * @see SimulationConductor#setSeed(Long, long)
+ * @see SimulationConductor#mergePartialResults(DataInput)
+ */
+@EqualsAndHashCode @ToString
+public class ResultCache {
+
+    /**
+     * The version of the code conducting simulations, which must be increased whenever a change of the code changes results of seeded simulations
+     * or the format of partial results, so that results cached by earlier versions are not served.
+     */
+    public static final int ENGINE_VERSION = 2;
+
+    private static final Pattern BATCH = Pattern.compile("(\\d+)-(\\d+)\\.bin");
+    private static final String SPECIFICATION = "specification.txt";
+
+    private final Path directory;
+    private final long maxBytes;
+
+    /**
+     * Initializes this cache in the given directory.
+     * @param directory the directory of this cache, which is created if it does not exist
+     * @param maxBytes the maximal total size of cached batches in bytes
+     */
+    public ResultCache(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Merges results of the given number of replicas of the given conductor's pattern simulation to the conductor, serving cached batches of replicas
+     * and conducting and caching the missing ones. The conductor should have no results yet, and its next replica is set after the requested ones.
+     * @param conductor the conductor to merge the results to
+     * @param specification the canonical specification of the configuration of the conductor, equal for conductors of equal configurations
+     * @param seed the seed of the replicas
+     * @param times the number of replicas, indexed from {@code 0}
+     * @param stopIteration the maximal number of iterations of each simulation
+     * @param threads the number of threads conducting missing replicas
+     * @return the number of replicas served from this cache
+     * @throws IOException an exception of reading or writing the cache, or if the entry of the configuration holds a different specification
+     * @throws InterruptedException if the current thread was interrupted while waiting for the threads
+     */
+    public int conduct(SimulationConductor conductor, String specification, long seed, int times, int stopIteration, int threads) throws IOException, InterruptedException {
+        String canonical = canonical(specification, seed, stopIteration);
+        Path entry = directory.resolve(hash(canonical.getBytes(StandardCharsets.UTF_8)));
+        List<long[]> batches = openEntry(entry, canonical);
+
+        int cached = 0;
+        long position = 0;
+        while(position < times) {
+            long[] hit = null;
+            long nextStart = times;
+            for(long[] batch: batches) {
+                if(batch[0] == position && batch[1] <= times && (hit == null || batch[1] > hit[1]))
+                    hit = batch;
+                if(batch[0] > position)
+                    nextStart = Math.min(nextStart, batch[0]);
+            }
+            if(hit != null && read(entry.resolve(batchName(hit[0], hit[1])), conductor)) {
+                cached += hit[1] - hit[0];
+                position = hit[1];
+                continue;
+            }
+            SimulationConductor missing = new SimulationConductor(conductor.getPatternSimulation(), conductor.getTerminationCriterion());
+            missing.setSnapshots(conductor.getSnapshots());
+            missing.setSeed(seed, position);
+            missing.conduct((int) (nextStart - position), stopIteration, threads);
+            write(entry, position, nextStart, missing);
+            conductor.merge(missing);
+            position = nextStart;
+        }
+        conductor.setSeed(seed, times);
+        evict();
+        return cached;
+    }
+
+    private static String canonical(String specification, long seed, int stopIteration) {
+        return "engine " + ENGINE_VERSION + "\nreducer " + Reducers.best().getClass().getName() + "\n" + specification + "\nseed " + seed + "\nstop " + stopIteration + "\n";
+    }
+
+    private static List<long[]> openEntry(Path entry, String canonical) throws IOException {
+        Files.createDirectories(entry);
+        Path specification = entry.resolve(SPECIFICATION);
+        if(Files.exists(specification)) {
+            if(!new String(Files.readAllBytes(specification), StandardCharsets.UTF_8).equals(canonical))
+                throw new IOException("The cache entry " + entry + " holds results of a different configuration.");
+        }
+        else
+            moveAtomically(writeTemporary(entry, output -> output.write(canonical.getBytes(StandardCharsets.UTF_8))), specification);
+
+        List<long[]> batches = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(entry)) {
+            for(Path file: files) {
+                Matcher matcher = BATCH.matcher(file.getFileName().toString());
+                if(matcher.matches())
+                    batches.add(new long[]{Long.parseLong(matcher.group(1)), Long.parseLong(matcher.group(2))});
+            }
+        }
+        return batches;
+    }
+
+    /**
+     * Merges the batch from the given file to the given conductor and marks it as used, or returns {@code false} if the batch has been evicted meanwhile.
+     */
+    private static boolean read(Path file, SimulationConductor conductor) throws IOException {
+        byte[] batch;
+        try {
+            batch = Files.readAllBytes(file);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+        conductor.mergePartialResults(new DataInputStream(new ByteArrayInputStream(batch)));
+        return true;
+    }
+
+    private static void write(Path entry, long from, long to, SimulationConductor conductor) throws IOException {
+        moveAtomically(writeTemporary(entry, output -> conductor.writePartialResults(new DataOutputStream(output))), entry.resolve(batchName(from, to)));
+    }
+
+    private interface Writing {
+        void writeTo(OutputStream output) throws IOException;
+    }
+
+    private static Path writeTemporary(Path entry, Writing writing) throws IOException {
+        Path temporary = Files.createTempFile(entry, "partial-", ".tmp");
+        try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(temporary))) {
+            writing.writeTo(output);
+        } catch (IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        return temporary;
+    }
+
+    private static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static String batchName(long from, long to) {
+        return from + "-" + to + ".bin";
+    }
+
+    /**
+     * Deletes least recently used batches until their total size does not exceed the bound of this cache, and deletes entries left without batches.
+     * @throws IOException an exception of listing or deleting files of the cache
+     */
+    public void evict() throws IOException {
+        if(!Files.isDirectory(directory))
+            return;
+        List<Path> batches = new ArrayList<>();
+        long total = 0;
+        try (Stream<Path> files = Files.walk(directory, 2)) {
+            for(Path file: (Iterable<Path>) files::iterator) {
+                if(BATCH.matcher(file.getFileName().toString()).matches()) {
+                    batches.add(file);
+                    total += Files.size(file);
+                }
+            }
+        }
+        if(total <= maxBytes)
+            return;
+        batches.sort(Comparator.comparing(ResultCache::lastModified));
+        for(Path batch: batches) {
+            if(total <= maxBytes)
+                break;
+            long size = Files.size(batch);
+            if(Files.deleteIfExists(batch))
+                total -= size;
+            Path entry = batch.getParent();
+            try (DirectoryStream<Path> remaining = Files.newDirectoryStream(entry, "*.bin")) {
+                if(!remaining.iterator().hasNext()) {
+                    Files.deleteIfExists(entry.resolve(SPECIFICATION));
+                    Files.deleteIfExists(entry);
+                }
+            } catch (DirectoryNotEmptyException | NoSuchFileException e) {
+                // another process is using the entry
+            }
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    /**
+     * Returns the hexadecimal SHA-256 hash of the given bytes.
+     * @param bytes bytes to be hashed
+     * @return the hexadecimal SHA-256 hash of the bytes
+     */
+    public static String hash(byte[] bytes) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        StringBuilder hash = new StringBuilder();
+        for(byte b: digest.digest(bytes))
+            hash.append(String.format("%02x", b));
+        return hash.toString();
+    }
+
+    public Path getDirectory() {
+        return this.directory;
+    }
+
+    public long getMaxBytes() {
+        return this.maxBytes;
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * classes for caching results of simulations of agent-based models of language competition on disk
+ */
+
+package simulation.cache;
@@ -0,0 +1,160 @@
+package simulation.distributed;
+
+import simulation.simulation.SimulationConductor;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * A class for conducting simulations of a {@code SimulationConductor} in worker processes and merging their results into the conductor.
+ * <p>
+ * A coordinator connects to each {@code Worker}, sends it the command-line arguments defining the pattern simulation and then hands it batches
+ * of simulations until the requested number of simulations is conducted. Workers take new batches as soon as they finish previous ones,
+ * so faster workers conduct more simulations. Partial results of the batches are merged into the conductor exactly, as if it had conducted all simulations.
+ * A batch of a worker that fails is handed to the remaining workers.
+ * <p>
+ * Each worker creates its pattern simulation from the arguments, so the patterns of workers are independent realizations of the same parameters,
+ * unless the arguments hold a seed. Then the patterns are equal, and each batch is handed with the index of its first replica, so that
+ * each simulation is conducted on the streams of its replica, whichever worker conducts it, and seeded results are reproducible.
+ * @see Worker
+ * @see SimulationConductor#mergePartialResults(DataInput)
+ */
+public class Coordinator {
+
+    private final SimulationConductor conductor;
+    private final String[] args;
+    private final List<InetSocketAddress> workers;
+    private final int batchSize;
+
+    private int remaining;
+    private int inFlight;
+    private long nextReplica;
+    private final Deque<long[]> failedBatches = new ArrayDeque<>();
+    private IOException lastFailure;
+
+    /**
+     * Initializes this coordinator.
+     * @param conductor the conductor to merge results of workers into
+     * @param args the command-line arguments from which workers create the pattern simulation of the conductor
+     * @param workers addresses of workers
+     * @param batchSize the maximal number of simulations handed to a worker at once
+     */
+    public Coordinator(SimulationConductor conductor, String[] args, List<InetSocketAddress> workers, int batchSize) {
+        if(workers.isEmpty())
+            throw new IllegalArgumentException("At least one worker is required.");
+        if(batchSize < 1)
+            throw new IllegalArgumentException("The batch size must be positive.");
+        this.conductor = conductor;
+        this.args = args;
+        this.workers = workers;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Conducts the given number of simulations in the workers of this coordinator and merges their results into the conductor.
+     * @param times number of simulations to conduct
+     * @param stopIteration maximal number of iterations of each simulation
+     * @throws IOException if all workers failed before the simulations were conducted
+     * @throws InterruptedException if the current thread was interrupted while waiting for the workers
+     */
+    public void conduct(int times, int stopIteration) throws IOException, InterruptedException {
+        long firstReplica = conductor.getNextReplica();
+        synchronized (this) {
+            remaining = times;
+            inFlight = 0;
+            nextReplica = firstReplica;
+            failedBatches.clear();
+            lastFailure = null;
+        }
+        List<Thread> threads = new ArrayList<>();
+        for(InetSocketAddress address: workers) {
+            Thread thread = new Thread(() -> communicate(address, stopIteration), "coordinator-" + address);
+            thread.start();
+            threads.add(thread);
+        }
+        for(Thread thread: threads)
+            thread.join();
+        if(remaining > 0)
+            throw new IOException("Workers failed before conducting " + remaining + " simulations.", lastFailure);
+        conductor.setSeed(conductor.getSeed(), firstReplica + times);
+    }
+
+    private void communicate(InetSocketAddress address, int stopIteration) {
+        long[] batch = null;
+        try (Socket socket = new Socket(address.getAddress(), address.getPort())) {
+            DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+            output.writeInt(Protocol.MAGIC);
+            output.writeInt(args.length);
+            for(String arg: args)
+                output.writeUTF(arg);
+
+            while((batch = takeBatch()) != null) {
+                output.writeInt((int) batch[1]);
+                output.writeInt(stopIteration);
+                output.writeLong(batch[0]);
+                output.flush();
+                int reply = input.readInt();
+                if(reply != Protocol.RESULTS)
+                    throw new IOException("Worker " + address + " failed: " + (reply == Protocol.FAILURE ? input.readUTF() : "unknown reply"));
+                byte[] results = new byte[input.readInt()];
+                input.readFully(results);
+                synchronized (this) {
+                    conductor.mergePartialResults(new DataInputStream(new ByteArrayInputStream(results)));
+                }
+                finishBatch(batch);
+                batch = null;
+            }
+            output.writeInt(0);
+            output.flush();
+        } catch (IOException e) {
+            System.err.println("Worker " + address + " failed: " + e);
+            failBatch(batch, e);
+        }
+    }
+
+    /**
+     * Returns the next batch as the index of its first replica and the number of simulations; {@code null} if there are no more batches.
+     */
+    private synchronized long[] takeBatch() {
+        while(remaining == 0 && inFlight > 0) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+        long[] batch = failedBatches.poll();
+        if(batch == null) {
+            if(remaining == 0)
+                return null;
+            batch = new long[]{nextReplica, Math.min(batchSize, remaining)};
+            nextReplica += batch[1];
+        }
+        remaining -= batch[1];
+        inFlight += batch[1];
+        return batch;
+    }
+
+    private synchronized void finishBatch(long[] batch) {
+        inFlight -= batch[1];
+        notifyAll();
+    }
+
+    private synchronized void failBatch(long[] batch, IOException failure) {
+        if(batch != null) {
+            inFlight -= batch[1];
+            remaining += batch[1];
+            failedBatches.add(batch);
+        }
+        lastFailure = failure;
+        notifyAll();
+    }
+}
@@ -0,0 +1,22 @@
+package simulation.distributed;
+
+/**
+ * Constants of the protocol of communication between a {@code Coordinator} and its workers.
+ * <p>
+ * A coordinator opens a connection with a worker by sending {@code MAGIC} and the command-line arguments defining the pattern simulation,
+ * as their number followed by the arguments in modified UTF-8. Then it sends batches as the number of simulations, the maximal number of iterations and the index of the first replica (a long),
+ * and after each batch the worker replies with {@code RESULTS} followed by the length and the bytes of the partial results of the batch
+ * written by {@code SimulationConductor.writePartialResults},
+ * or with {@code FAILURE} followed by a message. A batch of zero simulations closes the connection.
+ * @see Coordinator
+ * @see Worker
+ */
+final class Protocol {
+
+    static final int MAGIC = 0x454c4303;
+    static final int RESULTS = 1;
+    static final int FAILURE = 2;
+
+    private Protocol() {
+    }
+}
@@ -0,0 +1,269 @@
+package simulation.distributed;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import simulation.experiment.ExperimentFile;
+import simulation.simulation.HistoryFormat;
+import simulation.simulation.SimulationConductor;
+import simulation.simulation.SimulationConductorSerializer;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * A class of long-lived processes conducting jobs of simulations sent by local clients, so that short jobs are answered by warmed-up code
+ * instead of paying the start-up of a new process.
+ * <p>
+ * A daemon listens on a port of the loopback interface and serves each connection in its own thread. A client sends jobs as lines of JSON objects
+ * of options, in the same form as experiments of files of experiments, e.g. {@code {"N1": 12, "var": "ts", "iv": 1, "v": 2, "s": 100}}.
+ * The options {@code s}, {@code stop}, {@code enc}, {@code ds} and {@code p} (or their long names) define how a job is conducted, with the defaults of the program;
+ * the remaining options define its pattern simulation. Other options of runs, e.g. {@code worker}, {@code workers}, {@code daemon}, {@code queue}, {@code pair},
+ * {@code ci}, {@code traj}, {@code cache}, {@code outcomes}, {@code threads} and {@code batch}, and options of subcommands are not supported,
+ * as a job is conducted on one thread of the daemon, and jobs with them are rejected.
+ * Jobs are queued on a bounded pool of threads, and a job which does not fit in the queue is rejected.
+ * <p>
+ * The daemon replies with lines of JSON objects with the {@code "job"} number and the {@code "status"} of a job:
+ * <ul>
+ *     <li>{@code "queued"} - the job is accepted, and {@code "cached"} tells whether its pattern simulation is reused from an earlier job</li>
+ *     <li>{@code "progress"} - {@code "simulations"} of the job's {@code "of"} simulations are conducted; it is sent at most every 100 milliseconds</li>
+ *     <li>{@code "done"} - the job is finished, and its {@code "results"} are the results of the job in the format of results files,
+ *     which are also saved in the path given with {@code p}, if any</li>
+ *     <li>{@code "rejected"} or {@code "failed"} - the job is not conducted, or failed, because of the {@code "error"}</li>
+ * </ul>
+ * Replies to different jobs of a connection may be interleaved. When the client closes its output, the daemon finishes its queued jobs and closes the connection.
+ * <p>
+ * Pattern simulations of the most recently used options are cached, so jobs of the same options are conducted on the same realization of the initial state,
+ * as simulations of one run are.
+ * @see ExperimentFile
+ * @see Worker
+ */
+public class SimulationDaemon {
+
+    private static final int PROGRESS_INTERVAL = 100;
+    private static final int CACHED_PATTERNS = 32;
+    private static final Set<String> JOB_OPTIONS = new HashSet<>(Arrays.asList("s", "simulations", "stop", "stopIteration",
+            "enc", "encoding", "ds", "downsampling", "p", "path"));
+    private static final Set<String> UNSUPPORTED_OPTIONS = new HashSet<>(Arrays.asList("worker", "workers", "daemon", "queue", "pair", "paired",
+            "ci", "confidenceTargets", "conf", "confidence", "traj", "trajectory", "trajk", "trajectoryInterval", "cache", "cacheSize", "cachesize",
+            "outcomes", "outformat", "outcomesFormat", "threads", "batch", "burnin", "burnIn", "states", "warmup", "warmupSteps", "steps", "measuredSteps",
+            "budget", "allocationBudget"));
+
+    private final ServerSocket serverSocket;
+    private final ThreadPoolExecutor executor;
+    private final Function<String[], SimulationConductor> conductorFactory;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger jobs = new AtomicInteger();
+    private final Map<List<String>, SimulationConductor> patterns = new PatternCache();
+
+    /**
+     * Initializes this daemon listening on the given port of the loopback interface.
+     * @param port the port to listen on, or {@code 0} for any free port
+     * @param threads the number of threads conducting jobs
+     * @param queueCapacity the maximal number of jobs waiting for a thread
+     * @param conductorFactory a function creating a conductor from command-line arguments defining its pattern simulation
+     * @throws IOException an exception of opening the server socket
+     */
+    public SimulationDaemon(int port, int threads, int queueCapacity, Function<String[], SimulationConductor> conductorFactory) throws IOException {
+        AtomicInteger thread = new AtomicInteger();
+        this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable, "daemon-job-" + thread.getAndIncrement()));
+        this.conductorFactory = conductorFactory;
+    }
+
+    /**
+     * Serves clients' connections until the server socket of this daemon is closed.
+     */
+    public void serve() {
+        while(!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                Thread connection = new Thread(() -> serve(socket), "daemon-connection-" + socket.getPort());
+                connection.setDaemon(true);
+                connection.start();
+            } catch (IOException e) {
+                if(!serverSocket.isClosed())
+                    e.printStackTrace();
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (Socket connection = socket) {
+            BufferedReader input = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8));
+            Writer output = new BufferedWriter(new OutputStreamWriter(connection.getOutputStream(), StandardCharsets.UTF_8));
+            List<Future<?>> accepted = new ArrayList<>();
+            String line;
+            while((line = input.readLine()) != null) {
+                if(line.trim().isEmpty())
+                    continue;
+                int job = jobs.incrementAndGet();
+                try {
+                    accepted.add(submit(job, line, output));
+                } catch (IOException | RuntimeException e) {
+                    reply(output, status(job, "rejected").put("error", String.valueOf(e)));
+                }
+            }
+            for(Future<?> future: accepted)
+                future.get();
+        } catch (IOException e) {
+            System.err.println("The connection of " + socket.getRemoteSocketAddress() + " failed: " + e);
+        } catch (InterruptedException | ExecutionException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private Future<?> submit(int job, String line, Writer output) throws IOException {
+        JsonNode options = objectMapper.readTree(line);
+        if(options == null || !options.isObject())
+            throw new IOException("A job must be a JSON object of options.");
+        ObjectNode patternOptions = ((ObjectNode) options).deepCopy();
+        Map<String, String> jobOptions = new HashMap<>();
+        Iterator<String> names = options.fieldNames();
+        while(names.hasNext()) {
+            String name = names.next();
+            String option = name.replaceFirst("^-+", "");
+            if(UNSUPPORTED_OPTIONS.contains(option))
+                throw new IllegalArgumentException("The option " + option + " is not supported in jobs of a daemon.");
+            if(JOB_OPTIONS.contains(option)) {
+                patternOptions.remove(name);
+                jobOptions.put(option, options.get(name).asText());
+            }
+        }
+        int simulations = Integer.parseInt(jobOption(jobOptions, "s", "simulations", "1000"));
+        int stopIteration = Integer.parseInt(jobOption(jobOptions, "stop", "stopIteration", "100000"));
+        HistoryFormat historyFormat = HistoryFormat.parse(jobOption(jobOptions, "enc", "encoding", "plain"), jobOption(jobOptions, "ds", "downsampling", "none"));
+        String path = jobOption(jobOptions, "p", "path", null);
+
+        String[] args = ExperimentFile.args(patternOptions);
+        List<String> key = new ArrayList<>();
+        SortedMap<String, String> sorted = new TreeMap<>();
+        for(int i = 0; i < args.length; i += 2)
+            sorted.put(args[i], args[i + 1]);
+        sorted.forEach((option, value) -> { key.add(option); key.add(value); });
+        SimulationConductor pattern;
+        boolean cached;
+        synchronized (patterns) {
+            pattern = patterns.get(key);
+            cached = pattern != null;
+        }
+        if(!cached) {
+            pattern = conductorFactory.apply(args);
+            synchronized (patterns) {
+                patterns.put(key, pattern);
+            }
+        }
+
+        SimulationConductor conductorPattern = pattern;
+        synchronized (output) {
+            Future<?> future;
+            try {
+                future = executor.submit(() -> conduct(job, conductorPattern, simulations, stopIteration, historyFormat, path, output));
+            } catch (RejectedExecutionException e) {
+                throw new IllegalStateException("The queue of jobs is full.", e);
+            }
+            reply(output, status(job, "queued").put("cached", cached));
+            return future;
+        }
+    }
+
+    private static String jobOption(Map<String, String> jobOptions, String option, String longOption, String defaultValue) {
+        return jobOptions.getOrDefault(option, jobOptions.getOrDefault(longOption, defaultValue));
+    }
+
+    private void conduct(int job, SimulationConductor pattern, int simulations, int stopIteration, HistoryFormat historyFormat, String path, Writer output) {
+        try {
+            SimulationConductor conductor = new SimulationConductor(pattern.getPatternSimulation(), pattern.getTerminationCriterion());
+            conductor.setSnapshots(pattern.getSnapshots());
+            conductor.setSeed(pattern.getSeed(), 0);
+            long start = System.nanoTime();
+            long lastProgress = start;
+            for(int i = 0; i < simulations; i++) {
+                conductor.conduct(stopIteration);
+                if(System.nanoTime() - lastProgress >= PROGRESS_INTERVAL * 1_000_000L && i + 1 < simulations) {
+                    lastProgress = System.nanoTime();
+                    reply(output, status(job, "progress").put("simulations", i + 1).put("of", simulations));
+                }
+            }
+            if(path != null)
+                SimulationConductorSerializer.writeToFile(conductor, path, historyFormat);
+            String results = SimulationConductorSerializer.writeToString(conductor, historyFormat);
+            StringWriter done = new StringWriter();
+            try (JsonGenerator jsonGenerator = objectMapper.getFactory().createGenerator(done)) {
+                jsonGenerator.writeStartObject();
+                jsonGenerator.writeNumberField("job", job);
+                jsonGenerator.writeStringField("status", "done");
+                jsonGenerator.writeNumberField("milliseconds", (System.nanoTime() - start) / 1_000_000);
+                jsonGenerator.writeFieldName("results");
+                jsonGenerator.writeRawValue(results);
+                jsonGenerator.writeEndObject();
+            }
+            reply(output, done.toString());
+        } catch (IOException | RuntimeException e) {
+            try {
+                reply(output, status(job, "failed").put("error", String.valueOf(e)));
+            } catch (IOException ignored) {
+                // the client has gone, so the failure cannot be reported
+            }
+        }
+    }
+
+    private ObjectNode status(int job, String status) {
+        return objectMapper.createObjectNode().put("job", job).put("status", status);
+    }
+
+    private void reply(Writer output, ObjectNode reply) throws IOException {
+        reply(output, objectMapper.writeValueAsString(reply));
+    }
+
+    private static void reply(Writer output, String line) throws IOException {
+        synchronized (output) {
+            output.write(line);
+            output.write('\n');
+            output.flush();
+        }
+    }
+
+    /**
+     * Closes the server socket of this daemon, so that {@code serve} returns, and stops its threads after the queued jobs are finished.
+     * @throws IOException an exception of closing the server socket
+     */
+    public void close() throws IOException {
+        serverSocket.close();
+        executor.shutdown();
+    }
+
+    /**
+     * A map of pattern simulations of the most recently used options, which evicts the least recently used one when it holds more than {@code CACHED_PATTERNS}.
+     */
+    private static class PatternCache extends LinkedHashMap<List<String>, SimulationConductor> {
+
+        private static final long serialVersionUID = 1L;
+
+        PatternCache() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<List<String>, SimulationConductor> eldest) {
+            return size() > CACHED_PATTERNS;
+        }
+    }
+
+    /**
+     * Returns the port this daemon listens on.
+     * @return the port this daemon listens on
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+}
@@ -0,0 +1,124 @@
+package simulation.distributed;
+
+import simulation.simulation.SimulationConductor;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.function.Function;
+
+/**
+ * A class of worker processes conducting batches of simulations for a {@code Coordinator}.
+ * <p>
+ * A worker listens on a port of the loopback interface, or of a given address, and serves coordinators' connections one after another.
+ * For each connection, it creates a {@code SimulationConductor} from the command-line arguments sent by the coordinator with the given factory,
+ * and conducts each requested batch of simulations with a fresh conductor of the same pattern simulation, so that the partial results
+ * sent back concern only this batch. Simulations of a batch are conducted as consecutive replicas from the index sent with the batch,
+ * on the streams of the seed of the pattern conductor, if any.
+ * @see Coordinator
+ * @see SimulationConductor#writePartialResults(DataOutput)
+ */
+public class Worker {
+
+    private final ServerSocket serverSocket;
+    private final Function<String[], SimulationConductor> conductorFactory;
+
+    /**
+     * Initializes this worker listening on the given port of the loopback interface.
+     * @param port the port to listen on, or {@code 0} for any free port
+     * @param conductorFactory a function creating a conductor from command-line arguments sent by a coordinator
+     * @throws IOException an exception of opening the server socket
+     */
+    public Worker(int port, Function<String[], SimulationConductor> conductorFactory) throws IOException {
+        this(new ServerSocket(port, 50, InetAddress.getLoopbackAddress()), conductorFactory);
+    }
+
+    /**
+     * Initializes this worker listening on the given server socket.
+     * @param serverSocket a bound server socket to accept coordinators' connections from
+     * @param conductorFactory a function creating a conductor from command-line arguments sent by a coordinator
+     */
+    public Worker(ServerSocket serverSocket, Function<String[], SimulationConductor> conductorFactory) {
+        this.serverSocket = serverSocket;
+        this.conductorFactory = conductorFactory;
+    }
+
+    /**
+     * Serves coordinators' connections until the server socket of this worker is closed.
+     * Failures of single connections are reported to the standard error stream and do not stop the worker.
+     */
+    public void serve() {
+        while(!serverSocket.isClosed()) {
+            try (Socket socket = serverSocket.accept()) {
+                serve(socket);
+            } catch (IOException e) {
+                if(!serverSocket.isClosed())
+                    e.printStackTrace();
+            }
+        }
+    }
+
+    private void serve(Socket socket) throws IOException {
+        DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+        if(input.readInt() != Protocol.MAGIC)
+            throw new IOException("Unknown protocol of the connection from " + socket.getRemoteSocketAddress());
+        String[] args = new String[input.readInt()];
+        for(int i = 0; i < args.length; i++)
+            args[i] = input.readUTF();
+
+        SimulationConductor pattern = null;
+        String failure = null;
+        try {
+            pattern = conductorFactory.apply(args);
+        } catch (RuntimeException e) {
+            failure = String.valueOf(e);
+        }
+
+        int times;
+        while((times = input.readInt()) > 0) {
+            int stopIteration = input.readInt();
+            long firstReplica = input.readLong();
+            ByteArrayOutputStream results = new ByteArrayOutputStream();
+            if(pattern != null) {
+                try {
+                    SimulationConductor conductor = new SimulationConductor(pattern.getPatternSimulation(), pattern.getTerminationCriterion());
+                    conductor.setSnapshots(pattern.getSnapshots());
+                    conductor.setSeed(pattern.getSeed(), firstReplica);
+                    conductor.conduct(times, stopIteration);
+                    conductor.writePartialResults(new DataOutputStream(results));
+                } catch (RuntimeException e) {
+                    failure = String.valueOf(e);
+                }
+            }
+            if(failure == null) {
+                output.writeInt(Protocol.RESULTS);
+                output.writeInt(results.size());
+                results.writeTo(output);
+            }
+            else {
+                output.writeInt(Protocol.FAILURE);
+                output.writeUTF(failure);
+            }
+            output.flush();
+        }
+    }
+
+    /**
+     * Closes the server socket of this worker, so that {@code serve} returns after the current connection.
+     * @throws IOException an exception of closing the server socket
+     */
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+
+    /**
+     * Returns the port this worker listens on.
+     * @return the port this worker listens on
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+}
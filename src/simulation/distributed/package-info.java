@@ -0,0 +1,5 @@
+/**
+ * classes for conducting simulations of agent-based models of language competition in multiple processes communicating over sockets
+ */
+
+package simulation.distributed;
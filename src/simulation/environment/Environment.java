@@ -2,42 +2,146 @@ package simulation.environment;
 
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
+import simulation.language.WordRegistry;
+import util.AliasTable;
+import util.Randoms;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Random;
 
 /**
  * A class representing an environment within which simulations of naming games can be conducted.
- * Actually, it encapsulates collection of things.
+ * Actually, it encapsulates an array of canonical things indexed by their ids and the registry of words used in simulations on this environment.
+ * <p>
+ * Things can be sampled uniformly or in accordance with their salience, i.e. non-uniform probabilities of being a topic of an interaction.
+ * In both cases sampling takes constant time; non-uniform salience is sampled with an alias table.
  * @see Thing
  * @see EnvironmentCreator
+ * @see WordRegistry
+ * @see Salience
  * @see simulation.simulation.creator.ELCPaperSimulationCreator
  */
-@EqualsAndHashCode @ToString
+@EqualsAndHashCode(exclude = "wordRegistry") @ToString(exclude = "wordRegistry")
 public class Environment {
 
-    private Collection<Thing> things;
+    private Thing[] things;
+    private WordRegistry wordRegistry;
+    private double[] salience;
+    private AliasTable salienceTable;
 
     /**
-     * Initializes this environment with the given collection of things
+     * Initializes this environment with the given collection of things and an empty word registry.
+     * Ids of the given things must be distinct integers from {@code 0} to {@code things.size()-1}.
      * @param things an initial collection of things of this environment
      */
     public Environment(Collection<Thing> things){
-        this.things = things;
+        this(things, new WordRegistry());
     }
 
     /**
-     * Returns a random thing from this environment
+     * Initializes this environment with the given collection of things and the given word registry.
+     * Ids of the given things must be distinct integers from {@code 0} to {@code things.size()-1}.
+     * @param things an initial collection of things of this environment
+     * @param wordRegistry a registry of words used in simulations on this environment
+     */
+    public Environment(Collection<Thing> things, WordRegistry wordRegistry){
+        this.things = new Thing[things.size()];
+        for(Thing thing: things) {
+            if(thing.getId() < 0 || thing.getId() >= this.things.length || this.things[thing.getId()] != null)
+                throw new IllegalArgumentException("Ids of things must be distinct integers from 0 to " + (this.things.length - 1) + ".");
+            this.things[thing.getId()] = thing;
+        }
+        this.wordRegistry = wordRegistry;
+    }
+
+    /**
+     * Initializes this environment with the given collection of things, the given word registry and the given salience of things.
+     * Ids of the given things must be distinct integers from {@code 0} to {@code things.size()-1}.
+     * @param things an initial collection of things of this environment
+     * @param wordRegistry a registry of words used in simulations on this environment
+     * @param salience non-negative weights such that the thing of id {@code i} is sampled with probability proportional to {@code salience[i]};
+     *                 {@code null} for uniform sampling
+     */
+    public Environment(Collection<Thing> things, WordRegistry wordRegistry, double[] salience){
+        this(things, wordRegistry);
+        if(salience != null) {
+            if(salience.length != this.things.length)
+                throw new IllegalArgumentException("Salience must be defined for each of " + this.things.length + " things.");
+            this.salienceTable = new AliasTable(salience);
+            this.salience = Salience.normalize(salience);
+        }
+    }
+
+    /**
+     * Returns a random thing from this environment, sampled uniformly or in accordance with this environment's salience.
      * @return a random thing from this environment
      */
     public Thing randomThing() {
-        int elem = new Random().nextInt(things.size());
-        for(Thing thing: things)
-            if (elem-- == 0) return thing;
-        throw new AssertionError();
+        return things[randomThingId()];
+    }
+
+    /**
+     * Returns the id of a random thing from this environment, sampled uniformly or in accordance with this environment's salience.
+     * @return the id of a random thing from this environment
+     */
+    public int randomThingId() {
+        if(salienceTable == null) return Randoms.dynamics().nextInt(things.length);
+        return salienceTable.sample(Randoms.dynamics());
+    }
+
+    /**
+     * Fills the first {@code length} elements of the given array with ids of random things from this environment,
+     * sampled uniformly or in accordance with this environment's salience.
+     * @param ids an array to be filled with ids of random things
+     * @param length the number of ids to be sampled
+     */
+    public void randomThingIds(int[] ids, int length) {
+        Random random = Randoms.dynamics();
+        if(salienceTable == null)
+            for(int i = 0; i < length; i++)
+                ids[i] = random.nextInt(things.length);
+        else
+            for(int i = 0; i < length; i++)
+                ids[i] = salienceTable.sample(random);
+    }
+
+    /**
+     * Returns the probabilities of sampling things of this environment indexed by their ids.
+     * @return the probabilities of sampling things of this environment indexed by their ids
+     */
+    public double[] getSalience() {
+        if(salience == null) return Salience.uniform(things.length);
+        return salience.clone();
+    }
+
+    /**
+     * Returns the canonical thing with the given id.
+     * @param id the id of the thing to be returned
+     * @return the canonical thing with the given id
+     */
+    public Thing getThing(int id) {
+        return things[id];
     }
 
+    /**
+     * Returns the number of things in this environment.
+     * @return the number of things in this environment
+     */
+    public int size() {
+        return things.length;
+    }
+
+    /**
+     * Returns an unmodifiable list view of the things of this environment ordered by their ids.
+     * @return an unmodifiable list view of the things of this environment
+     */
     public Collection<Thing> getThings() {
-        return this.things;
+        return Collections.unmodifiableList(Arrays.asList(things));
+    }
+
+    public WordRegistry getWordRegistry() {
+        return this.wordRegistry;
     }
 }
@@ -1,5 +1,7 @@
 package simulation.environment;
 
+import simulation.language.WordRegistry;
+
 import java.util.ArrayList;
 import java.util.Collection;
 
@@ -7,17 +9,29 @@ import java.util.Collection;
  * A factory class to create random {@code Environment} objects with a given number of things.
  * @see Environment
  * @see Thing
+ * @see Salience
  */
 public class EnvironmentCreator {
 
     private int numOfThings;
+    private double[] salience;
 
     /**
-     * Initializes this creator with the given number of things.
+     * Initializes this creator with the given number of things. Things in created environments are sampled uniformly.
      * @param numOfThings a number of things to initialize this creator
      */
     public EnvironmentCreator(int numOfThings){
+        this(numOfThings, null);
+    }
+
+    /**
+     * Initializes this creator with the given number of things and the given salience of things.
+     * @param numOfThings a number of things to initialize this creator
+     * @param salience weights of sampling things in created environments; {@code null} for uniform sampling
+     */
+    public EnvironmentCreator(int numOfThings, double[] salience){
         this.numOfThings = numOfThings;
+        this.salience = salience;
     }
 
     /**
@@ -29,7 +43,7 @@ public class EnvironmentCreator {
         for(int i=0;i<numOfThings;i++){
             things.add(new Thing(i));
         }
-        return new Environment(things);
+        return new Environment(things, new WordRegistry(), salience);
     }
 
 }
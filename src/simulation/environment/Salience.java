@@ -0,0 +1,98 @@
+package simulation.environment;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A utility class providing salience distributions of things, i.e. weights defining how often things are topics of interactions.
+ * <p>
+ * Salience can be given with a textual specification parsed by the {@code parse} method:
+ * <ul>
+ *     <li>{@code "uniform"} - each thing is equally probable</li>
+ *     <li>{@code "zipf:s"} - the thing of id {@code i} has weight {@code 1/(i+1)^s}</li>
+ *     <li>any other value is treated as a path to a text file with one non-negative weight per thing, separated by whitespace</li>
+ * </ul>
+ * @see Environment
+ * @see EnvironmentCreator
+ */
+public final class Salience {
+
+    private Salience() {
+    }
+
+    /**
+     * Returns the uniform probability distribution over the given number of things.
+     * @param numOfThings the number of things
+     * @return an array of {@code numOfThings} probabilities equal to {@code 1.0/numOfThings}
+     */
+    public static double[] uniform(int numOfThings) {
+        double[] salience = new double[numOfThings];
+        for(int i = 0; i < numOfThings; i++)
+            salience[i] = 1.0 / numOfThings;
+        return salience;
+    }
+
+    /**
+     * Returns the Zipf probability distribution with the given exponent over the given number of things.
+     * @param numOfThings the number of things
+     * @param exponent the exponent of the distribution
+     * @return an array of probabilities such that the thing of id {@code i} has probability proportional to {@code 1/(i+1)^exponent}
+     */
+    public static double[] zipf(int numOfThings, double exponent) {
+        double[] salience = new double[numOfThings];
+        for(int i = 0; i < numOfThings; i++)
+            salience[i] = 1.0 / Math.pow(i + 1, exponent);
+        return normalize(salience);
+    }
+
+    /**
+     * Returns the probability distribution read from the given text file with one non-negative weight per thing.
+     * @param path the path of the file
+     * @param numOfThings the expected number of weights in the file
+     * @return the weights read from the file normalized to probabilities
+     * @throws IOException an exception of input-output operations on the file from the given path
+     */
+    public static double[] fromFile(String path, int numOfThings) throws IOException {
+        List<Double> weights = new ArrayList<>();
+        for(String line: Files.readAllLines(Paths.get(path)))
+            for(String token: line.trim().split("\\s+"))
+                if(!token.isEmpty())
+                    weights.add(Double.parseDouble(token));
+        if(weights.size() != numOfThings)
+            throw new IllegalArgumentException("File " + path + " contains " + weights.size() + " weights, but there are " + numOfThings + " objects.");
+        double[] salience = new double[numOfThings];
+        for(int i = 0; i < numOfThings; i++)
+            salience[i] = weights.get(i);
+        return normalize(salience);
+    }
+
+    /**
+     * Returns the salience defined by the given specification, or {@code null} for uniform salience.
+     * @param specification {@code "uniform"}, {@code "zipf:s"} or a path to a file with weights
+     * @param numOfThings the number of things
+     * @return the probability distribution defined by the given specification; {@code null} for uniform salience
+     * @throws IOException an exception of input-output operations on the file with weights
+     */
+    public static double[] parse(String specification, int numOfThings) throws IOException {
+        if(specification == null || specification.equals("uniform")) return null;
+        if(specification.startsWith("zipf:")) return zipf(numOfThings, Double.parseDouble(specification.substring("zipf:".length())));
+        return fromFile(specification, numOfThings);
+    }
+
+    /**
+     * Returns a copy of the given weights divided by their sum.
+     * @param weights non-negative weights
+     * @return a copy of the given weights divided by their sum
+     */
+    public static double[] normalize(double[] weights) {
+        double sum = 0;
+        for(double weight: weights) sum += weight;
+        double[] normalized = new double[weights.length];
+        for(int i = 0; i < weights.length; i++)
+            normalized[i] = weights[i] / sum;
+        return normalized;
+    }
+}
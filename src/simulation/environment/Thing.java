@@ -6,6 +6,8 @@ import lombok.ToString;
 /**
  * A class representing things in environments in which agents are situated in computer models of language evolution.
  * In this implementation, things are identified and distinguished only with integer IDs.
+ * An {@code Environment} holds canonical things indexed by their IDs, so that structures keyed by things can be indexed arrays.
+ * @see Environment
  */
 @EqualsAndHashCode @ToString
 public class Thing implements Comparable<Thing>{
@@ -0,0 +1,56 @@
+package simulation.experiment;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import simulation.simulation.HistoryFormat;
+import simulation.simulation.SimulationConductor;
+
+/**
+ * A class of experiments run by an {@code ExperimentRunner}: a number of simulations conducted by a conductor, whose results are saved in a results file.
+ * @see ExperimentRunner
+ */
+@EqualsAndHashCode @ToString
+public class Experiment {
+
+    private final SimulationConductor conductor;
+    private final int simulations;
+    private final int stopIteration;
+    private final String path;
+    private final HistoryFormat historyFormat;
+
+    /**
+     * Initializes this experiment.
+     * @param conductor the conductor of the simulations of this experiment, to which their results are merged
+     * @param simulations the number of simulations to be conducted
+     * @param stopIteration the maximal number of iterations of each simulation
+     * @param path the path of the results file of this experiment
+     * @param historyFormat the format of histories in the results file
+     */
+    public Experiment(SimulationConductor conductor, int simulations, int stopIteration, String path, HistoryFormat historyFormat) {
+        this.conductor = conductor;
+        this.simulations = simulations;
+        this.stopIteration = stopIteration;
+        this.path = path;
+        this.historyFormat = historyFormat;
+    }
+
+    public SimulationConductor getConductor() {
+        return this.conductor;
+    }
+
+    public int getSimulations() {
+        return this.simulations;
+    }
+
+    public int getStopIteration() {
+        return this.stopIteration;
+    }
+
+    public String getPath() {
+        return this.path;
+    }
+
+    public HistoryFormat getHistoryFormat() {
+        return this.historyFormat;
+    }
+}
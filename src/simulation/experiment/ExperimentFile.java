@@ -0,0 +1,108 @@
+package simulation.experiment;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A final class for reading JSON files of experiments, each of which is given as the command-line arguments of a single run of the program.
+ * <p>
+ * A file of experiments is an object with an array {@code "experiments"} of objects and an optional object {@code "defaults"}.
+ * Fields of these objects are short or long options with or without leading dashes, e.g. {@code "var"} or {@code "-var"}, and their values are
+ * strings, numbers, or arrays of them, which are joined with commas, e.g. {@code "Nl": [10, 6]}.
+ * The options of an experiment are its own options together with the defaults it does not override. For example:
+ * <pre>
+ * {
+ *     "defaults": {"n": 4, "s": 100, "var": "ts"},
+ *     "experiments": [
+ *         {"v": 1, "p": "results-v1.json"},
+ *         {"v": 2, "p": "results-v2.json"}
+ *     ]
+ * }
+ * </pre>
+ * @see ExperimentRunner
+ */
+public final class ExperimentFile {
+
+    private ExperimentFile() {
+    }
+
+    /**
+     * Reads the file of experiments from the given path.
+     * @param path the path of a file of experiments
+     * @return the command-line arguments of consecutive experiments of the file
+     * @throws IOException an exception of reading the file, or if it is not a file of experiments
+     */
+    public static List<String[]> read(String path) throws IOException {
+        JsonNode root = new ObjectMapper().readTree(new File(path));
+        if(root == null || !root.isObject() || !root.path("experiments").isArray())
+            throw new IOException(path + " is not a file of experiments: an object with an array \"experiments\" is expected.");
+        JsonNode defaults = root.path("defaults");
+        if(!defaults.isMissingNode() && !defaults.isObject())
+            throw new IOException(path + " is not a file of experiments: \"defaults\" must be an object.");
+
+        List<String[]> experiments = new ArrayList<>();
+        for(JsonNode experiment: root.get("experiments")) {
+            if(!experiment.isObject())
+                throw new IOException(path + " is not a file of experiments: each experiment must be an object.");
+            experiments.add(args(defaults, experiment, path));
+        }
+        return experiments;
+    }
+
+    /**
+     * Returns the command-line arguments of the given object of options, written as an experiment of a file of experiments.
+     * @param options an object of options
+     * @return the command-line arguments of the options
+     * @throws IOException if the object is not a valid object of options
+     */
+    public static String[] args(JsonNode options) throws IOException {
+        if(options == null || !options.isObject())
+            throw new IOException("An object of options is expected.");
+        return args(MissingNode.getInstance(), options, "The object of options");
+    }
+
+    private static String[] args(JsonNode defaults, JsonNode experiment, String source) throws IOException {
+        Map<String, String> options = new LinkedHashMap<>();
+        putOptions(defaults, options, source);
+        putOptions(experiment, options, source);
+        List<String> args = new ArrayList<>();
+        for(Map.Entry<String, String> option: options.entrySet()) {
+            args.add(option.getKey());
+            args.add(option.getValue());
+        }
+        return args.toArray(new String[0]);
+    }
+
+    private static void putOptions(JsonNode node, Map<String, String> options, String path) throws IOException {
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while(fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            options.put("-" + field.getKey().replaceFirst("^-+", ""), value(field.getKey(), field.getValue(), path));
+        }
+    }
+
+    private static String value(String option, JsonNode value, String path) throws IOException {
+        if(value.isValueNode() && !value.isNull())
+            return value.asText();
+        if(!value.isArray())
+            throw new IOException(path + " has an invalid value of the option " + option + ": a string, a number or an array is expected.");
+        StringBuilder list = new StringBuilder();
+        for(JsonNode element: value) {
+            if(!element.isValueNode() || element.isNull())
+                throw new IOException(path + " has an invalid element of the option " + option + ": a string or a number is expected.");
+            if(list.length() > 0)
+                list.append(',');
+            list.append(element.asText());
+        }
+        return list.toString();
+    }
+}
@@ -0,0 +1,139 @@
+package simulation.experiment;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import simulation.simulation.SimulationConductor;
+import simulation.simulation.SimulationConductorSerializer;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A class running many experiments in one process on a shared pool of threads, so that the process start-up and the warm-up of the code
+ * are paid once for all experiments rather than once per experiment.
+ * <p>
+ * Simulations of each experiment are split into batches, which are queued experiment after experiment and conducted by the threads of the pool
+ * with fresh conductors of the pattern simulation of the experiment, which conduct the replicas of their batches if the experiment is seeded.
+ * Results of batches are merged to the conductor of the experiment in the order of batches, so that they do not depend on the number of threads,
+ * and the results file of an experiment is saved as soon as its last batch is merged.
+ * A failure of an experiment is reported to the standard error stream, and its remaining batches are skipped, without stopping other experiments.
+ * @see Experiment
+ * @see ExperimentFile
+ */
+@EqualsAndHashCode @ToString
+public class ExperimentRunner {
+
+    private final int threads;
+    private final int batchSize;
+
+    /**
+     * Initializes this runner.
+     * @param threads the number of threads of the pool conducting simulations
+     * @param batchSize the number of simulations of an experiment conducted by a thread at once
+     */
+    public ExperimentRunner(int threads, int batchSize) {
+        if(threads < 1 || batchSize < 1)
+            throw new IllegalArgumentException("The numbers of threads and of simulations of a batch must be positive.");
+        this.threads = threads;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Runs the given experiments and saves their results files.
+     * @param experiments experiments to be run
+     * @return the number of experiments which failed
+     * @throws InterruptedException if the current thread was interrupted while waiting for the experiments
+     */
+    public int run(List<Experiment> experiments) throws InterruptedException {
+        AtomicInteger thread = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> new Thread(runnable, "experiment-" + thread.getAndIncrement()));
+        Progress[] progresses = new Progress[experiments.size()];
+        try {
+            for(int e = 0; e < progresses.length; e++) {
+                Experiment experiment = experiments.get(e);
+                int batches = Math.max(1, (experiment.getSimulations() + batchSize - 1) / batchSize);
+                Progress progress = progresses[e] = new Progress(experiment, batches);
+                long firstReplica = experiment.getConductor().getNextReplica();
+                for(int b = 0; b < batches; b++) {
+                    int batch = b;
+                    int share = experiment.getSimulations() / batches + (b < experiment.getSimulations() % batches ? 1 : 0);
+                    long replica = firstReplica;
+                    pool.execute(() -> progress.conduct(batch, replica, share));
+                    firstReplica += share;
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        int failed = 0;
+        for(Progress progress: progresses)
+            if(progress.failed)
+                failed++;
+        return failed;
+    }
+
+    /**
+     * The progress of an experiment: results of batches waiting to be merged in order, and the index of the next batch to be merged.
+     */
+    private static class Progress {
+
+        private final Experiment experiment;
+        private final SimulationConductor[] results;
+        private int merged = 0;
+        private volatile boolean failed = false;
+
+        private Progress(Experiment experiment, int batches) {
+            this.experiment = experiment;
+            this.results = new SimulationConductor[batches];
+        }
+
+        private void conduct(int batch, long firstReplica, int times) {
+            if(failed)
+                return;
+            try {
+                SimulationConductor pattern = experiment.getConductor();
+                SimulationConductor conductor = new SimulationConductor(pattern.getPatternSimulation(), pattern.getTerminationCriterion());
+                conductor.setSnapshots(pattern.getSnapshots());
+                conductor.setSeed(pattern.getSeed(), firstReplica);
+                conductor.conduct(times, experiment.getStopIteration());
+                if(complete(batch, conductor))
+                    SimulationConductorSerializer.writeToFile(pattern, experiment.getPath(), experiment.getHistoryFormat());
+            } catch (IOException | RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        /**
+         * Merges the results of consecutive completed batches to the conductor of the experiment and returns {@code true} if all batches have been merged.
+         */
+        private synchronized boolean complete(int batch, SimulationConductor conductor) {
+            results[batch] = conductor;
+            while(merged < results.length && results[merged] != null) {
+                experiment.getConductor().merge(results[merged]);
+                results[merged++] = null;
+            }
+            return merged == results.length && !failed;
+        }
+
+        private synchronized void fail(Exception e) {
+            if(failed)
+                return;
+            failed = true;
+            System.err.println("The experiment saving results to " + experiment.getPath() + " failed:");
+            e.printStackTrace();
+        }
+    }
+
+    public int getThreads() {
+        return this.threads;
+    }
+
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+}
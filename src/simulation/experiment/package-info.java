@@ -0,0 +1,5 @@
+/**
+ * classes for running many experiments of agent-based models of language competition in one process
+ */
+
+package simulation.experiment;
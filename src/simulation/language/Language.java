@@ -1,5 +1,7 @@
 package simulation.language;
 
+import java.util.Arrays;
+
 /**
  * An interface providing methods for different kinds of language classes which can be used in computer models of language competition.
  * @see ModuloLanguage
@@ -21,4 +23,65 @@ public interface Language {
      */
     Word generateWord();
 
+    /**
+     * Returns the index of this language among the languages sharing its word registry.
+     * The bit {@code 1L << getIndex()} represents this language in masks of words (see {@code Word.getLanguageMask}),
+     * and arrays of per-language statistics are indexed with it.
+     * @return the index of this language among the languages sharing its word registry
+     */
+    int getIndex();
+
+    /**
+     * Returns the bitmask of the given languages, i.e. the bitwise alternative of {@code 1L << language.getIndex()} over them.
+     * @param languages a collection of languages sharing a word registry
+     * @return the bitmask of the given languages
+     * @throws IllegalArgumentException if any languages share an index
+     */
+    static long mask(Iterable<? extends Language> languages) {
+        long mask = 0;
+        for(Language language: languages) {
+            long bit = 1L << language.getIndex();
+            if((mask & bit) != 0)
+                throw new IllegalArgumentException("Languages share the index " + language.getIndex() + ", so they are not registered in one word registry.");
+            mask |= bit;
+        }
+        return mask;
+    }
+
+    /**
+     * Returns the bitmask of the given languages, i.e. the bitwise alternative of {@code 1L << language.getIndex()} over them.
+     * @param languages an array of languages sharing a word registry
+     * @return the bitmask of the given languages
+     * @throws IllegalArgumentException if any languages share an index
+     */
+    static long mask(Language[] languages) {
+        long mask = 0;
+        for(Language language: languages) {
+            long bit = 1L << language.getIndex();
+            if((mask & bit) != 0)
+                throw new IllegalArgumentException("Languages share the index " + language.getIndex() + ", so they are not registered in one word registry.");
+            mask |= bit;
+        }
+        return mask;
+    }
+
+
+    /**
+     * Returns an array mapping indices of languages to their positions in the given array, so that statistics of words can be
+     * accumulated in arrays parallel to the given array by iterating over bits of their masks. Indices of languages absent from the given array are mapped to {@code -1}.
+     * @param languages an array of languages sharing a word registry
+     * @return an array of length {@code WordRegistry.MAX_LANGUAGES} mapping indices of languages to their positions in the given array
+     * @throws IllegalArgumentException if any languages share an index
+     */
+    static int[] positions(Language[] languages) {
+        int[] positions = new int[WordRegistry.MAX_LANGUAGES];
+        Arrays.fill(positions, -1);
+        for(int i = 0; i < languages.length; i++) {
+            if(positions[languages[i].getIndex()] >= 0)
+                throw new IllegalArgumentException("Languages share the index " + languages[i].getIndex() + ", so they are not registered in one word registry.");
+            positions[languages[i].getIndex()] = i;
+        }
+        return positions;
+    }
+
 }
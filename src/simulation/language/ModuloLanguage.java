@@ -2,8 +2,7 @@ package simulation.language;
 
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
-
-import java.util.Random;
+import util.Randoms;
 
 /**
  * A class of languages based on modulo congruence relation.
@@ -12,21 +11,28 @@ import java.util.Random;
  * @see simulation.simulation.creator.ELCPaperSimulationCreator
  * @see Language
  */
-@EqualsAndHashCode @ToString
+@EqualsAndHashCode(exclude = "registry") @ToString(exclude = "registry")
 public class ModuloLanguage implements Language, Comparable<ModuloLanguage> {
 
     private final int congruency;
     private final int modulus;
+    private final WordRegistry registry;
+    private final int index;
 
     /**
      * Initializes this language with the given {@code modulus} and {@code congruency} parameters.
      * A word belongs to this language if its id is congruent modulo {@code modulus} to {@code congruency}.
+     * Words generated by this language are interned in the given registry, which can be shared with other languages.
+     * This language is registered in the registry and given the next free index.
      * @param modulus the initial {@code modulus} parameter for this language
      * @param congruency the initial {@code congruency} parameter for this language
+     * @param registry the registry in which words generated by this language are interned
      */
-    public ModuloLanguage(int modulus, int congruency){
+    public ModuloLanguage(int modulus, int congruency, WordRegistry registry){
         this.modulus = modulus;
         this.congruency = congruency % modulus;
+        this.registry = registry;
+        this.index = registry.register(this);
     }
 
     /**
@@ -41,11 +47,12 @@ public class ModuloLanguage implements Language, Comparable<ModuloLanguage> {
 
     /**
      * Returns a random word with id congruent to {@code congruency} modulo {@code modulus}.
+     * The returned word is the canonical word with this id in this language's registry.
      * @return a random word with id congruent to {@code congruency} modulo {@code modulus}.
      */
     @Override
     public Word generateWord() {
-        return new Word(new Random().nextInt(Integer.MAX_VALUE/(modulus + 1))* modulus + congruency);
+        return registry.intern(Randoms.auxiliary().nextInt(Integer.MAX_VALUE/(modulus + 1))* modulus + congruency);
     }
 
     /**
@@ -69,4 +76,9 @@ public class ModuloLanguage implements Language, Comparable<ModuloLanguage> {
     public int getModulus() {
         return this.modulus;
     }
+
+    @Override
+    public int getIndex() {
+        return this.index;
+    }
 }
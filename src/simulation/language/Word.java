@@ -9,17 +9,24 @@ import java.util.HashSet;
 /**
  * A class representing words in computer models of language evolution.
  * In this implementation, words are identified and distinguished only with integer IDs.
+ * Words generated by languages are canonical instances obtained from a {@code WordRegistry}, so within a simulation
+ * equal words are also identical.
+ * <p>
+ * The registry also caches the set of its languages which contain a word as a bitmask (see {@code getLanguageMask}),
+ * so that the languages of a word can be found without querying each language.
+ * @see WordRegistry
  */
-@EqualsAndHashCode @ToString
+@EqualsAndHashCode(exclude = "languageMask") @ToString
 public class Word implements Comparable<Word>{
 
     private final int id;
+    private long languageMask;
 
     /**
-     * Initializes this word with the given id.
+     * Initializes this word with the given id. Words are created only by a {@code WordRegistry}, which sets their masks of languages.
      * @param id an initial id for this word
      */
-    public Word(int id){
+    Word(int id){
         this.id = id;
     }
 
@@ -50,4 +57,17 @@ public class Word implements Comparable<Word>{
     public int getId() {
         return this.id;
     }
+
+    /**
+     * Returns the bitmask of languages containing this word, in which the bit {@code 1L << language.getIndex()} is set
+     * for each language registered in the registry of this word and containing it.
+     * @return the bitmask of languages containing this word
+     */
+    public long getLanguageMask() {
+        return this.languageMask;
+    }
+
+    void setLanguageMask(long languageMask) {
+        this.languageMask = languageMask;
+    }
 }
@@ -0,0 +1,121 @@
+package simulation.language;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A registry of canonical {@code Word} objects.
+ * <p>
+ * Each id is mapped to exactly one {@code Word} object, so that words obtained from the same registry
+ * are equal if and only if they are identical. Languages sharing a registry generate words through it,
+ * and therefore comparisons of words in lexicons of a simulation reduce to comparisons of references.
+ * <p>
+ * Languages sharing a registry are registered in it and given consecutive indices. Each word of the registry caches
+ * the bitmask of registered languages which contain it, so at most {@code MAX_LANGUAGES} languages can share a registry.
+ * <p>
+ * Words are kept in an open-addressing hash table with linear probing on their ids, so that interning a word does not box its id.
+ * @see Word
+ * @see ModuloLanguage
+ * @see simulation.environment.Environment
+ */
+public class WordRegistry {
+
+    /**
+     * The maximal number of languages which can be registered in a registry
+     */
+    public static final int MAX_LANGUAGES = Long.SIZE;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Word[] words;
+    private int size;
+    private List<Language> languages;
+
+    /**
+     * Initializes an empty registry.
+     */
+    public WordRegistry() {
+        this.words = new Word[INITIAL_CAPACITY];
+        this.size = 0;
+        this.languages = new ArrayList<>();
+    }
+
+    /**
+     * Registers the given language in this registry and returns its index. Masks of all words of this registry are updated with the new language.
+     * @param language a language to be registered
+     * @return the index of the registered language
+     * @throws IllegalStateException if {@code MAX_LANGUAGES} languages are already registered
+     */
+    public int register(Language language) {
+        if(languages.size() == MAX_LANGUAGES)
+            throw new IllegalStateException("At most " + MAX_LANGUAGES + " languages can share a word registry.");
+        int index = languages.size();
+        languages.add(language);
+        for(Word word: words)
+            if(word != null && language.contains(word))
+                word.setLanguageMask(word.getLanguageMask() | (1L << index));
+        return index;
+    }
+
+    /**
+     * Returns the canonical word with the given id. If this registry does not contain such a word yet, it is created and registered.
+     * @param id the id of the word to be returned
+     * @return the canonical word with the given id
+     */
+    public Word intern(int id) {
+        int i = indexOf(id);
+        Word word = words[i];
+        if(word == null) {
+            if(2 * (size + 1) > words.length) {
+                grow();
+                i = indexOf(id);
+            }
+            word = new Word(id);
+            long mask = 0;
+            for(int l = 0; l < languages.size(); l++)
+                if(languages.get(l).contains(word))
+                    mask |= 1L << l;
+            word.setLanguageMask(mask);
+            words[i] = word;
+            size++;
+        }
+        return word;
+    }
+
+    private int indexOf(int id) {
+        int mask = words.length - 1;
+        int i = mix(id) & mask;
+        while(words[i] != null && words[i].getId() != id)
+            i = (i + 1) & mask;
+        return i;
+    }
+
+    private static int mix(int hash) {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private void grow() {
+        Word[] oldWords = words;
+        words = new Word[2 * oldWords.length];
+        for(Word word: oldWords)
+            if(word != null)
+                words[indexOf(word.getId())] = word;
+    }
+
+    /**
+     * Returns the number of words registered in this registry.
+     * @return the number of words registered in this registry
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of languages registered in this registry.
+     * @return the number of languages registered in this registry
+     */
+    public int getNumOfLanguages() {
+        return languages.size();
+    }
+}
@@ -4,6 +4,7 @@ import simulation.environment.Thing;
 import simulation.language.Language;
 import simulation.language.Word;
 
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Map;
 
@@ -36,6 +37,18 @@ public interface Lexicon {
      */
     Collection<Thing> things();
 
+    /**
+     * Returns a random thing associated with any word in this lexicon, or {@code null} if this lexicon is empty.
+     * @return a random thing associated with any word in this lexicon; {@code null} if this lexicon is empty
+     */
+    Thing randomThing();
+
+    /**
+     * Returns the number of things associated with any word in this lexicon.
+     * @return the number of things associated with any word in this lexicon
+     */
+    int size();
+
     /**
      * Returns the dominating word denoting the given thing in this lexicon.
      * @param thing a thing for which a word should be returned
@@ -67,6 +80,14 @@ public interface Lexicon {
      */
     Map<Language, Integer> countDominatingWords(Collection<Language> languages);
 
+    /**
+     * Returns an array of numbers of dominating words in this lexicon belonging to each of the given languages.
+     * Languages of words are found with their masks, so the given languages must share the word registry of the words of this lexicon.
+     * @param languages an array of languages
+     * @return an array such that its {@code i}-th element is the number of dominating words in this lexicon belonging to {@code languages[i]}
+     */
+    int[] countDominatingWords(Language[] languages);
+
     /**
      * Returns a map from the given collection of languages to collections of things such that each language
      * is mapped to the collection of things recognized with the words belonging to it in this lexicon
@@ -76,10 +97,27 @@ public interface Lexicon {
      */
     Map<Language, Collection<Thing>> recognizedThings(Collection<Language> languages);
 
+    /**
+     * For each of the given languages, sets the bits of ids of things recognized with words belonging to this language in this lexicon
+     * in the bit set at the position of the language.
+     * Languages of words are found with their masks, so the given languages must share the word registry of the words of this lexicon.
+     * @param languages an array of languages
+     * @param recognized an array of bit sets parallel to the array of languages
+     */
+    void markRecognizedThings(Language[] languages, BitSet[] recognized);
+
     /**
      * Returns {@code true} if each thing contained in this lexicon is associated with only one word.
      * More formally, it returns {@code true} if this lexicon can be described as an injective function from the space of contained things to the space of words.
      * @return {@code true} if each thing contained in this lexicon is associated with only one word; {@code false} otherwise.
      */
     boolean oneToOne();
+
+    /**
+     * Returns {@code true} if the given thing is not contained in this lexicon or is associated with only one word.
+     * A lexicon is one-to-one if and only if this method returns {@code true} for each thing.
+     * @param thing a thing to be checked
+     * @return {@code true} if the given thing is not contained in this lexicon or is associated with only one word; {@code false} otherwise.
+     */
+    boolean oneToOne(Thing thing);
 }
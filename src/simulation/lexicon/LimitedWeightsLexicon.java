@@ -5,16 +5,22 @@ import lombok.ToString;
 import simulation.environment.Thing;
 import simulation.language.Language;
 import simulation.language.Word;
+import util.Randoms;
 import util.WeightPriorityQueue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 
 /**
  * A class of weighted lexicons in which association between things and words are weighted with values belonging to
  * a closed and bounded interval of real numbers.
+ * Words associated with a thing are kept in a queue stored in an array at the index equal to the thing's id.
+ * Recognized things are additionally kept in a dense array, so that a random recognized thing can be sampled in constant time.
  * @see simulation.agent.SuccessCountingAgent
  * @see simulation.lexicon.creator.LimitedWeightsLexiconCreator
  * @see WeightedLexicon
@@ -23,7 +29,10 @@ import java.util.Map;
 @EqualsAndHashCode @ToString
 public class LimitedWeightsLexicon implements WeightedLexicon{
 
-    private Map<Thing, WeightPriorityQueue<Word>> thingWordQueueMap;
+    private WeightPriorityQueue<Word>[] thingWordQueues;
+    private int[] positions;
+    private Thing[] things;
+    private int numOfThings;
     private double minWeight;
     private double maxWeight;
 
@@ -34,15 +43,64 @@ public class LimitedWeightsLexicon implements WeightedLexicon{
      * @param maxWeight the upper bound of weights in this lexicon
      */
     public LimitedWeightsLexicon(double minWeight, double maxWeight){
+        this(minWeight, maxWeight, 0);
+    }
+
+    /**
+     * Initializes this lexicon with the given bounds of weights of associations and room for things with ids lower than {@code numOfThings}.
+     * The lexicon grows if a thing with a greater id is added.
+     * All assocations in this lexicon are weighted with the values belonging to the interval {@code [minWeight, maxWeight]}.
+     * @param minWeight the lower bound of weights in this lexicon
+     * @param maxWeight the upper bound of weights in this lexicon
+     * @param numOfThings the number of things for which this lexicon initially reserves room
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public LimitedWeightsLexicon(double minWeight, double maxWeight, int numOfThings){
         this.minWeight = minWeight;
         this.maxWeight = maxWeight;
-        this.thingWordQueueMap = new HashMap<>();
+        this.thingWordQueues = new WeightPriorityQueue[numOfThings];
+        this.positions = new int[numOfThings];
+        Arrays.fill(this.positions, -1);
+        this.things = new Thing[numOfThings];
+        this.numOfThings = 0;
     }
 
     private double limitWeight(double weight){
         return Math.min(weight, maxWeight);
     }
 
+    private WeightPriorityQueue<Word> queue(Thing thing){
+        return thing.getId() < thingWordQueues.length ? thingWordQueues[thing.getId()] : null;
+    }
+
+    private void ensureCapacity(int numOfThings){
+        if(numOfThings > thingWordQueues.length) {
+            int oldCapacity = thingWordQueues.length;
+            int capacity = Math.max(numOfThings, 2 * oldCapacity);
+            thingWordQueues = Arrays.copyOf(thingWordQueues, capacity);
+            positions = Arrays.copyOf(positions, capacity);
+            Arrays.fill(positions, oldCapacity, capacity, -1);
+            things = Arrays.copyOf(things, capacity);
+        }
+    }
+
+    private void addThing(Thing thing, WeightPriorityQueue<Word> queue){
+        ensureCapacity(thing.getId() + 1);
+        thingWordQueues[thing.getId()] = queue;
+        positions[thing.getId()] = numOfThings;
+        things[numOfThings++] = thing;
+    }
+
+    private void removeThing(Thing thing){
+        int position = positions[thing.getId()];
+        Thing last = things[--numOfThings];
+        things[position] = last;
+        positions[last.getId()] = position;
+        things[numOfThings] = null;
+        positions[thing.getId()] = -1;
+        thingWordQueues[thing.getId()] = null;
+    }
+
     /**
      * Adds the association between the given thing and the given word weighted with {@code maxWeight}.
      * @param thing a thing to be added in association with the given word to this lexicon
@@ -63,12 +121,13 @@ public class LimitedWeightsLexicon implements WeightedLexicon{
     @Override
     public void add(Thing thing, Word word, double weight) {
         if (weight > minWeight) {
-            if (thingWordQueueMap.containsKey(thing)) {
-                thingWordQueueMap.get(thing).add(word, limitWeight(weight));
+            WeightPriorityQueue<Word> queue = queue(thing);
+            if (queue != null) {
+                queue.add(word, limitWeight(weight));
             } else {
-                WeightPriorityQueue<Word> queue = new WeightPriorityQueue<>();
+                queue = new WeightPriorityQueue<>();
                 queue.add(word, limitWeight(weight));
-                thingWordQueueMap.put(thing, queue);
+                addThing(thing, queue);
             }
         }
     }
@@ -81,22 +140,27 @@ public class LimitedWeightsLexicon implements WeightedLexicon{
      */
     @Override
     public void increaseWeight(Thing thing, Word word, double by) {
-        thingWordQueueMap.get(thing).changeWeight(word, limitWeight(weight(thing, word) + by));
+        queue(thing).changeWeight(word, limitWeight(weight(thing, word) + by));
     }
 
     /**
      * Decreases the weight of all associations of the given thing except for the association with the given word by the value of {@code by}.
      * If the weight of any association reduces to {@code minWeight}, then this association is removed from this lexicon,
      * unless it was the last association of the given thing. If so, it is left with the weight of {@code minWeight + 0.1}.
+     * <p>
+     * If the given thing is associated with the given word, no other association can become the last one, so all weights are
+     * decreased and all associations reduced to {@code minWeight} are removed in a single pass over the thing's queue.
      * @param thing a thing of which associations should be included by this method
      * @param word a word from the association of which the weight should not be decreased
      * @param by value to decrease the weights of all associations of the given thing except for the association with the given word
      */
     @Override
     public void decreaseOtherWeights(Thing thing, Word word, double by) {
-        WeightPriorityQueue<Word> queue = thingWordQueueMap.get(thing);
-        for(Word w: queue.values())
-            if(!w.equals(word))
+        WeightPriorityQueue<Word> queue = queue(thing);
+        if(queue.contains(word))
+            queue.decreaseAllExcept(word, by, minWeight);
+        else
+            for(Word w: queue.values())
                 decreaseWeight(thing, w, by);
     }
 
@@ -110,80 +174,144 @@ public class LimitedWeightsLexicon implements WeightedLexicon{
      */
     @Override
     public void decreaseWeight(Thing thing, Word word, double by) {
-        WeightPriorityQueue<Word> queue = thingWordQueueMap.get(thing);
-        queue.changeWeight(word, weight(thing, word) - by);
-        if(weight(thing, word) <= minWeight && queue.size() == 1)
+        WeightPriorityQueue<Word> queue = queue(thing);
+        double weight = queue.weight(word) - by;
+        queue.changeWeight(word, weight);
+        if(weight <= minWeight && queue.size() == 1)
             queue.changeWeight(word, minWeight+0.1);
-        else if(weight(thing, word) <= minWeight)
+        else if(weight <= minWeight) {
             queue.remove(word);
+            if(queue.isEmpty())
+                removeThing(thing);
+        }
+    }
+
+    /**
+     * Removes all associations from this lexicon.
+     */
+    public void clear() {
+        Arrays.fill(thingWordQueues, null);
+        Arrays.fill(positions, -1);
+        Arrays.fill(things, null);
+        numOfThings = 0;
     }
 
     @Override
     public Collection<Word> words(Thing thing) {
-        return thingWordQueueMap.get(thing).values();
+        return queue(thing).values();
     }
 
     @Override
     public Collection<Thing> things() {
-        return thingWordQueueMap.keySet();
+        return Collections.unmodifiableList(Arrays.asList(things).subList(0, numOfThings));
+    }
+
+    /**
+     * Returns a random thing associated with any word in this lexicon, or {@code null} if this lexicon is empty.
+     * Things are kept in a dense array, so this method takes constant time.
+     * @return a random thing associated with any word in this lexicon; {@code null} if this lexicon is empty
+     */
+    @Override
+    public Thing randomThing() {
+        if(numOfThings == 0) return null;
+        return things[Randoms.auxiliary().nextInt(numOfThings)];
+    }
+
+    @Override
+    public int size() {
+        return numOfThings;
     }
 
     @Override
     public Word signal(Thing thing) {
-        if(contains(thing)) return thingWordQueueMap.get(thing).peek();
+        WeightPriorityQueue<Word> queue = queue(thing);
+        if(queue != null) return queue.peek();
         return null;
     }
 
     @Override
     public boolean contains(Thing thing) {
-        return thingWordQueueMap.containsKey(thing);
+        return queue(thing) != null;
     }
 
     @Override
     public boolean contains(Thing thing, Word word) {
-        return thingWordQueueMap.get(thing).contains(word);
+        return queue(thing).contains(word);
     }
 
     @Override
     public Map<Language, Double> countWeightSums(Collection<Language> languages){
+        Language[] array = languages.toArray(new Language[0]);
+        double[] sums = countWeightSums(array);
         Map<Language, Double> weights = new HashMap<>();
-        for(Language language: languages)
-            weights.put(language, 0.0);
-
-        for(WeightPriorityQueue<Word> queue: thingWordQueueMap.values())
-            for(Word word: queue)
-                for(Language language: word.languages(languages))
-                    weights.replace(language, weights.get(language) + queue.weight(word));
-
+        for(int i = 0; i < array.length; i++)
+            weights.put(array[i], sums[i]);
         return weights;
     }
 
+    @Override
+    public double[] countWeightSums(Language[] languages){
+        long mask = Language.mask(languages);
+        int[] positions = Language.positions(languages);
+        double[] sums = new double[languages.length];
+        for(WeightPriorityQueue<Word> queue: thingWordQueues)
+            if(queue != null)
+                queue.forEachWithWeight((word, weight) -> {
+                    for(long m = word.getLanguageMask() & mask; m != 0; m &= m - 1)
+                        sums[positions[Long.numberOfTrailingZeros(m)]] += weight;
+                });
+        return sums;
+    }
+
     @Override
     public Map<Language, Integer> countDominatingWords(Collection<Language> languages){
+        Language[] array = languages.toArray(new Language[0]);
+        int[] counts = countDominatingWords(array);
         Map<Language, Integer> dominatingWords = new HashMap<>();
-        for(Language language: languages)
-            dominatingWords.put(language, 0);
+        for(int i = 0; i < array.length; i++)
+            dominatingWords.put(array[i], counts[i]);
+        return dominatingWords;
+    }
 
-        for(WeightPriorityQueue<Word> queue: thingWordQueueMap.values()){
-            for(Language language: queue.peek().languages(languages))
-                dominatingWords.replace(language, dominatingWords.get(language)+1);
-        }
+    @Override
+    public int[] countDominatingWords(Language[] languages){
+        long mask = Language.mask(languages);
+        int[] positions = Language.positions(languages);
+        int[] counts = new int[languages.length];
+        for(WeightPriorityQueue<Word> queue: thingWordQueues)
+            if(queue != null)
+                for(long m = queue.peek().getLanguageMask() & mask; m != 0; m &= m - 1)
+                    counts[positions[Long.numberOfTrailingZeros(m)]]++;
+        return counts;
+    }
 
-        return dominatingWords;
+    @Override
+    public void markRecognizedThings(Language[] languages, BitSet[] recognized){
+        long mask = Language.mask(languages);
+        int[] positions = Language.positions(languages);
+        for(int i = 0; i < numOfThings; i++) {
+            long thingMask = 0;
+            for(Word word: thingWordQueues[things[i].getId()])
+                thingMask |= word.getLanguageMask();
+            for(long m = thingMask & mask; m != 0; m &= m - 1)
+                recognized[positions[Long.numberOfTrailingZeros(m)]].set(things[i].getId());
+        }
     }
 
     @Override
     public Map<Language, Collection<Thing>> recognizedThings(Collection<Language> languages){
         Map<Language, Collection<Thing>> recognizedThings = new HashMap<>();
 
-        for(Language language: languages)
-            recognizedThings.put(language, new HashSet<>());
-
-        for(Thing thing: things()){
-            for(Word word: thingWordQueueMap.get(thing))
-                for(Language language: languages)
-                    if(language.contains(word))
-                        recognizedThings.get(language).add(thing);
+        for(Language language: languages){
+            Collection<Thing> languageThings = new ArrayList<>();
+            for(int i = 0; i < numOfThings; i++) {
+                for(Word word: thingWordQueues[things[i].getId()])
+                    if(language.contains(word)) {
+                        languageThings.add(things[i]);
+                        break;
+                    }
+            }
+            recognizedThings.put(language, languageThings);
         }
 
         return recognizedThings;
@@ -191,19 +319,50 @@ public class LimitedWeightsLexicon implements WeightedLexicon{
 
     @Override
     public boolean oneToOne(){
-        for(Thing thing: thingWordQueueMap.keySet())
-            if (thingWordQueueMap.get(thing).size() != 1 ||
-                    thingWordQueueMap.get(thing).weight(signal(thing)) < maxWeight) return false;
+        for(WeightPriorityQueue<Word> queue: thingWordQueues)
+            if (!oneToOne(queue)) return false;
         return true;
     }
 
+    /**
+     * Returns {@code true} if the given thing is not contained in this lexicon or is associated with only one word of weight {@code maxWeight}.
+     * @param thing a thing to be checked
+     * @return {@code true} if the given thing is not contained in this lexicon or is associated with only one word of weight {@code maxWeight}
+     */
+    @Override
+    public boolean oneToOne(Thing thing){
+        return oneToOne(queue(thing));
+    }
+
+    private boolean oneToOne(WeightPriorityQueue<Word> queue){
+        return queue == null || (queue.size() == 1 && queue.weight(queue.peek()) >= maxWeight);
+    }
+
+    @Override
+    public void countWords(Thing thing, Language[] languages, int[] positions, int[] counts, double[] weightSums){
+        Arrays.fill(counts, 0, languages.length, 0);
+        Arrays.fill(weightSums, 0, languages.length, 0.0);
+        WeightPriorityQueue<Word> queue = queue(thing);
+        if(queue == null) return;
+        for(int i = 0; i < queue.size(); i++) {
+            double weight = queue.weightAt(i);
+            for(long m = queue.valueAt(i).getLanguageMask(); m != 0; m &= m - 1) {
+                int position = positions[Long.numberOfTrailingZeros(m)];
+                if(position >= 0) {
+                    counts[position]++;
+                    weightSums[position] += weight;
+                }
+            }
+        }
+    }
+
     @Override
     public double weight(Thing thing, Word word) {
-        return thingWordQueueMap.get(thing).weight(word);
+        return queue(thing).weight(word);
     }
 
-    public Map<Thing, WeightPriorityQueue<Word>> getThingWordQueueMap() {
-        return this.thingWordQueueMap;
+    public WeightPriorityQueue<Word>[] getThingWordQueues() {
+        return this.thingWordQueues;
     }
 
     public double getMinWeight() {
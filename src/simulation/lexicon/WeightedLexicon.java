@@ -63,4 +63,25 @@ public interface WeightedLexicon extends Lexicon {
      * is mapped to sum of weights of words from this lexicon belonging to this language.
      */
     Map<Language, Double> countWeightSums(Collection<Language> languages);
+
+    /**
+     * Returns an array of sums of weights of words from this lexicon belonging to each of the given languages.
+     * Languages of words are found with their masks, so the given languages must share the word registry of the words of this lexicon.
+     * @param languages an array of languages
+     * @return an array such that its {@code i}-th element is the sum of weights of words from this lexicon belonging to {@code languages[i]}
+     */
+    double[] countWeightSums(Language[] languages);
+
+    /**
+     * Writes, for each language from the given array, the number and the sum of weights of words denoting the given thing and
+     * belonging to this language to the elements of the {@code counts} and {@code weightSums} arrays at the position of the language,
+     * so that statistics of a single thing can be updated without building maps.
+     * Languages of words are found with their masks, so the given languages must share the word registry of the words of this lexicon.
+     * @param thing a thing of which words should be counted
+     * @param languages an array of languages
+     * @param positions an array mapping indices of languages to their positions in the array of languages (see {@code Language.positions})
+     * @param counts an array to be filled with numbers of words denoting the given thing in each language
+     * @param weightSums an array to be filled with sums of weights of words denoting the given thing in each language
+     */
+    void countWords(Thing thing, Language[] languages, int[] positions, int[] counts, double[] weightSums);
 }
@@ -35,7 +35,7 @@ public class LimitedWeightsLexiconCreator implements WeightedLexiconCreator {
 
     @Override
     public WeightedLexicon create(Language language, Environment environment, int numOfAssociations) {
-        WeightedLexicon lexicon = create();
+        WeightedLexicon lexicon = new LimitedWeightsLexicon(minWeight, maxWeight, environment.size());
         int i=0;
         for(Thing thing: environment.getThings()){
             lexicon.add(thing, language.generateWord());
@@ -46,7 +46,7 @@ public class LimitedWeightsLexiconCreator implements WeightedLexiconCreator {
 
     @Override
     public WeightedLexicon create(Language language, Environment environment, int numOfAssociations, double weight) {
-        WeightedLexicon lexicon = create();
+        WeightedLexicon lexicon = new LimitedWeightsLexicon(minWeight, maxWeight, environment.size());
         int i=0;
         for(Thing thing: environment.getThings()){
             lexicon.add(thing, language.generateWord(), weight);
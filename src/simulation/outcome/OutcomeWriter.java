@@ -0,0 +1,192 @@
+package simulation.outcome;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * A class writing outcomes of replicas to a file as they complete, in a background thread, so that threads conducting simulations never wait for the file.
+ * <p>
+ * Outcomes are queued without bounds and written in the order of completion, which is not the order of replicas in the multi-threaded conductment.
+ * The file is flushed whenever the queue is empty, so it can be followed while simulations are conducted. It is written in one of two formats:
+ * <ul>
+ *     <li>{@code "ndjson"} - one JSON object per line with fields {@code "replica"}, {@code "seed"} ({@code null} if unseeded), {@code "iterations"},
+ *     {@code "interactions"}, {@code "finished"}, {@code "winner"}, and arrays {@code "users"}, {@code "weights"} and {@code "things"} of each language</li>
+ *     <li>{@code "binary"} - a header of four integers: a magic number, the version, the number of languages {@code L} and the size of a record,
+ *     followed by big-endian records of {@code 34 + 16*L} bytes: the replica (long), the seed (long), whether it is seeded (byte), whether it is finished (byte),
+ *     the winner (int), iterations (int) and interactions (long), followed by the number of users (int), the sum of weights (double)
+ *     and the number of recognized things (int) of each language</li>
+ * </ul>
+ * A failure of writing stops writing, and it is reported when this writer is closed.
+ * @see ReplicaOutcome
+ * @see simulation.simulation.SimulationConductor#setOutcomeWriter(OutcomeWriter)
+ */
+public class OutcomeWriter implements Closeable {
+
+    private static final int MAGIC = 0x454c434f;
+    private static final int VERSION = 1;
+    private static final ReplicaOutcome END = new ReplicaOutcome(-1, null, 0, 0, false, new int[0], new double[0], new int[0]);
+
+    private final String format;
+    private final int numOfLanguages;
+    private final BlockingQueue<ReplicaOutcome> queue = new LinkedBlockingQueue<>();
+    private final OutputStream output;
+    private final DataOutputStream binary;
+    private final JsonGenerator json;
+    private final Thread thread;
+
+    private volatile boolean closed = false;
+    private volatile IOException failure;
+
+    /**
+     * Initializes this writer and starts its background thread.
+     * @param path the path of the file to write outcomes to
+     * @param format {@code "ndjson"} or {@code "binary"}
+     * @param numOfLanguages the number of languages of the simulations
+     * @throws IOException an exception of opening the file
+     */
+    public OutcomeWriter(String path, String format, int numOfLanguages) throws IOException {
+        if(!format.equals("ndjson") && !format.equals("binary"))
+            throw new IllegalArgumentException("Unknown format of outcomes: " + format);
+        this.format = format;
+        this.numOfLanguages = numOfLanguages;
+        this.output = new BufferedOutputStream(new FileOutputStream(path), 1 << 16);
+        if(format.equals("binary")) {
+            this.binary = new DataOutputStream(output);
+            this.json = null;
+            binary.writeInt(MAGIC);
+            binary.writeInt(VERSION);
+            binary.writeInt(numOfLanguages);
+            binary.writeInt(getRecordBytes());
+        }
+        else {
+            this.binary = null;
+            this.json = new JsonFactory().setRootValueSeparator(null).createGenerator(output, JsonEncoding.UTF8);
+            json.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+        }
+        this.thread = new Thread(this::drain, "outcome-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Queues the given outcome to be written. It never blocks, and it can be invoked by multiple threads.
+     * @param outcome the outcome of a replica with this writer's number of languages
+     */
+    public void accept(ReplicaOutcome outcome) {
+        if(closed)
+            throw new IllegalStateException("The writer of outcomes is closed.");
+        if(outcome.getNumsOfUsers().length != numOfLanguages)
+            throw new IllegalArgumentException("The outcome concerns " + outcome.getNumsOfUsers().length + " languages instead of " + numOfLanguages + ".");
+        queue.add(outcome);
+    }
+
+    private void drain() {
+        try {
+            ReplicaOutcome outcome;
+            while((outcome = queue.take()) != END) {
+                if(failure != null)
+                    continue;
+                try {
+                    write(outcome);
+                    if(queue.isEmpty())
+                        flush();
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(ReplicaOutcome outcome) throws IOException {
+        if(binary != null) {
+            binary.writeLong(outcome.getReplica());
+            binary.writeLong(outcome.getSeed() == null ? 0 : outcome.getSeed());
+            binary.writeByte(outcome.getSeed() == null ? 0 : 1);
+            binary.writeByte(outcome.isFinished() ? 1 : 0);
+            binary.writeInt(outcome.getWinner());
+            binary.writeInt(outcome.getIterations());
+            binary.writeLong(outcome.getInteractions());
+            for(int l = 0; l < numOfLanguages; l++) {
+                binary.writeInt(outcome.getNumsOfUsers()[l]);
+                binary.writeDouble(outcome.getWeightSums()[l]);
+                binary.writeInt(outcome.getNumsOfRecognizedThings()[l]);
+            }
+            return;
+        }
+        json.writeStartObject();
+        json.writeNumberField("replica", outcome.getReplica());
+        if(outcome.getSeed() == null)
+            json.writeNullField("seed");
+        else
+            json.writeNumberField("seed", outcome.getSeed());
+        json.writeNumberField("iterations", outcome.getIterations());
+        json.writeNumberField("interactions", outcome.getInteractions());
+        json.writeBooleanField("finished", outcome.isFinished());
+        json.writeNumberField("winner", outcome.getWinner());
+        json.writeFieldName("users");
+        json.writeArray(outcome.getNumsOfUsers(), 0, numOfLanguages);
+        json.writeFieldName("weights");
+        json.writeArray(outcome.getWeightSums(), 0, numOfLanguages);
+        json.writeFieldName("things");
+        json.writeArray(outcome.getNumsOfRecognizedThings(), 0, numOfLanguages);
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private void flush() throws IOException {
+        if(json != null)
+            json.flush();
+        output.flush();
+    }
+
+    /**
+     * Writes all queued outcomes, stops the background thread and closes the file.
+     * @throws IOException an exception of writing or closing the file
+     */
+    @Override
+    public void close() throws IOException {
+        if(closed)
+            return;
+        closed = true;
+        queue.add(END);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing outcomes.");
+        }
+        try {
+            if(json != null)
+                json.close();
+            output.close();
+        } catch (IOException e) {
+            if(failure == null)
+                failure = e;
+        }
+        if(failure != null)
+            throw failure;
+    }
+
+    /**
+     * Returns the size of a record of the binary format in bytes.
+     * @return the size of a record of the binary format in bytes
+     */
+    public int getRecordBytes() {
+        return 34 + 16 * numOfLanguages;
+    }
+
+    public String getFormat() {
+        return this.format;
+    }
+
+    public int getNumOfLanguages() {
+        return this.numOfLanguages;
+    }
+}
@@ -0,0 +1,97 @@
+package simulation.outcome;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * A class of outcomes of single simulations, i.e. replicas, conducted by a {@code SimulationConductor}.
+ * <p>
+ * The winner of a replica is the index of the language dominating for the most agents after its last iteration,
+ * in the order of languages of results files, or {@code -1} if several languages dominate for the most agents.
+ * Final observables are the numbers of users, the sums of weights and the numbers of recognized things of each language after the last iteration.
+ * @see OutcomeWriter
+ */
+@EqualsAndHashCode @ToString
+public class ReplicaOutcome {
+
+    private final long replica;
+    private final Long seed;
+    private final int iterations;
+    private final long interactions;
+    private final boolean finished;
+    private final int[] numsOfUsers;
+    private final double[] weightSums;
+    private final int[] numsOfRecognizedThings;
+
+    /**
+     * Initializes this outcome.
+     * @param replica the index of the replica
+     * @param seed the seed of the streams of the replica; {@code null} if the replica was conducted on unseeded streams
+     * @param iterations the number of iterations of the replica
+     * @param interactions the number of interactions of the replica
+     * @param finished {@code true} if the termination criterion of the replica was satisfied before the maximal number of iterations
+     * @param numsOfUsers numbers of users of each language after the last iteration
+     * @param weightSums sums of weights of each language after the last iteration
+     * @param numsOfRecognizedThings numbers of things recognized with words of each language after the last iteration
+     */
+    public ReplicaOutcome(long replica, Long seed, int iterations, long interactions, boolean finished, int[] numsOfUsers, double[] weightSums, int[] numsOfRecognizedThings) {
+        this.replica = replica;
+        this.seed = seed;
+        this.iterations = iterations;
+        this.interactions = interactions;
+        this.finished = finished;
+        this.numsOfUsers = numsOfUsers;
+        this.weightSums = weightSums;
+        this.numsOfRecognizedThings = numsOfRecognizedThings;
+    }
+
+    /**
+     * Returns the index of the language dominating for the most agents after the last iteration, or {@code -1} if there is a tie.
+     * @return the index of the winning language, or {@code -1} if there is no single winner
+     */
+    public int getWinner() {
+        int winner = -1;
+        int most = -1;
+        for(int l = 0; l < numsOfUsers.length; l++) {
+            if(numsOfUsers[l] > most) {
+                most = numsOfUsers[l];
+                winner = l;
+            }
+            else if(numsOfUsers[l] == most)
+                winner = -1;
+        }
+        return winner;
+    }
+
+    public long getReplica() {
+        return this.replica;
+    }
+
+    public Long getSeed() {
+        return this.seed;
+    }
+
+    public int getIterations() {
+        return this.iterations;
+    }
+
+    public long getInteractions() {
+        return this.interactions;
+    }
+
+    public boolean isFinished() {
+        return this.finished;
+    }
+
+    public int[] getNumsOfUsers() {
+        return this.numsOfUsers;
+    }
+
+    public double[] getWeightSums() {
+        return this.weightSums;
+    }
+
+    public int[] getNumsOfRecognizedThings() {
+        return this.numsOfRecognizedThings;
+    }
+}
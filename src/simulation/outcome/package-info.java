@@ -0,0 +1,5 @@
+/**
+ * classes for streaming outcomes of single simulations of agent-based models of language competition
+ */
+
+package simulation.outcome;
@@ -2,8 +2,13 @@ package simulation.population;
 
 import simulation.agent.Agent;
 
+import java.util.Random;
+
 /**
  * An interface for defining different of populations of agents which are structured in a weighted graph of some kind.
+ * <p>
+ * Each agent of a population is identified with an id, which is its index in the array returned by {@code getAgentsArray()}.
+ * Methods operating on ids allow schedulers to sample interactions without searching for agents in the population.
  * @see SquareLatticePopulation
  */
 public interface Population {
@@ -33,4 +38,55 @@ public interface Population {
      */
     Agent[] getAgentsArray();
 
+    /**
+     * Returns the agent of the given id.
+     * @param id the id of the agent to be returned
+     * @return the agent of the given id
+     */
+    Agent getAgent(int id);
+
+    /**
+     * Returns the id of a random agent from this population.
+     * @return the id of a random agent from this population
+     */
+    int randomAgentId();
+
+    /**
+     * Returns the id of a random agent from this population sampled with the given random number generator.
+     * @param random a random number generator
+     * @return the id of a random agent from this population
+     */
+    default int randomAgentId(Random random) {
+        return random.nextInt(getSize());
+    }
+
+    /**
+     * Returns the id of a random agent neighbouring the agent of the given id in this population.
+     * @param id the id of an agent of which a neighbour should be returned
+     * @return the id of a random agent neighbouring the agent of the given id
+     */
+    int randomNeighbourId(int id);
+
+    /**
+     * Fills the first {@code length} elements of the given array with ids of random agents from this population.
+     * @param ids an array to be filled with ids of random agents
+     * @param length the number of ids to be sampled
+     */
+    default void randomAgentIds(int[] ids, int length) {
+        for(int i = 0; i < length; i++)
+            ids[i] = randomAgentId();
+    }
+
+    /**
+     * Fills the first {@code length} elements of the {@code neighbours} array with ids of random neighbours of the agents
+     * with ids from the corresponding elements of the {@code ids} array.
+     * @param ids an array of ids of agents of which neighbours should be sampled
+     * @param neighbours an array to be filled with ids of random neighbours
+     * @param length the number of ids to be sampled
+     */
+    default void randomNeighbourIds(int[] ids, int[] neighbours, int length) {
+        for(int i = 0; i < length; i++)
+            neighbours[i] = randomNeighbourId(ids[i]);
+    }
+
 }
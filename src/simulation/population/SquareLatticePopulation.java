@@ -3,6 +3,7 @@ package simulation.population;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import simulation.agent.Agent;
+import util.Randoms;
 
 import java.util.Random;
 
@@ -15,12 +16,15 @@ import java.util.Random;
  * if and only if {@code b}'s position is {@code [i+1, j]}, {@code [i-1, j]}, {@code [i, j+1]} or {@code [i, j-1]};
  * otherwise it is of weight {@code epsilon}.
  * In other words, an edge connecting any two neighbouring in the array agents is of weight {@code 1.0 + epsilon}, and of weight {@code epsilon} otherwise.
+ * <p>
+ * The id of the agent in position {@code [i, j]} is {@code i * m + j}.
  * @see simulation.simulation.creator.ELCPaperSimulationCreator
  */
 @EqualsAndHashCode @ToString
 public class SquareLatticePopulation implements Population {
 
     private Agent[][] agents;
+    private Agent[] agentsArray;
     private double epsilon;
 
     /**
@@ -32,181 +36,100 @@ public class SquareLatticePopulation implements Population {
     public SquareLatticePopulation(Agent[] agents, int side, double epsilon) {
         this.epsilon = epsilon;
         this.agents = new Agent[side][agents.length/side];
+        this.agentsArray = new Agent[side * (agents.length/side)];
 
         for(int i=0;i<this.agents.length;i++)
-            for(int j=0;j<this.agents[0].length;j++)
+            for(int j=0;j<this.agents[0].length;j++) {
                 this.agents[i][j] = agents[i * this.agents[0].length + j];
+                this.agentsArray[i * this.agents[0].length + j] = this.agents[i][j];
+            }
 
     }
 
     @Override
     public int getSize() {
-        return agents.length * agents[0].length;
+        return agentsArray.length;
     }
 
     @Override
     public Agent randomAgent(){
-        return agents[new Random().nextInt(agents.length)][new Random().nextInt(agents[0].length)];
+        return agentsArray[randomAgentId()];
     }
 
     @Override
     public Agent randomNeighbour(Agent agent) {
-        int x, y;
-
-        x = y = -1;
-        for(int i=0;i<agents.length;i++)
-            for(int j=0;j<agents[0].length;j++)
-                if(agent == agents[i][j]){
-                    x = i;
-                    y = j;
-                }
+        int id = -1;
+        for(int i=0;i<agentsArray.length;i++)
+            if(agent == agentsArray[i])
+                id = i;
 
-        return randomNeighbour(x, y);
+        return agentsArray[randomNeighbourId(id)];
     }
 
     @Override
     public Agent[] getAgentsArray() {
-        Agent result[] = new Agent[getSize()];
-        for(int i=0;i<agents.length;i++)
-            for(int j=0;j<agents[0].length;j++)
-                result[i*agents[0].length+j] = agents[i][j];
-        return result;
-    }
-
-    private Agent randomNeighbour(int x, int y){
-        if(x == 0 && y == 0) return upperLeftCornerRandomNeighbour();
-        else if(x == 0 && y == agents[0].length-1) return upperRightCornerRandomNeighbour();
-        else if(x == agents.length-1 && y == 0) return lowerLeftCornerRandomNeighbour();
-        else if(x == agents.length-1 && y == agents[0].length-1) return lowerRightCornerRandomNeighbour();
-        else if(x == 0) return upperRowRandomNeighbour(y);
-        else if(x == agents.length-1) return lowerRowRandomNeighbour(y);
-        else if(y == 0) return leftColumnRandomNeighbour(x);
-        else if(y == agents[0].length-1) return rightColumnRandomNeighbour(x);
-        else return insideRandomNeighbour(x, y);
-    }
-
-    private Agent insideRandomNeighbour(int x, int y) {
-        double proba = (getSize()-1) * epsilon / (4.0 + (getSize()-1) * epsilon);
-        if(new Random().nextDouble() < proba)
-            return randomAgentWithout(x, y);
-        else {
-            int direction = new Random().nextInt(4);
-            if(direction == 0)
-                return agents[x+1][y];
-            else if(direction == 1)
-                return agents[x][y+1];
-            else if(direction == 2)
-                return agents[x-1][y];
-            else
-                return agents[x][y-1];
-        }
+        return agentsArray.clone();
     }
 
-    private Agent rightColumnRandomNeighbour(int x) {
-        double proba = (getSize()-1) * epsilon / (3.0 + (getSize()-1) * epsilon);
-        if(new Random().nextDouble() < proba)
-            return randomAgentWithout(x, agents[0].length-1);
-        else {
-            int direction = new Random().nextInt(3);
-            if(direction == 0)
-                return agents[x+1][agents[0].length-1];
-            else if(direction == 1)
-                return agents[x][agents[0].length-2];
-            else
-                return agents[x-1][agents[0].length-1];
-        }
-    }
-
-    private Agent leftColumnRandomNeighbour(int x) {
-        double proba = (getSize()-1) * epsilon / (3.0 + (getSize()-1) * epsilon);
-        if(new Random().nextDouble() < proba)
-            return randomAgentWithout(x, 0);
-        else {
-            int direction = new Random().nextInt(3);
-            if(direction == 0)
-                return agents[x+1][0];
-            else if(direction == 1)
-                return agents[x][1];
-            else
-                return agents[x-1][0];
-        }
-    }
-
-    private Agent lowerRowRandomNeighbour(int y) {
-        double proba = (getSize()-1) * epsilon / (3.0 + (getSize()-1) * epsilon);
-        if(new Random().nextDouble() < proba)
-            return randomAgentWithout(agents.length-1, y);
-        else {
-            int direction = new Random().nextInt(3);
-            if(direction == 0)
-                return agents[agents.length-1][y+1];
-            else if(direction == 1)
-                return agents[agents.length-2][y];
-            else
-                return agents[agents.length-1][y-1];
-        }
-    }
-
-    private Agent upperRowRandomNeighbour(int y) {
-        double proba = (getSize()-1) * epsilon / (3.0 + (getSize()-1) * epsilon);
-        if(new Random().nextDouble() < proba)
-            return randomAgentWithout(0, y);
-        else {
-            int direction = new Random().nextInt(3);
-            if(direction == 0)
-                return agents[0][y+1];
-            else if(direction == 1)
-                return agents[1][y];
-            else
-                return agents[0][y-1];
-        }
-    }
-
-    private Agent lowerRightCornerRandomNeighbour() {
-        double proba = (getSize()-1) * epsilon / (2.0 + (getSize()-1) * epsilon);
-        if(new Random().nextDouble() < proba)
-            return randomAgentWithout(agents.length-1, agents[0].length-1);
-        else if(new Random().nextInt(2) == 0)
-            return agents[agents.length-1][agents[0].length-2];
-        else
-            return agents[agents.length-2][agents[0].length-1];
+    @Override
+    public Agent getAgent(int id) {
+        return agentsArray[id];
     }
 
-    private Agent lowerLeftCornerRandomNeighbour() {
-        double proba = (getSize()-1) * epsilon / (2.0 + (getSize()-1) * epsilon);
-        if(new Random().nextDouble() < proba)
-            return randomAgentWithout(agents.length-1, 0);
-        else if(new Random().nextInt(2) == 0)
-            return agents[agents.length-1][1];
-        else
-            return agents[agents.length-2][0];
+    @Override
+    public int randomAgentId() {
+        return Randoms.dynamics().nextInt(agentsArray.length);
     }
 
-    private Agent upperLeftCornerRandomNeighbour(){
-        double proba = (getSize()-1) * epsilon / (2.0 + (getSize()-1) * epsilon);
-        if(new Random().nextDouble() < proba)
-            return randomAgentWithout(0, 0);
-        else if(new Random().nextInt(2) == 0)
-            return agents[0][1];
-        else
-            return agents[1][0];
+    /**
+     * Returns the id of a random neighbour of the agent of the given id. The neighbour is chosen with probability proportional
+     * to the weight of the edge connecting it with the given agent.
+     * @param id the id of an agent of which a neighbour should be returned
+     * @return the id of a random agent neighbouring the agent of the given id
+     */
+    @Override
+    public int randomNeighbourId(int id) {
+        return randomNeighbourId(id, Randoms.dynamics());
     }
 
-    private Agent upperRightCornerRandomNeighbour(){
-        double proba = (getSize()-1) * epsilon / (2.0 + (getSize()-1) * epsilon);
-        if(new Random().nextDouble() < proba)
-            return randomAgentWithout(0, agents[0].length-1);
-        else if(new Random().nextInt(2) == 0)
-            return agents[0][agents[0].length-2];
-        else
-            return agents[1][agents[0].length-1];
+    @Override
+    public void randomAgentIds(int[] ids, int length) {
+        Random random = Randoms.dynamics();
+        for(int i = 0; i < length; i++)
+            ids[i] = random.nextInt(agentsArray.length);
     }
 
-    private Agent randomAgentWithout(int i, int j) {
-        Agent agent = randomAgent();
-        while(agents[i][j] == agent)
-            agent = randomAgent();
-        return agent;
+    @Override
+    public void randomNeighbourIds(int[] ids, int[] neighbours, int length) {
+        Random random = Randoms.dynamics();
+        for(int i = 0; i < length; i++)
+            neighbours[i] = randomNeighbourId(ids[i], random);
+    }
+
+    private int randomNeighbourId(int id, Random random) {
+        int rows = agents.length;
+        int columns = agents[0].length;
+        int x = id / columns;
+        int y = id - x * columns;
+
+        int latticeNeighbours = (x > 0 ? 1 : 0) + (x < rows - 1 ? 1 : 0) + (y > 0 ? 1 : 0) + (y < columns - 1 ? 1 : 0);
+        double proba = (agentsArray.length-1) * epsilon / (latticeNeighbours + (agentsArray.length-1) * epsilon);
+        if(random.nextDouble() < proba)
+            return randomAgentIdWithout(id, random);
+
+        int direction = random.nextInt(latticeNeighbours);
+        if(x < rows - 1 && direction-- == 0)
+            return id + columns;
+        if(y < columns - 1 && direction-- == 0)
+            return id + 1;
+        if(x > 0 && direction-- == 0)
+            return id - columns;
+        return id - 1;
+    }
+
+    private int randomAgentIdWithout(int id, Random random) {
+        int other = random.nextInt(agentsArray.length - 1);
+        return other < id ? other : other + 1;
     }
 
     public Agent[][] getAgents() {
@@ -0,0 +1,107 @@
+package simulation.scheduler;
+
+import util.Randoms;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A utility class providing activity rates of agents for {@code ContinuousTimeScheduler}.
+ * <p>
+ * Rates can be given with a textual specification parsed by the {@code parse} method:
+ * <ul>
+ *     <li>{@code "constant"} - each agent speaks with rate {@code 1}</li>
+ *     <li>{@code "exponential"} - rates are drawn from the exponential distribution with mean {@code 1}</li>
+ *     <li>{@code "pareto:alpha"} - rates are drawn from the Pareto distribution with shape {@code alpha > 1} scaled to mean {@code 1}</li>
+ *     <li>any other value is treated as a path to a text file with one positive rate per agent, separated by whitespace</li>
+ * </ul>
+ * Random rates are drawn once, when a simulation is created, so all simulations conducted from a pattern simulation share the same rates.
+ * They are drawn from the auxiliary stream of {@code Randoms}, so the rates of a pattern simulation created on seeded streams are reproducible.
+ * @see ContinuousTimeScheduler
+ */
+public final class ActivityRates {
+
+    private ActivityRates() {
+    }
+
+    /**
+     * Returns an array of the given number of rates equal to {@code 1}.
+     * @param numOfAgents the number of agents
+     * @return an array of {@code numOfAgents} rates equal to {@code 1}
+     */
+    public static double[] constant(int numOfAgents) {
+        double[] rates = new double[numOfAgents];
+        for(int i = 0; i < numOfAgents; i++)
+            rates[i] = 1.0;
+        return rates;
+    }
+
+    /**
+     * Returns an array of rates drawn from the exponential distribution with mean {@code 1}.
+     * @param numOfAgents the number of agents
+     * @return an array of {@code numOfAgents} rates drawn from the exponential distribution with mean {@code 1}
+     */
+    public static double[] exponential(int numOfAgents) {
+        Random random = Randoms.auxiliary();
+        double[] rates = new double[numOfAgents];
+        for(int i = 0; i < numOfAgents; i++)
+            rates[i] = -Math.log(1.0 - random.nextDouble());
+        return rates;
+    }
+
+    /**
+     * Returns an array of rates drawn from the Pareto distribution with the given shape, scaled so that its mean is {@code 1}.
+     * @param numOfAgents the number of agents
+     * @param shape the shape parameter of the distribution, greater than {@code 1}
+     * @return an array of {@code numOfAgents} rates drawn from the Pareto distribution with mean {@code 1}
+     */
+    public static double[] pareto(int numOfAgents, double shape) {
+        if(shape <= 1)
+            throw new IllegalArgumentException("The shape of the Pareto distribution of rates must be greater than 1.");
+        Random random = Randoms.auxiliary();
+        double scale = (shape - 1) / shape;
+        double[] rates = new double[numOfAgents];
+        for(int i = 0; i < numOfAgents; i++)
+            rates[i] = scale / Math.pow(1.0 - random.nextDouble(), 1.0 / shape);
+        return rates;
+    }
+
+    /**
+     * Returns the rates read from the given text file with one positive rate per agent.
+     * @param path the path of the file
+     * @param numOfAgents the expected number of rates in the file
+     * @return the rates read from the file
+     * @throws IOException an exception of input-output operations on the file from the given path
+     */
+    public static double[] fromFile(String path, int numOfAgents) throws IOException {
+        List<Double> values = new ArrayList<>();
+        for(String line: Files.readAllLines(Paths.get(path)))
+            for(String token: line.trim().split("\\s+"))
+                if(!token.isEmpty())
+                    values.add(Double.parseDouble(token));
+        if(values.size() != numOfAgents)
+            throw new IllegalArgumentException("File " + path + " contains " + values.size() + " rates, but there are " + numOfAgents + " agents.");
+        double[] rates = new double[numOfAgents];
+        for(int i = 0; i < numOfAgents; i++)
+            rates[i] = values.get(i);
+        return rates;
+    }
+
+    /**
+     * Returns the rates defined by the given specification.
+     * @param specification {@code "constant"}, {@code "exponential"}, {@code "pareto:alpha"} or a path to a file with rates
+     * @param numOfAgents the number of agents
+     * @return the rates defined by the given specification
+     * @throws IOException an exception of input-output operations on the file with rates
+     */
+    public static double[] parse(String specification, int numOfAgents) throws IOException {
+        if(specification == null || specification.equals("constant")) return constant(numOfAgents);
+        if(specification.equals("exponential")) return exponential(numOfAgents);
+        if(specification.startsWith("pareto:")) return pareto(numOfAgents, Double.parseDouble(specification.substring("pareto:".length())));
+        return fromFile(specification, numOfAgents);
+    }
+}
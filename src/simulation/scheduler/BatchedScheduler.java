@@ -0,0 +1,59 @@
+package simulation.scheduler;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import simulation.environment.Environment;
+import simulation.population.Population;
+import simulation.simulation.Simulation;
+import util.Randoms;
+
+import java.util.Random;
+
+/**
+ * A scheduler conducting the same interactions as {@code RandomSequentialScheduler}, but sampling them in batches.
+ * <p>
+ * Since participants and topics of interactions do not depend on the state of agents, ids of speakers, listeners and things
+ * for a whole step are sampled first into primitive arrays, each in a single tight loop, and then the interactions are conducted
+ * in another loop. The arrays are reused between steps. The distribution of interactions is the same as for {@code RandomSequentialScheduler}.
+ * @see Scheduler
+ * @see RandomSequentialScheduler
+ */
+@EqualsAndHashCode @ToString
+public class BatchedScheduler implements Scheduler {
+
+    private int[] speakers = new int[0];
+    private int[] listeners = new int[0];
+    private int[] things = new int[0];
+
+    @Override
+    public void step(Simulation simulation) {
+        Population population = simulation.getPopulation();
+        Environment environment = simulation.getEnvironment();
+        int size = population.getSize();
+
+        if(simulation.getVariantAgent() != null && simulation.getVariantInfluence() > 0) {
+            ensureCapacity(simulation.getVariantInfluence());
+            Random random = Randoms.auxiliary();
+            for(int i = 0; i < simulation.getVariantInfluence(); i++)
+                speakers[i] = population.randomAgentId(random);
+            for(int i = 0; i < simulation.getVariantInfluence(); i++)
+                simulation.interactWithVariantAgent(speakers[i]);
+        }
+
+        ensureCapacity(size);
+        population.randomAgentIds(speakers, size);
+        population.randomNeighbourIds(speakers, listeners, size);
+        environment.randomThingIds(things, size);
+
+        for(int i = 0; i < size; i++)
+            simulation.interact(speakers[i], listeners[i], things[i]);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if(speakers.length < capacity) {
+            speakers = new int[capacity];
+            listeners = new int[capacity];
+            things = new int[capacity];
+        }
+    }
+}
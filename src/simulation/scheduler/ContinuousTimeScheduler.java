@@ -0,0 +1,102 @@
+package simulation.scheduler;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import simulation.environment.Environment;
+import simulation.population.Population;
+import simulation.simulation.Simulation;
+import util.FenwickTree;
+import util.Randoms;
+
+import java.util.Random;
+
+/**
+ * A scheduler simulating interactions in continuous time with the Gillespie algorithm, in which each agent speaks with its own activity rate.
+ * <p>
+ * Each agent initiates interactions, as a speaker, at the times of a Poisson process with the agent's rate; the listener and the topic are sampled
+ * as in {@code RandomSequentialScheduler}. The variant agent (if any) interacts with random agents with rate equal to the simulation's {@code variantInfluence}.
+ * The next speaker is sampled in {@code O(log N)} time from a Fenwick tree of rates, and rates can be changed in place with {@code setRate}.
+ * <p>
+ * Times and speakers of interactions between agents are drawn from the dynamics stream of {@code Randoms}, while times of interactions of the variant agent,
+ * an independent Poisson process, are drawn from the auxiliary stream, so simulations with different variant agents or influences consume the dynamics stream
+ * in the same way, as required by common random numbers.
+ * <p>
+ * A single step advances the time of the simulation by {@code timeStep}, so statistics gathered after each step are recorded on a fixed time grid.
+ * With all rates equal to {@code 1} and {@code timeStep} equal to {@code 1}, a step contains on average as many interactions as a step of {@code RandomSequentialScheduler}.
+ * @see Scheduler
+ * @see ActivityRates
+ * @see FenwickTree
+ */
+@EqualsAndHashCode @ToString
+public class ContinuousTimeScheduler implements Scheduler {
+
+    private FenwickTree rates;
+    private double timeStep;
+    private double time;
+
+    /**
+     * Initializes this scheduler with the given activity rates of agents and the given time step.
+     * @param rates non-negative activity rates of agents indexed by their ids in a population
+     * @param timeStep the time by which each step advances the simulation
+     */
+    public ContinuousTimeScheduler(double[] rates, double timeStep) {
+        if(timeStep <= 0)
+            throw new IllegalArgumentException("The time step must be positive.");
+        this.rates = new FenwickTree(rates.clone());
+        this.timeStep = timeStep;
+        this.time = 0;
+    }
+
+    @Override
+    public void step(Simulation simulation) {
+        Population population = simulation.getPopulation();
+        Environment environment = simulation.getEnvironment();
+        Random random = Randoms.dynamics();
+        Random auxiliary = Randoms.auxiliary();
+
+        double variantRate = simulation.getVariantAgent() == null ? 0 : simulation.getVariantInfluence();
+        double end = time + timeStep;
+        double nextVariantTime = variantRate > 0 ? time - Math.log(1.0 - auxiliary.nextDouble()) / variantRate : Double.POSITIVE_INFINITY;
+        double total = rates.total();
+
+        while(true) {
+            time = total > 0 ? time - Math.log(1.0 - random.nextDouble()) / total : end;
+            while(nextVariantTime < Math.min(time, end)) {
+                simulation.interactWithVariantAgent(population.randomAgentId(auxiliary));
+                nextVariantTime -= Math.log(1.0 - auxiliary.nextDouble()) / variantRate;
+            }
+            if(time >= end) break;
+
+            int speaker = rates.find(random.nextDouble() * total);
+            simulation.interact(speaker, population.randomNeighbourId(speaker), environment.randomThingId());
+        }
+        time = end;
+    }
+
+    /**
+     * Sets the activity rate of the agent of the given id.
+     * @param agentId the id of the agent
+     * @param rate a new non-negative activity rate of the agent
+     */
+    public void setRate(int agentId, double rate) {
+        rates.set(agentId, rate);
+    }
+
+    /**
+     * Returns the activity rate of the agent of the given id.
+     * @param agentId the id of the agent
+     * @return the activity rate of the agent of the given id
+     */
+    public double getRate(int agentId) {
+        return rates.get(agentId);
+    }
+
+    @Override
+    public double getTimeStep() {
+        return this.timeStep;
+    }
+
+    public double getTime() {
+        return this.time;
+    }
+}
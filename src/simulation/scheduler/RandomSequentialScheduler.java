@@ -0,0 +1,38 @@
+package simulation.scheduler;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import simulation.environment.Environment;
+import simulation.population.Population;
+import simulation.simulation.Simulation;
+import util.Randoms;
+
+/**
+ * A scheduler implementing random sequential updating described in "Evolutionary language competition - an agent-based model" paper.
+ * <p>
+ * In each step, the variant agent (if any) interacts with {@code variantInfluence} random agents first. Then a number of interactions
+ * equal to the size of the population is conducted, each between a random agent, its random neighbour and about a random thing.
+ * The participants and the topic of each interaction are sampled right before the interaction is conducted.
+ * @see Scheduler
+ * @see BatchedScheduler
+ */
+@EqualsAndHashCode @ToString
+public class RandomSequentialScheduler implements Scheduler {
+
+    @Override
+    public void step(Simulation simulation) {
+        Population population = simulation.getPopulation();
+        Environment environment = simulation.getEnvironment();
+
+        if(simulation.getVariantAgent() != null)
+            for(int i = 0; i < simulation.getVariantInfluence(); i++)
+                simulation.interactWithVariantAgent(population.randomAgentId(Randoms.auxiliary()));
+
+        for(int i = 0; i < population.getSize(); i++) {
+            int speaker = population.randomAgentId();
+            int listener = population.randomNeighbourId(speaker);
+            int thing = environment.randomThingId();
+            simulation.interact(speaker, listener, thing);
+        }
+    }
+}
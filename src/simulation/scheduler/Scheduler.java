@@ -0,0 +1,29 @@
+package simulation.scheduler;
+
+import simulation.simulation.Simulation;
+
+/**
+ * An interface for classes which define which interactions are conducted within a single step of a simulation and in which order.
+ * @see RandomSequentialScheduler
+ * @see BatchedScheduler
+ * @see ContinuousTimeScheduler
+ * @see Simulation
+ */
+public interface Scheduler {
+
+    /**
+     * Conducts the interactions of a single step of the given simulation.
+     * @param simulation the simulation of which a step should be conducted
+     */
+    void step(Simulation simulation);
+
+    /**
+     * Returns the time by which a single step of a simulation advances. Statistics gathered after each step are recorded on a grid with this spacing.
+     * By default, a step is one unit of time.
+     * @return the time by which a single step of a simulation advances
+     */
+    default double getTimeStep() {
+        return 1.0;
+    }
+
+}
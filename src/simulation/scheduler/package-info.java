@@ -0,0 +1,5 @@
+/**
+ * classes defining how interactions are scheduled within steps of simulations of agent-based models of language competition
+ */
+
+package simulation.scheduler;
@@ -0,0 +1,121 @@
+package simulation.simulation;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * A class for conducting simulations of a {@code SimulationConductor} until the confidence intervals of the means of chosen statistics
+ * are narrower than given tolerances, or a maximal number of simulations is reached.
+ * <p>
+ * Simulations are conducted in rounds, each in parallel threads. After each round, the half-widths of confidence intervals of all targets are computed,
+ * and the size of the next round is estimated from the widest interval relative to its tolerance, as the half-width decreases with the square root
+ * of the number of simulations. Each round conducts at least as many simulations as there are threads.
+ * @see ConfidenceTarget
+ * @see SimulationConductor#conduct(int, int, int)
+ */
+@EqualsAndHashCode @ToString
+public class AdaptiveConductor {
+
+    private final SimulationConductor conductor;
+    private final List<ConfidenceTarget> targets;
+    private final double confidence;
+    private final double z;
+    private final int threads;
+    private final int minSimulations;
+
+    /**
+     * Initializes this adaptive conductor.
+     * @param conductor the conductor to conduct simulations with
+     * @param targets targets of the precision of results
+     * @param confidence the confidence level of intervals, between {@code 0} and {@code 1}
+     * @param threads number of threads conducting simulations
+     * @param minSimulations the number of simulations conducted before the first check of the targets, at least {@code 2}
+     */
+    public AdaptiveConductor(SimulationConductor conductor, List<ConfidenceTarget> targets, double confidence, int threads, int minSimulations) {
+        if(!(confidence > 0 && confidence < 1))
+            throw new IllegalArgumentException("The confidence level must be between 0 and 1.");
+        if(minSimulations < 2)
+            throw new IllegalArgumentException("At least 2 simulations must be conducted before checking confidence intervals.");
+        this.conductor = conductor;
+        this.targets = targets;
+        this.confidence = confidence;
+        this.z = normalQuantile(0.5 + confidence / 2);
+        this.threads = Math.max(1, threads);
+        this.minSimulations = minSimulations;
+    }
+
+    /**
+     * Conducts simulations until all targets are satisfied or {@code maxTimes} simulations are conducted by the conductor.
+     * @param maxTimes maximal number of simulations conducted by the conductor
+     * @param stopIteration maximal number of iterations of each simulation
+     * @throws InterruptedException if the current thread was interrupted while waiting for the threads
+     */
+    public void conduct(int maxTimes, int stopIteration) throws InterruptedException {
+        int round = Math.max(minSimulations - conductor.getSimulationsConducted(), threads);
+        while(conductor.getSimulationsConducted() < maxTimes) {
+            conductor.conduct(Math.min(round, maxTimes - conductor.getSimulationsConducted()), stopIteration, threads);
+
+            double ratio = 0;
+            for(ConfidenceTarget target: targets)
+                ratio = Math.max(ratio, target.halfWidth(conductor, z) / target.getTolerance());
+            if(ratio <= 1)
+                return;
+
+            int n = conductor.getSimulationsConducted();
+            double needed = Double.isInfinite(ratio) ? 2.0 * n : n * ratio * ratio;
+            round = (int) Math.max(threads, Math.min(Math.ceil(needed) - n, maxTimes - n));
+        }
+    }
+
+    /**
+     * Returns {@code true} if all targets are satisfied by the results of the conductor.
+     * @return {@code true} if all targets are satisfied; {@code false} otherwise
+     */
+    public boolean satisfied() {
+        for(ConfidenceTarget target: targets)
+            if(!target.satisfied(conductor, z))
+                return false;
+        return true;
+    }
+
+    /**
+     * Returns the quantile of the standard normal distribution of the given order, computed with the rational approximation of P. J. Acklam,
+     * accurate to about {@code 1e-9}.
+     * @param p the order of the quantile, between {@code 0} and {@code 1}
+     * @return the quantile of the standard normal distribution of the given order
+     */
+    static double normalQuantile(double p) {
+        double[] a = {-3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02, 1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00};
+        double[] b = {-5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02, 6.680131188771972e+01, -1.328068155288572e+01};
+        double[] c = {-7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00, -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00};
+        double[] d = {7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00, 3.754408661907416e+00};
+        double low = 0.02425;
+        if(p < low) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            return (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5]) / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        }
+        if(p > 1 - low)
+            return -normalQuantile(1 - p);
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5]) * q / (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1);
+    }
+
+    public SimulationConductor getConductor() {
+        return this.conductor;
+    }
+
+    public List<ConfidenceTarget> getTargets() {
+        return this.targets;
+    }
+
+    public double getConfidence() {
+        return this.confidence;
+    }
+
+    public int getThreads() {
+        return this.threads;
+    }
+}
@@ -0,0 +1,130 @@
+package simulation.simulation;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A class of targets of the precision of results of a {@code SimulationConductor}, i.e. statistics whose confidence intervals
+ * must be narrower than given tolerances.
+ * <p>
+ * A target is given with a textual specification {@code statistic[@iteration]:tolerance}, where the statistic is one of:
+ * <ul>
+ *     <li>{@code iterations} - the number of iterations of a simulation</li>
+ *     <li>{@code users} - the share of agents for which a language is dominating</li>
+ *     <li>{@code weights} - the sum of weights of words of a language</li>
+ *     <li>{@code things} - the number of things recognized with words of a language</li>
+ * </ul>
+ * Statistics of languages are taken after the last iteration of each simulation, or in the given iteration, and are targets for all languages.
+ * The tolerance is the maximal half-width of the confidence interval of the mean of the statistic.
+ * @see AdaptiveConductor
+ */
+@EqualsAndHashCode @ToString
+public class ConfidenceTarget {
+
+    private final String statistic;
+    private final int iteration;
+    private final double tolerance;
+
+    /**
+     * Initializes this target.
+     * @param statistic {@code iterations}, {@code users}, {@code weights} or {@code things}
+     * @param iteration the iteration in which the statistic is taken, or {@code -1} for the last iteration of each simulation
+     * @param tolerance the maximal half-width of the confidence interval of the mean of the statistic
+     */
+    public ConfidenceTarget(String statistic, int iteration, double tolerance) {
+        if(!statistic.equals("iterations") && !statistic.equals("users") && !statistic.equals("weights") && !statistic.equals("things"))
+            throw new IllegalArgumentException("Unknown statistic: " + statistic);
+        if(statistic.equals("iterations") && iteration >= 0)
+            throw new IllegalArgumentException("The number of iterations cannot be taken in a given iteration.");
+        if(!(tolerance > 0))
+            throw new IllegalArgumentException("The tolerance must be positive.");
+        this.statistic = statistic;
+        this.iteration = iteration;
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Returns the targets defined by the given comma-separated specifications.
+     * @param specifications comma-separated specifications {@code statistic[@iteration]:tolerance}
+     * @return the targets defined by the given specifications
+     */
+    public static List<ConfidenceTarget> parseList(String specifications) {
+        List<ConfidenceTarget> targets = new ArrayList<>();
+        for(String specification: specifications.split(",")) {
+            specification = specification.trim();
+            int colon = specification.lastIndexOf(':');
+            if(colon < 0)
+                throw new IllegalArgumentException("The target " + specification + " has no tolerance.");
+            String statistic = specification.substring(0, colon);
+            int iteration = -1;
+            int at = statistic.indexOf('@');
+            if(at >= 0) {
+                iteration = Integer.parseInt(statistic.substring(at + 1));
+                statistic = statistic.substring(0, at);
+            }
+            targets.add(new ConfidenceTarget(statistic, iteration, Double.parseDouble(specification.substring(colon + 1))));
+        }
+        return targets;
+    }
+
+    /**
+     * Returns the half-width of the confidence interval of the mean of this target's statistic for the simulations conducted by the given conductor.
+     * For statistics of languages, the maximal half-width over languages is returned.
+     * @param conductor a conductor which conducted at least two simulations
+     * @param z the quantile of the standard normal distribution defining the confidence level
+     * @return the half-width of the confidence interval of the mean of this target's statistic; infinity for less than two simulations
+     */
+    public double halfWidth(SimulationConductor conductor, double z) {
+        int n = conductor.getSimulationsConducted();
+        if(n < 2)
+            return Double.POSITIVE_INFINITY;
+        if(statistic.equals("iterations"))
+            return halfWidth(conductor.getIterationsM2(), n, z);
+
+        IterationStatistics[] statistics = statistic.equals("users") ? conductor.getAverageNumsOfUsers()
+                : statistic.equals("weights") ? conductor.getAverageWeightSums() : conductor.getAverageNumsOfRecognizedThings();
+        int index = iteration >= 0 ? iteration : conductor.getMaxSimulationsLength();
+        double scale = statistic.equals("users") ? conductor.getPatternSimulation().getAgentsArray().length : 1;
+        double halfWidth = 0;
+        for(IterationStatistics languageStatistics: statistics)
+            halfWidth = Math.max(halfWidth, halfWidth(languageStatistics.getM2s(index + 1)[index], n, z) / scale);
+        return halfWidth;
+    }
+
+    private static double halfWidth(double m2, int n, double z) {
+        return z * Math.sqrt(m2 / (n - 1) / n);
+    }
+
+    /**
+     * Returns {@code true} if the confidence interval of this target's statistic is narrower than the tolerance.
+     * @param conductor a conductor
+     * @param z the quantile of the standard normal distribution defining the confidence level
+     * @return {@code true} if the half-width of the confidence interval is at most the tolerance; {@code false} otherwise
+     */
+    public boolean satisfied(SimulationConductor conductor, double z) {
+        return halfWidth(conductor, z) <= tolerance;
+    }
+
+    /**
+     * Returns the textual specification of this target.
+     * @return the textual specification of this target
+     */
+    public String getSpecification() {
+        return statistic + (iteration >= 0 ? "@" + iteration : "") + ":" + tolerance;
+    }
+
+    public String getStatistic() {
+        return this.statistic;
+    }
+
+    public int getIteration() {
+        return this.iteration;
+    }
+
+    public double getTolerance() {
+        return this.tolerance;
+    }
+}
@@ -0,0 +1,156 @@
+package simulation.simulation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import util.Downsampling;
+import util.FloatEncoding;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A class defining how histories are written in results files, given with two textual specifications.
+ * <p>
+ * The encoding of values is lossless and applies to averaged histories and to sufficient statistics:
+ * <ul>
+ *     <li>{@code "plain"} - values are written as JSON arrays of numbers</li>
+ *     <li>{@code "xor"} or {@code "delta"} - values are written as base64 strings of the encodings from {@code FloatEncoding}</li>
+ * </ul>
+ * The downsampling applies only to averaged histories, which are then written as values at chosen iterations together with the array of these iterations,
+ * named as the history with the {@code " iterations"} suffix:
+ * <ul>
+ *     <li>{@code "none"} - all iterations are written</li>
+ *     <li>{@code "lttb:k"} - {@code k} iterations are chosen with the Largest-Triangle-Three-Buckets algorithm</li>
+ *     <li>{@code "maxdev:e"} - iterations are chosen so that the linear interpolation between them differs from each history value by at most {@code e}</li>
+ * </ul>
+ * Sufficient statistics are not written for downsampled histories, so such results files cannot be merged.
+ * @see SimulationConductorSerializer
+ * @see SimulationResultsMerger
+ * @see FloatEncoding
+ * @see Downsampling
+ */
+@EqualsAndHashCode @ToString
+public class HistoryFormat {
+
+    private final String encoding;
+    private final String downsampling;
+
+    private HistoryFormat(String encoding, String downsampling) {
+        this.encoding = encoding;
+        this.downsampling = downsampling;
+    }
+
+    /**
+     * Returns the format with plain values and without downsampling.
+     * @return the format with plain values and without downsampling
+     */
+    public static HistoryFormat plain() {
+        return new HistoryFormat("plain", "none");
+    }
+
+    /**
+     * Returns the format defined by the given specifications.
+     * @param encoding {@code "plain"}, {@code "xor"} or {@code "delta"}
+     * @param downsampling {@code "none"}, {@code "lttb:k"} or {@code "maxdev:e"}
+     * @return the format defined by the given specifications
+     */
+    public static HistoryFormat parse(String encoding, String downsampling) {
+        if(!encoding.equals("plain") && !encoding.equals("xor") && !encoding.equals("delta"))
+            throw new IllegalArgumentException("Unknown history encoding: " + encoding);
+        if(downsampling.startsWith("lttb:")) {
+            if(Integer.parseInt(downsampling.substring("lttb:".length())) < 3)
+                throw new IllegalArgumentException("At least 3 iterations must be chosen by " + downsampling);
+        }
+        else if(downsampling.startsWith("maxdev:")) {
+            if(!(Double.parseDouble(downsampling.substring("maxdev:".length())) >= 0))
+                throw new IllegalArgumentException("The maximal deviation of " + downsampling + " must be non-negative.");
+        }
+        else if(!downsampling.equals("none"))
+            throw new IllegalArgumentException("Unknown history downsampling: " + downsampling);
+        return new HistoryFormat(encoding, downsampling);
+    }
+
+    /**
+     * Writes the first {@code length} values of the given averaged history as the field of the given name, downsampled with this format's downsampling.
+     * @param name the name of the field
+     * @param values values of the history
+     * @param length the number of values of the history
+     * @param jsonGenerator the generator to write the history with
+     * @throws IOException an exception of writing
+     */
+    public void writeHistory(String name, double[] values, int length, JsonGenerator jsonGenerator) throws IOException {
+        if(!isDownsampled()) {
+            writeValues(name, values, length, jsonGenerator);
+            return;
+        }
+        int[] iterations = downsampling.startsWith("lttb:")
+                ? Downsampling.largestTriangleThreeBuckets(values, length, Integer.parseInt(downsampling.substring("lttb:".length())))
+                : Downsampling.maxDeviation(values, length, Double.parseDouble(downsampling.substring("maxdev:".length())));
+        double[] chosen = new double[iterations.length];
+        for(int i = 0; i < iterations.length; i++)
+            chosen[i] = values[iterations[i]];
+        writeValues(name, chosen, chosen.length, jsonGenerator);
+        jsonGenerator.writeFieldName(name + " iterations");
+        jsonGenerator.writeArray(iterations, 0, iterations.length);
+    }
+
+    /**
+     * Writes the first {@code length} values of the given array as the field of the given name, encoded losslessly with this format's encoding.
+     * @param name the name of the field
+     * @param values values to be written
+     * @param length the number of values to be written
+     * @param jsonGenerator the generator to write the values with
+     * @throws IOException an exception of writing
+     */
+    public void writeValues(String name, double[] values, int length, JsonGenerator jsonGenerator) throws IOException {
+        if(encoding.equals("plain")) {
+            jsonGenerator.writeFieldName(name);
+            jsonGenerator.writeArray(values, 0, length);
+        }
+        else
+            jsonGenerator.writeBinaryField(name, FloatEncoding.encode(encoding, values, length));
+    }
+
+    /**
+     * Reads values written with {@code writeValues} at the current token of the given parser.
+     * @param jsonParser a parser at the beginning of values
+     * @return the values read
+     * @throws IOException an exception of reading, or if the values are not written with this format's encoding
+     */
+    public double[] readValues(JsonParser jsonParser) throws IOException {
+        if(encoding.equals("plain")) {
+            if(jsonParser.currentToken() != JsonToken.START_ARRAY)
+                throw new IOException("Expected an array of values but found " + jsonParser.currentToken() + ".");
+            double[] array = new double[16];
+            int size = 0;
+            while(jsonParser.nextToken() != JsonToken.END_ARRAY) {
+                if(size == array.length)
+                    array = Arrays.copyOf(array, 2 * size);
+                array[size++] = jsonParser.getDoubleValue();
+            }
+            return Arrays.copyOf(array, size);
+        }
+        if(jsonParser.currentToken() != JsonToken.VALUE_STRING)
+            throw new IOException("Expected values encoded with " + encoding + " but found " + jsonParser.currentToken() + ".");
+        return FloatEncoding.decode(encoding, jsonParser.getBinaryValue());
+    }
+
+    /**
+     * Returns {@code true} if averaged histories are downsampled with this format.
+     * @return {@code true} if averaged histories are downsampled with this format; {@code false} otherwise
+     */
+    public boolean isDownsampled() {
+        return !downsampling.equals("none");
+    }
+
+    public String getEncoding() {
+        return this.encoding;
+    }
+
+    public String getDownsampling() {
+        return this.downsampling;
+    }
+}
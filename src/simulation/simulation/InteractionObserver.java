@@ -0,0 +1,24 @@
+package simulation.simulation;
+
+/**
+ * An interface for objects notified about each interaction conducted in a simulation, e.g. to maintain statistics incrementally
+ * instead of recomputing them from the whole population.
+ * @see Simulation
+ * @see simulation.termination.LexiconCounters
+ */
+public interface InteractionObserver {
+
+    /**
+     * Invoked after an interaction between the agents of the given ids concerning the thing of the given id.
+     * @param speakerId the id of the speaker in the population of the simulation
+     * @param listenerId the id of the listener in the population of the simulation
+     * @param thingId the id of the topic of the interaction in the environment of the simulation
+     */
+    void interacted(int speakerId, int listenerId, int thingId);
+
+    /**
+     * Invoked after an interaction between the variant agent of the simulation and the agent of the given id.
+     * @param agentId the id of the agent in the population of the simulation
+     */
+    void interactedWithVariantAgent(int agentId);
+}
@@ -0,0 +1,253 @@
+package simulation.simulation;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A class accumulating a statistic measured in each iteration of multiple simulations, so that its mean and variance in each iteration can be computed.
+ * <p>
+ * Simulations can have different lengths, and a simulation which has finished contributes its last measurement to all later iterations.
+ * Measurements are recorded online, while a simulation is conducted, so no history of a simulation is kept.
+ * For each iteration, the number of measurements, their mean and the sum of squared deviations from the mean ({@code M2}) of simulations which reached it are kept.
+ * The last measurements of finished simulations are carried forward lazily: they are accumulated in the same way in buckets of simulations of the same length,
+ * and merged with the statistics of later iterations only when the statistics are read.
+ * Accumulators of disjoint sets of simulations can be merged exactly, which allows the simulations to be conducted in separate threads or processes.
+ * @see SimulationConductor
+ */
+@EqualsAndHashCode @ToString
+public class IterationStatistics {
+
+    private int count = 0;
+    private int length = 0;
+
+    private int[] reachedCounts = new int[16];
+    private double[] reachedMeans = new double[16];
+    private double[] reachedM2s = new double[16];
+
+    private int[] finishedCounts = new int[16];
+    private double[] finishedMeans = new double[16];
+    private double[] finishedM2s = new double[16];
+
+    /**
+     * Records a measurement of a simulation in the given iteration.
+     * @param iteration the iteration of the measurement
+     * @param measurement the measurement
+     */
+    public void record(int iteration, double measurement) {
+        ensureReached(iteration + 1);
+        int n = ++reachedCounts[iteration];
+        double delta = measurement - reachedMeans[iteration];
+        reachedMeans[iteration] += delta / n;
+        reachedM2s[iteration] += delta * (measurement - reachedMeans[iteration]);
+    }
+
+    /**
+     * Records that a simulation with the given number of measurements has finished, so that its last measurement is carried forward to all later iterations.
+     * @param size the number of measurements of the simulation, recorded in iterations from {@code 0} to {@code size-1}
+     * @param lastMeasurement the measurement of the simulation in iteration {@code size-1}
+     */
+    public void finish(int size, double lastMeasurement) {
+        ensureFinished(size + 1);
+        count++;
+        int n = ++finishedCounts[size];
+        double delta = lastMeasurement - finishedMeans[size];
+        finishedMeans[size] += delta / n;
+        finishedM2s[size] += delta * (lastMeasurement - finishedMeans[size]);
+    }
+
+    /**
+     * Adds measurements of one simulation to this accumulator. It is equivalent to recording each measurement and finishing the simulation.
+     * @param measurements measurements of the simulation in consecutive iterations
+     * @param size the number of measurements
+     */
+    public void add(double[] measurements, int size) {
+        if(size == 0)
+            return;
+        for(int i = 0; i < size; i++)
+            record(i, measurements[i]);
+        finish(size, measurements[size - 1]);
+    }
+
+    /**
+     * Merges the given accumulator of a disjoint set of simulations to this accumulator.
+     * @param other an accumulator to be merged to this one
+     */
+    public void merge(IterationStatistics other) {
+        ensureReached(other.length);
+        for(int i = 0; i < other.length; i++)
+            mergeInto(reachedCounts, reachedMeans, reachedM2s, i, other.reachedCounts[i], other.reachedMeans[i], other.reachedM2s[i]);
+        ensureFinished(other.length + 1);
+        for(int i = 0; i <= other.length && i < other.finishedCounts.length; i++)
+            mergeInto(finishedCounts, finishedMeans, finishedM2s, i, other.finishedCounts[i], other.finishedMeans[i], other.finishedM2s[i]);
+        count += other.count;
+    }
+
+    private static void mergeInto(int[] counts, double[] means, double[] m2s, int i, int otherCount, double otherMean, double otherM2) {
+        if(otherCount == 0)
+            return;
+        if(counts[i] == 0) {
+            counts[i] = otherCount;
+            means[i] = otherMean;
+            m2s[i] = otherM2;
+            return;
+        }
+        int total = counts[i] + otherCount;
+        double delta = otherMean - means[i];
+        means[i] += delta * otherCount / total;
+        m2s[i] += otherM2 + delta * delta * ((double) counts[i] * otherCount / total);
+        counts[i] = total;
+    }
+
+    private void ensureReached(int newLength) {
+        if(newLength <= length)
+            return;
+        if(newLength > reachedCounts.length) {
+            int capacity = Math.max(newLength, 2 * reachedCounts.length);
+            reachedCounts = Arrays.copyOf(reachedCounts, capacity);
+            reachedMeans = Arrays.copyOf(reachedMeans, capacity);
+            reachedM2s = Arrays.copyOf(reachedM2s, capacity);
+        }
+        length = newLength;
+    }
+
+    private void ensureFinished(int capacity) {
+        if(capacity > finishedCounts.length) {
+            capacity = Math.max(capacity, 2 * finishedCounts.length);
+            finishedCounts = Arrays.copyOf(finishedCounts, capacity);
+            finishedMeans = Arrays.copyOf(finishedMeans, capacity);
+            finishedM2s = Arrays.copyOf(finishedM2s, capacity);
+        }
+    }
+
+    /**
+     * Returns an array of means of the first {@code size} iterations.
+     * @param size the number of iterations
+     * @return an array of means of the first {@code size} iterations
+     */
+    public double[] getMeans(int size) {
+        double[] means = new double[size];
+        combine(size, means, null);
+        return means;
+    }
+
+    /**
+     * Returns an array of sums of squared deviations from the mean of the first {@code size} iterations.
+     * @param size the number of iterations
+     * @return an array of sums of squared deviations from the mean of the first {@code size} iterations
+     */
+    public double[] getM2s(int size) {
+        double[] m2s = new double[size];
+        combine(size, null, m2s);
+        return m2s;
+    }
+
+    /**
+     * Computes statistics of the first {@code size} iterations by merging the statistics of simulations which reached each iteration
+     * with the running statistics of the last measurements of simulations which finished before it.
+     */
+    private void combine(int size, double[] means, double[] m2s) {
+        int[] counts = new int[size];
+        if(means == null) means = new double[size];
+        if(m2s == null) m2s = new double[size];
+        int finishedCount = 0;
+        double finishedMean = 0;
+        double finishedM2 = 0;
+        for(int i = 0; i < size; i++) {
+            counts[i] = finishedCount;
+            means[i] = finishedMean;
+            m2s[i] = finishedM2;
+            if(i < finishedCounts.length)
+                mergeInto(counts, means, m2s, i, finishedCounts[i], finishedMeans[i], finishedM2s[i]);
+            finishedCount = counts[i];
+            finishedMean = means[i];
+            finishedM2 = m2s[i];
+            if(i < length)
+                mergeInto(counts, means, m2s, i, reachedCounts[i], reachedMeans[i], reachedM2s[i]);
+        }
+    }
+
+    /**
+     * Writes this accumulator to the given output in a binary form readable by {@code readFrom}.
+     * @param output the output to write this accumulator to
+     * @throws IOException an exception of writing to the output
+     */
+    public void writeTo(DataOutput output) throws IOException {
+        output.writeInt(count);
+        output.writeInt(length);
+        for(int i = 0; i < length; i++) {
+            output.writeInt(reachedCounts[i]);
+            output.writeDouble(reachedMeans[i]);
+            output.writeDouble(reachedM2s[i]);
+        }
+        for(int i = 0; i <= length; i++) {
+            boolean bucket = i < finishedCounts.length;
+            output.writeInt(bucket ? finishedCounts[i] : 0);
+            output.writeDouble(bucket ? finishedMeans[i] : 0);
+            output.writeDouble(bucket ? finishedM2s[i] : 0);
+        }
+    }
+
+    /**
+     * Reads an accumulator written by {@code writeTo} from the given input.
+     * @param input the input to read an accumulator from
+     * @return the accumulator read from the input
+     * @throws IOException an exception of reading from the input
+     */
+    public static IterationStatistics readFrom(DataInput input) throws IOException {
+        IterationStatistics statistics = new IterationStatistics();
+        statistics.count = input.readInt();
+        int length = input.readInt();
+        statistics.ensureReached(length);
+        for(int i = 0; i < length; i++) {
+            statistics.reachedCounts[i] = input.readInt();
+            statistics.reachedMeans[i] = input.readDouble();
+            statistics.reachedM2s[i] = input.readDouble();
+        }
+        statistics.ensureFinished(length + 1);
+        for(int i = 0; i <= length; i++) {
+            statistics.finishedCounts[i] = input.readInt();
+            statistics.finishedMeans[i] = input.readDouble();
+            statistics.finishedM2s[i] = input.readDouble();
+        }
+        return statistics;
+    }
+
+    /**
+     * Returns an accumulator of the given number of simulations with the given means and sums of squared deviations from the mean in consecutive iterations,
+     * whose last statistics are carried forward to all later iterations.
+     * @param count the number of simulations
+     * @param means means in consecutive iterations
+     * @param m2s sums of squared deviations from the mean in consecutive iterations, of the same length as {@code means}
+     * @return an accumulator with the given statistics
+     */
+    public static IterationStatistics of(int count, double[] means, double[] m2s) {
+        if(means.length != m2s.length)
+            throw new IllegalArgumentException("Means and sums of squared deviations must be of the same length.");
+        IterationStatistics statistics = new IterationStatistics();
+        if(means.length == 0 || count == 0)
+            return statistics;
+        statistics.count = count;
+        statistics.ensureReached(means.length);
+        Arrays.fill(statistics.reachedCounts, 0, means.length, count);
+        System.arraycopy(means, 0, statistics.reachedMeans, 0, means.length);
+        System.arraycopy(m2s, 0, statistics.reachedM2s, 0, m2s.length);
+        statistics.ensureFinished(means.length + 1);
+        statistics.finishedCounts[means.length] = count;
+        statistics.finishedMeans[means.length] = means[means.length - 1];
+        statistics.finishedM2s[means.length] = m2s[m2s.length - 1];
+        return statistics;
+    }
+
+    public int getCount() {
+        return this.count;
+    }
+
+    public int getLength() {
+        return this.length;
+    }
+}
@@ -0,0 +1,163 @@
+package simulation.simulation;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import util.Randoms;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A class for conducting simulations of several configurations, e.g. with different variant agents or variant influences, on common random numbers.
+ * <p>
+ * The simulation of each configuration with the same replica index is conducted on the same seeded streams of {@code Randoms},
+ * so that the population dynamics of the configurations stay identical until their interactions diverge. The first configuration is the baseline,
+ * and for every other configuration, paired differences between its statistics and the statistics of the baseline are accumulated in each iteration,
+ * with the same rule for simulations of different lengths as in {@code SimulationConductor}, i.e. a finished simulation contributes its last statistics to later iterations.
+ * As the statistics of paired simulations are positively correlated, the variance of the paired differences is lower than the sum of variances
+ * of the configurations, and fewer replicas are needed for a given precision of the differences.
+ * Each configuration's conductor also gathers its ordinary results.
+ * <p>
+ * The pattern simulations of the configurations must be created on the same seeded streams, so that they share their initial lexicons and, for
+ * {@code ContinuousTimeScheduler}, activity rates of agents, which keeps the interactions of variant agents off the dynamics stream.
+ * @see SimulationConductor
+ * @see PairedConductorSerializer
+ * @see Randoms
+ */
+@EqualsAndHashCode @ToString
+public class PairedConductor {
+
+    private final SimulationConductor[] conductors;
+    private final String[] configurations;
+    private final long seed;
+
+    private final IterationStatistics[][][] differences;
+    private int replicas = 0;
+
+    /**
+     * Initializes this conductor with the given conductors of configurations, the first of which is the baseline.
+     * @param conductors conductors of configurations with the same languages, at least two
+     * @param configurations names of configurations parallel to the conductors
+     * @param seed the seed from which the streams of each replica are derived
+     */
+    public PairedConductor(SimulationConductor[] conductors, String[] configurations, long seed) {
+        if(conductors.length < 2 || conductors.length != configurations.length)
+            throw new IllegalArgumentException("At least two named configurations must be compared.");
+        for(SimulationConductor conductor: conductors)
+            if(conductor.getLanguagesArray().length != conductors[0].getLanguagesArray().length)
+                throw new IllegalArgumentException("All configurations must concern the same number of languages.");
+        this.conductors = conductors;
+        this.configurations = configurations;
+        this.seed = seed;
+        this.differences = newDifferences(conductors.length, conductors[0].getLanguagesArray().length);
+    }
+
+    private static IterationStatistics[][][] newDifferences(int numOfConfigurations, int numOfLanguages) {
+        IterationStatistics[][][] differences = new IterationStatistics[numOfConfigurations - 1][ReplicaHistory.STATISTICS][numOfLanguages];
+        for(IterationStatistics[][] configuration: differences)
+            for(IterationStatistics[] statistic: configuration)
+                for(int l = 0; l < numOfLanguages; l++)
+                    statistic[l] = new IterationStatistics();
+        return differences;
+    }
+
+    /**
+     * Conducts the given number of replicas of all configurations in the given number of threads.
+     * Replicas are indexed consecutively over all invocations, so the results do not depend on the number of threads.
+     * @param times number of replicas
+     * @param stopIteration maximal number of iterations of each simulation
+     * @param threads number of threads
+     * @throws InterruptedException if the current thread was interrupted while waiting for the threads
+     */
+    public void conduct(int times, int stopIteration, int threads) throws InterruptedException {
+        threads = Math.max(1, Math.min(threads, times));
+        AtomicInteger nextReplica = new AtomicInteger(replicas);
+        int end = replicas + times;
+        SimulationConductor[][] localConductors = new SimulationConductor[threads][conductors.length];
+        IterationStatistics[][][][] localDifferences = new IterationStatistics[threads][][][];
+        Thread[] workers = new Thread[threads];
+        RuntimeException[] failures = new RuntimeException[threads];
+        for(int t = 0; t < threads; t++) {
+            int thread = t;
+            for(int c = 0; c < conductors.length; c++) {
+                localConductors[t][c] = new SimulationConductor(conductors[c].getPatternSimulation(), conductors[c].getTerminationCriterion());
+                if(conductors[c].getSnapshots() != null)
+                    localConductors[t][c].setSnapshots(conductors[c].getSnapshots().withSampling(conductors[c].getSnapshots().getSampling()));
+            }
+            localDifferences[t] = newDifferences(conductors.length, conductors[0].getLanguagesArray().length);
+            workers[t] = new Thread(() -> {
+                try {
+                    int replica;
+                    while((replica = nextReplica.getAndIncrement()) < end)
+                        conductReplica(replica, stopIteration, localConductors[thread], localDifferences[thread]);
+                } catch (RuntimeException e) {
+                    failures[thread] = e;
+                } finally {
+                    Randoms.unseed();
+                }
+            }, "paired-conductor-" + t);
+            workers[t].start();
+        }
+        for(Thread worker: workers)
+            worker.join();
+        for(RuntimeException failure: failures)
+            if(failure != null)
+                throw failure;
+        for(int t = 0; t < threads; t++) {
+            for(int c = 0; c < conductors.length; c++)
+                conductors[c].merge(localConductors[t][c]);
+            for(int c = 0; c < differences.length; c++)
+                for(int s = 0; s < ReplicaHistory.STATISTICS; s++)
+                    for(int l = 0; l < differences[c][s].length; l++)
+                        differences[c][s][l].merge(localDifferences[t][c][s][l]);
+        }
+        replicas = end;
+    }
+
+    private void conductReplica(int replica, int stopIteration, SimulationConductor[] conductors, IterationStatistics[][][] differences) {
+        int numOfLanguages = conductors[0].getLanguagesArray().length;
+        ReplicaHistory[] histories = new ReplicaHistory[conductors.length];
+        for(int c = 0; c < conductors.length; c++) {
+            Randoms.seed(seed, replica);
+            histories[c] = new ReplicaHistory(numOfLanguages);
+            conductors[c].conduct(stopIteration, histories[c]);
+        }
+        ReplicaHistory baseline = histories[0];
+        for(int c = 1; c < conductors.length; c++) {
+            int size = Math.max(baseline.size(), histories[c].size());
+            for(int s = 0; s < ReplicaHistory.STATISTICS; s++)
+                for(int l = 0; l < numOfLanguages; l++) {
+                    IterationStatistics statistics = differences[c - 1][s][l];
+                    for(int i = 0; i < size; i++)
+                        statistics.record(i, histories[c].get(s, l, i) - baseline.get(s, l, i));
+                    statistics.finish(size, histories[c].get(s, l, size - 1) - baseline.get(s, l, size - 1));
+                }
+        }
+    }
+
+    /**
+     * Returns the accumulator of paired differences between the given statistic of the given language of the configuration of the given index and of the baseline.
+     * @param configuration the index of a configuration other than the baseline, from {@code 1}
+     * @param statistic {@code 0} for weight sums, {@code 1} for numbers of users and {@code 2} for numbers of recognized things
+     * @param language the id of a language
+     * @return the accumulator of paired differences
+     */
+    public IterationStatistics getDifferences(int configuration, int statistic, int language) {
+        return differences[configuration - 1][statistic][language];
+    }
+
+    public SimulationConductor[] getConductors() {
+        return this.conductors;
+    }
+
+    public String[] getConfigurations() {
+        return this.configurations;
+    }
+
+    public long getSeed() {
+        return this.seed;
+    }
+
+    public int getReplicas() {
+        return this.replicas;
+    }
+}
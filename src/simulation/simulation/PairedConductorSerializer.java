@@ -0,0 +1,126 @@
+package simulation.simulation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * A class for serializing data from {@code PairedConductor} objects in JSON format.
+ * To serialize an object to file, use the static method {@code writeToFile}.
+ * <p>
+ * The JSON holds the results of each configuration in the format of {@code SimulationConductorSerializer}, and, for each configuration other than the baseline
+ * and each language, the mean of paired differences from the baseline in each iteration together with their variance, the variance of the difference
+ * of independent simulations computed from the results of both configurations, and the ratio of the sums of both variances over all iterations.
+ * @see PairedConductor
+ * @see SimulationConductorSerializer
+ */
+public class PairedConductorSerializer extends StdSerializer<PairedConductor> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String[] STATISTICS = {"weight sums", "nums of users", "nums of recognized things"};
+
+    private final HistoryFormat historyFormat;
+
+    public PairedConductorSerializer(Class<PairedConductor> t, HistoryFormat historyFormat) {
+        super(t);
+        this.historyFormat = historyFormat;
+    }
+
+    /**
+     * Serializes in JSON format the given conductor in a file saved in the given path, with histories written in the given format.
+     * @param conductor a {@code PairedConductor} object to be serialized
+     * @param path the path of file to serialize the given conductor
+     * @param historyFormat the format of histories
+     * @throws IOException an exception of input-output operations on the file from the given path
+     */
+    public static void writeToFile(PairedConductor conductor, String path, HistoryFormat historyFormat) throws IOException {
+        Writer writer = new FileWriter(path);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        objectMapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+
+        SimpleModule module = new SimpleModule();
+        module.addSerializer(SimulationConductor.class, new SimulationConductorSerializer(null, historyFormat));
+        module.addSerializer(PairedConductor.class, new PairedConductorSerializer(null, historyFormat));
+        objectMapper.registerModule(module);
+
+        objectMapper.writeValue(writer, conductor);
+    }
+
+    @Override
+    public void serialize(PairedConductor conductor, JsonGenerator jsonGenerator, SerializerProvider serializerProvider) throws IOException {
+        jsonGenerator.writeStartObject();
+        jsonGenerator.writeNumberField("paired seed", conductor.getSeed());
+        jsonGenerator.writeNumberField("number of replicas", conductor.getReplicas());
+        jsonGenerator.writeStringField("baseline", conductor.getConfigurations()[0]);
+
+        jsonGenerator.writeArrayFieldStart("configurations");
+        for(int c = 0; c < conductor.getConductors().length; c++) {
+            jsonGenerator.writeStartObject();
+            jsonGenerator.writeStringField("configuration", conductor.getConfigurations()[c]);
+            jsonGenerator.writeFieldName("results");
+            serializerProvider.defaultSerializeValue(conductor.getConductors()[c], jsonGenerator);
+            jsonGenerator.writeEndObject();
+        }
+        jsonGenerator.writeEndArray();
+
+        jsonGenerator.writeArrayFieldStart("paired differences");
+        for(int c = 1; c < conductor.getConductors().length; c++) {
+            jsonGenerator.writeStartObject();
+            jsonGenerator.writeStringField("configuration", conductor.getConfigurations()[c]);
+            jsonGenerator.writeArrayFieldStart("languages");
+            for(int l = 0; l < conductor.getConductors()[0].getLanguagesArray().length; l++) {
+                jsonGenerator.writeStartObject();
+                jsonGenerator.writeNumberField("id", l);
+                for(int s = 0; s < STATISTICS.length; s++)
+                    serializeDifferences(conductor, c, s, l, jsonGenerator);
+                jsonGenerator.writeEndObject();
+            }
+            jsonGenerator.writeEndArray();
+            jsonGenerator.writeEndObject();
+        }
+        jsonGenerator.writeEndArray();
+
+        jsonGenerator.writeEndObject();
+    }
+
+    private void serializeDifferences(PairedConductor conductor, int configuration, int statistic, int language, JsonGenerator jsonGenerator) throws IOException {
+        IterationStatistics differences = conductor.getDifferences(configuration, statistic, language);
+        int length = differences.getLength();
+        int n = differences.getCount();
+        double[] pairedVariances = differences.getM2s(length);
+        double[] unpairedVariances = new double[length];
+        double[] baselineM2s = statistics(conductor.getConductors()[0], statistic)[language].getM2s(length);
+        double[] configurationM2s = statistics(conductor.getConductors()[configuration], statistic)[language].getM2s(length);
+        double pairedSum = 0;
+        double unpairedSum = 0;
+        for(int i = 0; i < length; i++) {
+            pairedVariances[i] = n > 1 ? pairedVariances[i] / (n - 1) : 0;
+            unpairedVariances[i] = n > 1 ? (baselineM2s[i] + configurationM2s[i]) / (n - 1) : 0;
+            pairedSum += pairedVariances[i];
+            unpairedSum += unpairedVariances[i];
+        }
+        String name = STATISTICS[statistic];
+        historyFormat.writeHistory("mean " + name + " difference history", differences.getMeans(length), length, jsonGenerator);
+        historyFormat.writeHistory(name + " difference variance history", pairedVariances, length, jsonGenerator);
+        historyFormat.writeHistory("unpaired " + name + " difference variance history", unpairedVariances, length, jsonGenerator);
+        jsonGenerator.writeNumberField(name + " variance ratio", unpairedSum > 0 ? pairedSum / unpairedSum : 1);
+    }
+
+    private static IterationStatistics[] statistics(SimulationConductor conductor, int statistic) {
+        switch (statistic) {
+            case 0: return conductor.getAverageWeightSums();
+            case 1: return conductor.getAverageNumsOfUsers();
+            default: return conductor.getAverageNumsOfRecognizedThings();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package simulation.simulation;
+
+import java.util.Arrays;
+
+/**
+ * A class keeping the statistics of each iteration of one simulation, so that histories of simulations conducted on common random numbers
+ * can be compared iteration by iteration. Beyond its last iteration, a history holds its last statistics, as in {@code IterationStatistics}.
+ * Statistics are indexed by {@code WEIGHT_SUMS}, {@code NUMS_OF_USERS} and {@code NUMS_OF_RECOGNIZED_THINGS}.
+ * @see PairedConductor
+ */
+class ReplicaHistory {
+
+    static final int WEIGHT_SUMS = 0;
+    static final int NUMS_OF_USERS = 1;
+    static final int NUMS_OF_RECOGNIZED_THINGS = 2;
+    static final int STATISTICS = 3;
+
+    private final int numOfLanguages;
+    private double[] values;
+    private int size = 0;
+
+    ReplicaHistory(int numOfLanguages) {
+        this.numOfLanguages = numOfLanguages;
+        this.values = new double[16 * STATISTICS * numOfLanguages];
+    }
+
+    void add(double[] weightSums, int[] numsOfUsers, int[] numsOfRecognizedThings) {
+        int stride = STATISTICS * numOfLanguages;
+        if((size + 1) * stride > values.length)
+            values = Arrays.copyOf(values, 2 * values.length);
+        int offset = size * stride;
+        for(int l = 0; l < numOfLanguages; l++) {
+            values[offset + WEIGHT_SUMS * numOfLanguages + l] = weightSums[l];
+            values[offset + NUMS_OF_USERS * numOfLanguages + l] = numsOfUsers[l];
+            values[offset + NUMS_OF_RECOGNIZED_THINGS * numOfLanguages + l] = numsOfRecognizedThings[l];
+        }
+        size++;
+    }
+
+    double get(int statistic, int language, int iteration) {
+        int i = Math.min(iteration, size - 1);
+        return values[i * STATISTICS * numOfLanguages + statistic * numOfLanguages + language];
+    }
+
+    int size() {
+        return size;
+    }
+}
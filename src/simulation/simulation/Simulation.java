@@ -10,6 +10,8 @@ import simulation.environment.Thing;
 import simulation.interaction.InteractionRunner;
 import simulation.language.Language;
 import simulation.population.Population;
+import simulation.scheduler.RandomSequentialScheduler;
+import simulation.scheduler.Scheduler;
 
 import java.util.Collection;
 import java.util.Map;
@@ -24,8 +26,10 @@ import java.util.Map;
  * @see Agent
  * @see InteractionRunner
  * @see VariantAgent
+ * @see Scheduler
+ * @see InteractionObserver
  */
-@EqualsAndHashCode @ToString
+@EqualsAndHashCode(exclude="interactionObserver") @ToString(exclude="interactionObserver")
 public class Simulation {
 
     private Environment environment;
@@ -34,6 +38,8 @@ public class Simulation {
     private InteractionRunner interactionRunner;
     private VariantAgent variantAgent;
     private int variantInfluence;
+    private Scheduler scheduler;
+    private InteractionObserver interactionObserver;
 
     private int numOfIterations = 0;
     private int numOfInteractions = 0;
@@ -54,6 +60,28 @@ public class Simulation {
             InteractionRunner interactionRunner,
             VariantAgent variantAgent,
             int variantInfluence
+    ) {
+        this(environment, languages, population, interactionRunner, variantAgent, variantInfluence, new RandomSequentialScheduler());
+    }
+
+    /**
+     * Initializes this simulation with the given arguments.
+     * @param environment the initial environment for this simulation
+     * @param languages the collection of languages competing in this simulation
+     * @param population the population of agents interacting in this simulation
+     * @param interactionRunner the interaction runner for interactions in this simulation
+     * @param variantAgent a variant agent for this simulation
+     * @param variantInfluence number of interactions of the given variant agents in each simulation's step
+     * @param scheduler the scheduler defining interactions conducted in each simulation's step
+     */
+    public Simulation(
+            Environment environment,
+            Collection<Language> languages,
+            Population population,
+            InteractionRunner interactionRunner,
+            VariantAgent variantAgent,
+            int variantInfluence,
+            Scheduler scheduler
     ) {
         this.environment = environment;
         this.languages = languages;
@@ -61,33 +89,45 @@ public class Simulation {
         this.interactionRunner = interactionRunner;
         this.variantAgent = variantAgent;
         this.variantInfluence = variantInfluence;
+        this.scheduler = scheduler;
     }
 
     /**
-     * Simulates a number of interactions within the population of agents equal to the size of this population.
+     * Simulates one step of this simulation with this simulation's scheduler.
+     * By default, it is a number of interactions within the population of agents equal to the size of this population.
      * If a variant agent is specified, it simulates {@code variantInfluence} interactions with the variant agent before
      * the interactions between agents.
      */
     public void simulateOneStep(){
         numOfIterations++;
-
-        for(int i=0; i < variantInfluence;i++) {
-            variantAgent.interact(population.randomAgent(), interactionRunner);
-            numOfInteractions += 1;
-        }
-
-        for(int i = 0; i < population.getSize(); i++) {
-            randomInteraction();
-            numOfInteractions += 1;
-        }
-
+        scheduler.step(this);
     }
 
-    private void randomInteraction(){
-        Agent speaker = population.randomAgent();
-        Agent listener = population.randomNeighbour(speaker);
-        Thing thing = environment.randomThing();
+    /**
+     * Runs an interaction between the agents of the given ids concerning the thing of the given id.
+     * @param speakerId the id of the speaker in the population of this simulation
+     * @param listenerId the id of the listener in the population of this simulation
+     * @param thingId the id of the topic of the interaction in the environment of this simulation
+     */
+    public void interact(int speakerId, int listenerId, int thingId){
+        Agent speaker = population.getAgent(speakerId);
+        Agent listener = population.getAgent(listenerId);
+        Thing thing = environment.getThing(thingId);
         interactionRunner.run(speaker, listener, thing);
+        numOfInteractions += 1;
+        if(interactionObserver != null)
+            interactionObserver.interacted(speakerId, listenerId, thingId);
+    }
+
+    /**
+     * Runs an interaction between this simulation's variant agent and the agent of the given id.
+     * @param agentId the id of the agent in the population of this simulation
+     */
+    public void interactWithVariantAgent(int agentId){
+        variantAgent.interact(population.getAgent(agentId), interactionRunner);
+        numOfInteractions += 1;
+        if(interactionObserver != null)
+            interactionObserver.interactedWithVariantAgent(agentId);
     }
 
     /**
@@ -123,6 +163,15 @@ public class Simulation {
         return WeightedLexiconAgent.countWeightSums(languages, population.getAgentsArray());
     }
 
+    /**
+     * Returns an array of sums of weights of words from the lexicons of the agents from this simulation's population belonging to each language,
+     * indexed by positions of languages in this simulation's collection of languages.
+     * @return an array of sums of weights of words belonging to each language of this simulation
+     */
+    public double[] getWeightSumsArray(){
+        return WeightedLexiconAgent.countWeightSums(getLanguagesArray(), population.getAgentsArray());
+    }
+
     /**
      * Returns a map from this simulation's collection of languages to integers such that each language is mapped to
      * the number of agents from this simulation's population for which this language is dominating.
@@ -133,6 +182,15 @@ public class Simulation {
         return Agent.countUsers(languages, population.getAgentsArray());
     }
 
+    /**
+     * Returns an array of numbers of agents from this simulation's population for which each language is dominating,
+     * indexed by positions of languages in this simulation's collection of languages.
+     * @return an array of numbers of users of each language of this simulation
+     */
+    public int[] getNumsOfUsersArray(){
+        return Agent.countUsers(getLanguagesArray(), population.getAgentsArray());
+    }
+
     /**
      * Returns a map from this simulation's collection of languages to integers such that each language is mapped to
      * the number of things recognized by any agent from this simulation's population of agents in association with a word belonging to this language.
@@ -143,6 +201,23 @@ public class Simulation {
         return Agent.countRecognizedThings(getLanguages(), population.getAgentsArray());
     }
 
+    /**
+     * Returns an array of numbers of things recognized by any agent from this simulation's population in association with a word belonging to each language,
+     * indexed by positions of languages in this simulation's collection of languages.
+     * @return an array of numbers of things recognized with words of each language of this simulation
+     */
+    public int[] getNumsOfRecognizedThingsArray(){
+        return Agent.countRecognizedThings(getLanguagesArray(), population.getAgentsArray());
+    }
+
+    /**
+     * Returns an array of languages of this simulation in the order of this simulation's collection of languages.
+     * @return an array of languages of this simulation
+     */
+    public Language[] getLanguagesArray() {
+        return languages.toArray(new Language[0]);
+    }
+
     public Environment getEnvironment() {
         return this.environment;
     }
@@ -167,6 +242,22 @@ public class Simulation {
         return this.variantInfluence;
     }
 
+    public Scheduler getScheduler() {
+        return this.scheduler;
+    }
+
+    public InteractionObserver getInteractionObserver() {
+        return this.interactionObserver;
+    }
+
+    /**
+     * Sets the observer notified about each interaction conducted in this simulation; {@code null} for no observer.
+     * @param interactionObserver the observer notified about each interaction conducted in this simulation
+     */
+    public void setInteractionObserver(InteractionObserver interactionObserver) {
+        this.interactionObserver = interactionObserver;
+    }
+
     public int getNumOfIterations() {
         return this.numOfIterations;
     }
@@ -4,10 +4,19 @@ import com.rits.cloning.Cloner;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import simulation.language.Language;
-
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map;
+import simulation.outcome.OutcomeWriter;
+import simulation.outcome.ReplicaOutcome;
+import simulation.termination.LexicalSynchronizationCriterion;
+import simulation.termination.LexiconCounters;
+import simulation.termination.TerminationCriterion;
+import simulation.trajectory.TrajectoryRecorder;
+import util.LogHistogram;
+import util.Randoms;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 /**
  * A class for conducting a simulation with given parameters multiple number of times so that its results can be averaged.
@@ -15,53 +24,72 @@ import java.util.Map;
  * A {@code SimulationConductor} object gathers averaged statistics for the set of simulations conducted by it. They are accessible
  * with appropriate getters. Statistic are gathered for each language in the pattern simulation of a conductor.
  * A {@code SimulationConductor} holds pointers to languages in an array, and therefore each language can be identified with an id (index in the array).
+ * Statistics are kept in arrays indexed by ids of languages, as {@code IterationStatistics} accumulators of each iteration.
+ * Conductors of the same pattern simulation can write their results as partial results and merge partial results of other conductors,
+ * so that simulations can be conducted in multiple processes.
+ * <p>
+ * Each simulation is conducted until its {@code TerminationCriterion} is satisfied or the maximal number of iterations is reached.
+ * The criterion is evaluated with {@code LexiconCounters} maintained incrementally during the simulation,
+ * and the statistics of each iteration are snapshots reduced from the primitive tables of the counters.
+ * If {@code SimulationSnapshots} are set, each simulation starts from a saved state of evolved agents instead of the initial state of the pattern simulation.
+ * If a {@code TrajectoryRecorder} is set, the states of agents of the first simulation conducted after setting it are recorded by it.
+ * If a seed is set, each simulation is conducted on the streams of {@code Randoms} seeded with the seed and the index of its replica,
+ * so that the results of given replicas can be reproduced regardless of the threads or processes in which they are conducted.
+ * If an {@code OutcomeWriter} is set, the outcome of each simulation is passed to it as soon as the simulation finishes.
+ * Besides their sums, the numbers of iterations and of interactions of simulations are counted in {@code LogHistogram}s, so that percentiles
+ * of the time to convergence can be estimated.
  * @see Simulation
+ * @see TerminationCriterion
  * @see Language
  * @see SimulationConductorSerializer
+ * @see IterationStatistics
+ * @see LogHistogram
  */
-@EqualsAndHashCode @ToString
+@EqualsAndHashCode(exclude = {"snapshots", "trajectoryRecorder", "outcomeWriter", "seed", "nextReplica"}) @ToString(exclude = {"snapshots", "trajectoryRecorder", "outcomeWriter"})
 public class SimulationConductor {
 
+    /**
+     * The cloner of pattern simulations, shared by all conductors so that its caches of reflected fields are built once per process.
+     */
+    private static final Cloner CLONER = new Cloner();
+
     private final Simulation patternSimulation;
+    private final TerminationCriterion terminationCriterion;
 
     private Language[] languages;
-    private Map<Language, ArrayList<Double>> averageWeightSums;
-    private Map<Language, ArrayList<Double>> averageNumsOfUsers;
-    private Map<Language, ArrayList<Double>> averageNumsOfRecognizedThings;
+    private IterationStatistics[] averageWeightSums;
+    private IterationStatistics[] averageNumsOfUsers;
+    private IterationStatistics[] averageNumsOfRecognizedThings;
 
     private int simulationsConducted = 0;
-    private int iterations = 0;
-    private int interactions = 0;
+    private long iterations = 0;
+    private double iterationsM2 = 0;
+    private long interactions = 0;
     private int maxSimulationsLength = 0;
     private int unfinishedSimulations = 0;
+    private LogHistogram iterationsHistogram = new LogHistogram();
+    private LogHistogram interactionsHistogram = new LogHistogram();
 
-    private SimulationConductor(Simulation patternSimulation, int initialMaxIteration) {
-        this.patternSimulation = new Cloner().deepClone(patternSimulation);
+    private SimulationSnapshots snapshots;
+    private TrajectoryRecorder trajectoryRecorder;
+    private OutcomeWriter outcomeWriter;
+    private Long seed;
+    private long nextReplica = 0;
 
-        this.languages = new Language[this.patternSimulation.getLanguages().size()];
+    private SimulationConductor(Simulation patternSimulation, TerminationCriterion terminationCriterion, int initialMaxIteration) {
+        this.patternSimulation = CLONER.deepClone(patternSimulation);
+        this.terminationCriterion = terminationCriterion;
 
-        this.averageWeightSums = new HashMap<>();
-        this.averageNumsOfUsers = new HashMap<>();
-        this.averageNumsOfRecognizedThings = new HashMap<>();
+        this.languages = patternSimulation.getLanguagesArray();
 
-        int i = 0;
-        for (Language language : patternSimulation.getLanguages()) {
-            languages[i++] = language;
+        this.averageWeightSums = new IterationStatistics[languages.length];
+        this.averageNumsOfUsers = new IterationStatistics[languages.length];
+        this.averageNumsOfRecognizedThings = new IterationStatistics[languages.length];
 
-            averageWeightSums.put(language, new ArrayList<>(initialMaxIteration));
-            averageNumsOfUsers.put(language, new ArrayList<>(initialMaxIteration));
-            averageNumsOfRecognizedThings.put(language, new ArrayList<>(initialMaxIteration));
-
-            if(initialMaxIteration == 0) {
-                averageWeightSums.get(language).add(patternSimulation.getWeightSums().get(language));
-                averageNumsOfUsers.get(language).add(patternSimulation.getNumsOfUsers().get(language).doubleValue());
-                averageNumsOfRecognizedThings.get(language).add(patternSimulation.getNumsOfRecognizedThings().get(language).doubleValue());
-            }
-            else{
-                averageWeightSums.get(language).set(0, patternSimulation.getWeightSums().get(language));
-                averageNumsOfUsers.get(language).set(0, patternSimulation.getNumsOfUsers().get(language).doubleValue());
-                averageNumsOfRecognizedThings.get(language).set(0, patternSimulation.getNumsOfRecognizedThings().get(language).doubleValue());
-            }
+        for (int i = 0; i < languages.length; i++) {
+            averageWeightSums[i] = new IterationStatistics();
+            averageNumsOfUsers[i] = new IterationStatistics();
+            averageNumsOfRecognizedThings[i] = new IterationStatistics();
         }
     }
 
@@ -70,47 +98,110 @@ public class SimulationConductor {
      * @param patternSimulation the simulation to be conducted multiple times by this conductor.
      */
     public SimulationConductor(Simulation patternSimulation) {
-        this(patternSimulation, 0);
+        this(patternSimulation, new LexicalSynchronizationCriterion());
+    }
+
+    /**
+     * Initializes this conductor with the given simulation and the given termination criterion.
+     * @param patternSimulation the simulation to be conducted multiple times by this conductor.
+     * @param terminationCriterion the criterion of terminating each conducted simulation
+     */
+    public SimulationConductor(Simulation patternSimulation, TerminationCriterion terminationCriterion) {
+        this(patternSimulation, terminationCriterion, 0);
     }
 
     /**
-     * Conducts this conductor's {@code patternSimulation} until the simulation's population reaches lexicon identity
-     * or {@code stopIteration} are conducted. During the conductment, statistics are gathered and at the end, they are merged
-     * to averaged statistics held by this conductor.
+     * Conducts this conductor's {@code patternSimulation} until this conductor's termination criterion is satisfied
+     * or {@code stopIteration} are conducted. During the conductment, statistics of each iteration are recorded online in the averaged statistics
+     * held by this conductor, and at the end, the last statistics are carried forward to later iterations of longer simulations.
      * @param stopIteration maximal number of iterations for this conductment
      */
     public void conduct(int stopIteration) {
+        conduct(stopIteration, null);
+    }
 
-        Simulation simulation = new Cloner().deepClone(patternSimulation);
-
-        Map<Language, ArrayList<Double>> currentSimulationWeightSums = new HashMap<>();
-        Map<Language, ArrayList<Double>> currentSimulationNumsOfUsers = new HashMap<>();
-        Map<Language, ArrayList<Double>> currentSimulationNumsOfRecognizedThings = new HashMap<>();
+    /**
+     * Conducts this conductor's {@code patternSimulation} as {@code conduct(stopIteration)} and additionally keeps statistics of each of its iterations in the given history.
+     * @param stopIteration maximal number of iterations for this conductment
+     * @param history the history of the conducted simulation; {@code null} to keep no history
+     */
+    void conduct(int stopIteration, ReplicaHistory history) {
+        long replica = nextReplica++;
+        if (seed == null) {
+            conductReplica(stopIteration, history, replica);
+            return;
+        }
+        Randoms.seed(seed, replica);
+        try {
+            conductReplica(stopIteration, history, replica);
+        } finally {
+            Randoms.unseed();
+        }
+    }
 
-        for (Language language : simulation.getLanguages()) {
-            currentSimulationWeightSums.put(language, new ArrayList<>());
-            currentSimulationNumsOfUsers.put(language, new ArrayList<>());
-            currentSimulationNumsOfRecognizedThings.put(language, new ArrayList<>());
+    private void conductReplica(int stopIteration, ReplicaHistory history, long replica) {
+
+        Simulation simulation = CLONER.deepClone(patternSimulation);
+        if (snapshots != null)
+            SimulationSnapshots.restore(snapshots.next(), simulation);
+        TerminationCriterion criterion = CLONER.deepClone(terminationCriterion);
+        LexiconCounters counters = new LexiconCounters(simulation);
+        simulation.setInteractionObserver(counters);
+        TrajectoryRecorder recorder = trajectoryRecorder != null && !trajectoryRecorder.isStarted() ? trajectoryRecorder : null;
+        if (recorder != null) {
+            try {
+                recorder.start(simulation, counters);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            recorder.record(simulation.getNumOfIterations(), counters);
         }
 
-        update(currentSimulationWeightSums, simulation.getWeightSums());
-        update(currentSimulationNumsOfUsers, simulation.getNumsOfUsers());
-        update(currentSimulationNumsOfRecognizedThings, simulation.getNumsOfRecognizedThings());
+        double[] weightSums = counters.getWeightSumsArray();
+        int[] numsOfUsers = counters.getNumsOfUsersArray();
+        int[] numsOfRecognizedThings = counters.getNumsOfRecognizedThingsArray();
+        int measurements = 0;
+        record(measurements++, weightSums, numsOfUsers, numsOfRecognizedThings);
+        if (history != null)
+            history.add(weightSums, numsOfUsers, numsOfRecognizedThings);
 
-        while (!(simulation.agentsLexicallySynchronized() && simulation.oneToOneLexicons()) && simulation.getNumOfIterations() < stopIteration) {
+        while (!criterion.satisfied(counters) && simulation.getNumOfIterations() < stopIteration) {
             simulation.simulateOneStep();
 
-            update(currentSimulationWeightSums, simulation.getWeightSums());
-            update(currentSimulationNumsOfUsers, simulation.getNumsOfUsers());
-            update(currentSimulationNumsOfRecognizedThings, simulation.getNumsOfRecognizedThings());
+            weightSums = counters.getWeightSumsArray();
+            numsOfUsers = counters.getNumsOfUsersArray();
+            numsOfRecognizedThings = counters.getNumsOfRecognizedThingsArray();
+            record(measurements++, weightSums, numsOfUsers, numsOfRecognizedThings);
+            if (history != null)
+                history.add(weightSums, numsOfUsers, numsOfRecognizedThings);
+            if (recorder != null)
+                recorder.record(simulation.getNumOfIterations(), counters);
+        }
+
+        if (recorder != null) {
+            try {
+                recorder.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
         }
 
-        mergeToAverage(currentSimulationWeightSums, averageWeightSums);
-        mergeToAverage(currentSimulationNumsOfUsers, averageNumsOfUsers);
-        mergeToAverage(currentSimulationNumsOfRecognizedThings, averageNumsOfRecognizedThings);
+        if (outcomeWriter != null)
+            outcomeWriter.accept(new ReplicaOutcome(replica, seed, simulation.getNumOfIterations(), simulation.getNumOfInteractions(),
+                    simulation.getNumOfIterations() < stopIteration, numsOfUsers, weightSums, numsOfRecognizedThings));
+
+        for (int l = 0; l < languages.length; l++) {
+            averageWeightSums[l].finish(measurements, weightSums[l]);
+            averageNumsOfUsers[l].finish(measurements, numsOfUsers[l]);
+            averageNumsOfRecognizedThings[l].finish(measurements, numsOfRecognizedThings[l]);
+        }
 
+        double previousMeanIterations = simulationsConducted == 0 ? 0 : (double) iterations / simulationsConducted;
         iterations += simulation.getNumOfIterations();
+        iterationsM2 += (simulation.getNumOfIterations() - previousMeanIterations) * (simulation.getNumOfIterations() - (double) iterations / (simulationsConducted + 1));
         interactions += simulation.getNumOfInteractions();
+        iterationsHistogram.record(simulation.getNumOfIterations());
+        interactionsHistogram.record(simulation.getNumOfInteractions());
 
         if (simulation.getNumOfIterations() > maxSimulationsLength)
             maxSimulationsLength = simulation.getNumOfIterations();
@@ -132,37 +223,180 @@ public class SimulationConductor {
             conduct(stopIteration);
     }
 
-    private void update(Map<Language, ArrayList<Double>> statistics, Map<Language, ? extends Number> map) {
-        for (Language language : map.keySet())
-            statistics.get(language).add(map.get(language).doubleValue());
+    /**
+     * Conducts this conductor's {@code patternSimulation} multiple times in the given number of threads.
+     * Each thread conducts its share of simulations with its own conductor of the same pattern simulation, and the results of the threads are merged
+     * to the results of this conductor, so that they are the same as if this conductor had conducted all simulations.
+     * @param times number of times to conduct the {@code patternSimulation}
+     * @param stopIteration maximal number of iterations for this conductment
+     * @param threads number of threads
+     * @throws InterruptedException if the current thread was interrupted while waiting for the threads
+     */
+    public void conduct(int times, int stopIteration, int threads) throws InterruptedException {
+        threads = Math.max(1, Math.min(threads, times));
+        if (threads == 1) {
+            conduct(times, stopIteration);
+            return;
+        }
+        SimulationConductor[] conductors = new SimulationConductor[threads];
+        Thread[] workers = new Thread[threads];
+        RuntimeException[] failures = new RuntimeException[threads];
+        long firstReplica = nextReplica;
+        for (int t = 0; t < threads; t++) {
+            int share = times / threads + (t < times % threads ? 1 : 0);
+            int thread = t;
+            conductors[t] = new SimulationConductor(patternSimulation, terminationCriterion);
+            conductors[t].setSnapshots(snapshots);
+            conductors[t].setSeed(seed, firstReplica);
+            conductors[t].setOutcomeWriter(outcomeWriter);
+            firstReplica += share;
+            if (t == 0)
+                conductors[t].setTrajectoryRecorder(trajectoryRecorder);
+            workers[t] = new Thread(() -> {
+                try {
+                    conductors[thread].conduct(share, stopIteration);
+                } catch (RuntimeException e) {
+                    failures[thread] = e;
+                }
+            }, "conductor-" + t);
+            workers[t].start();
+        }
+        for (Thread worker : workers)
+            worker.join();
+        for (RuntimeException failure : failures)
+            if (failure != null)
+                throw failure;
+        for (SimulationConductor conductor : conductors)
+            merge(conductor);
+        nextReplica = firstReplica;
     }
 
-    private void mergeToAverage(Map<Language, ArrayList<Double>> measurements, Map<Language, ArrayList<Double>> average) {
-        for (Language language : measurements.keySet()) {
-            for (int i = 0; i < Math.min(measurements.get(language).size(), average.get(language).size()); i++) {
-                double oldAverage = average.get(language).get(i);
-                double newElem = measurements.get(language).get(i);
-                double newAverage = (simulationsConducted * oldAverage + newElem) / (simulationsConducted + 1);
-                average.get(language).set(i, newAverage);
-            }
+    /**
+     * Merges the results of the given conductor of the same pattern simulation to the results of this conductor,
+     * as if the simulations had been conducted by this conductor.
+     * @param other a conductor of the same pattern simulation
+     */
+    public void merge(SimulationConductor other) {
+        if (other.languages.length != languages.length)
+            throw new IllegalArgumentException("The conductor concerns a different number of languages.");
+        for (int l = 0; l < languages.length; l++) {
+            averageWeightSums[l].merge(other.averageWeightSums[l]);
+            averageNumsOfUsers[l].merge(other.averageNumsOfUsers[l]);
+            averageNumsOfRecognizedThings[l].merge(other.averageNumsOfRecognizedThings[l]);
+        }
+        merge(other.simulationsConducted, other.iterations, other.iterationsM2, other.interactions, other.maxSimulationsLength, other.unfinishedSimulations,
+                other.iterationsHistogram, other.interactionsHistogram);
+    }
 
-            for (int i = measurements.get(language).size(); i < average.get(language).size(); i++){
-                double oldAverage = average.get(language).get(i);
-                double newElem = measurements.get(language).get(measurements.get(language).size()-1);
-                double newAverage = (simulationsConducted * oldAverage + newElem) / (simulationsConducted + 1);
-                average.get(language).set(i, newAverage);
+    private void merge(int simulations, long iterations, double iterationsM2, long interactions, int maxSimulationsLength, int unfinishedSimulations,
+                       LogHistogram iterationsHistogram, LogHistogram interactionsHistogram) {
+        if (simulations > 0 && simulationsConducted > 0) {
+            double delta = (double) iterations / simulations - (double) this.iterations / simulationsConducted;
+            this.iterationsM2 += iterationsM2 + delta * delta * ((double) simulationsConducted * simulations / (simulationsConducted + simulations));
+        }
+        else
+            this.iterationsM2 += iterationsM2;
+        this.simulationsConducted += simulations;
+        this.iterations += iterations;
+        this.interactions += interactions;
+        this.maxSimulationsLength = Math.max(this.maxSimulationsLength, maxSimulationsLength);
+        this.unfinishedSimulations += unfinishedSimulations;
+        this.iterationsHistogram.merge(iterationsHistogram);
+        this.interactionsHistogram.merge(interactionsHistogram);
+    }
 
-            }
+    /**
+     * Sets the saved states from which simulations conducted by this conductor start. They are shared with conductors of threads in the multi-threaded conductment.
+     * @param snapshots states of evolved agents of the pattern simulation; {@code null} to start from the initial state of the pattern simulation
+     */
+    public void setSnapshots(SimulationSnapshots snapshots) {
+        this.snapshots = snapshots;
+    }
 
-            int size = average.get(language).size();
-            for(int i = size; i < measurements.get(language).size() ; i++){
-                double oldAverage = average.get(language).get(size-1);
-                double newElem = measurements.get(language).get(i);
-                double newAverage = (simulationsConducted * oldAverage + newElem) / (simulationsConducted + 1);
-                average.get(language).add(newAverage);
-            }
+    /**
+     * Sets the recorder of the trajectory of the next simulation conducted by this conductor.
+     * Only one simulation is recorded by a recorder, and the recorder is closed when the simulation finishes.
+     * In the multi-threaded conductment, the simulation is recorded by the first thread.
+     * @param trajectoryRecorder a recorder which has not started recording; {@code null} to record no trajectory
+     */
+    public void setTrajectoryRecorder(TrajectoryRecorder trajectoryRecorder) {
+        this.trajectoryRecorder = trajectoryRecorder;
+    }
+
+    /**
+     * Sets the writer to which the outcome of each simulation conducted by this conductor is passed. It is shared with conductors of threads in the multi-threaded conductment.
+     * @param outcomeWriter a writer of outcomes of replicas; {@code null} to pass outcomes nowhere
+     */
+    public void setOutcomeWriter(OutcomeWriter outcomeWriter) {
+        this.outcomeWriter = outcomeWriter;
+    }
+
+    /**
+     * Sets the seed of the streams of simulations conducted by this conductor and the index of the replica of the next conducted simulation.
+     * Consecutive simulations are conducted as consecutive replicas, also in the multi-threaded conductment, and replicas are indexed even if no seed is set.
+     * @param seed the seed from which the streams of each replica are derived; {@code null} to conduct simulations on unseeded streams
+     * @param nextReplica the index of the replica of the next conducted simulation
+     * @see Randoms#seed(long, long)
+     */
+    public void setSeed(Long seed, long nextReplica) {
+        this.seed = seed;
+        this.nextReplica = nextReplica;
+    }
+
+    private void record(int iteration, double[] weightSums, int[] numsOfUsers, int[] numsOfRecognizedThings) {
+        for (int l = 0; l < languages.length; l++) {
+            averageWeightSums[l].record(iteration, weightSums[l]);
+            averageNumsOfUsers[l].record(iteration, numsOfUsers[l]);
+            averageNumsOfRecognizedThings[l].record(iteration, numsOfRecognizedThings[l]);
+        }
+    }
+
+    /**
+     * Writes the results of simulations conducted by this conductor to the given output in a binary form,
+     * so that they can be merged to another conductor of the same pattern simulation with {@code mergePartialResults}.
+     * @param output the output to write partial results to
+     * @throws IOException an exception of writing to the output
+     */
+    public void writePartialResults(DataOutput output) throws IOException {
+        output.writeInt(simulationsConducted);
+        output.writeLong(iterations);
+        output.writeDouble(iterationsM2);
+        output.writeLong(interactions);
+        output.writeInt(maxSimulationsLength);
+        output.writeInt(unfinishedSimulations);
+        iterationsHistogram.writeTo(output);
+        interactionsHistogram.writeTo(output);
+        output.writeInt(languages.length);
+        for (int l = 0; l < languages.length; l++) {
+            averageWeightSums[l].writeTo(output);
+            averageNumsOfUsers[l].writeTo(output);
+            averageNumsOfRecognizedThings[l].writeTo(output);
         }
+    }
 
+    /**
+     * Reads partial results written by {@code writePartialResults} of another conductor of the same pattern simulation from the given input
+     * and merges them to the results of this conductor, as if the simulations had been conducted by this conductor.
+     * @param input the input to read partial results from
+     * @throws IOException an exception of reading from the input, or if the partial results concern a different number of languages
+     */
+    public void mergePartialResults(DataInput input) throws IOException {
+        int simulations = input.readInt();
+        long iterations = input.readLong();
+        double iterationsM2 = input.readDouble();
+        long interactions = input.readLong();
+        int maxSimulationsLength = input.readInt();
+        int unfinishedSimulations = input.readInt();
+        LogHistogram iterationsHistogram = LogHistogram.readFrom(input);
+        LogHistogram interactionsHistogram = LogHistogram.readFrom(input);
+        if (input.readInt() != languages.length)
+            throw new IOException("Partial results concern a different number of languages.");
+        for (int l = 0; l < languages.length; l++) {
+            averageWeightSums[l].merge(IterationStatistics.readFrom(input));
+            averageNumsOfUsers[l].merge(IterationStatistics.readFrom(input));
+            averageNumsOfRecognizedThings[l].merge(IterationStatistics.readFrom(input));
+        }
+        merge(simulations, iterations, iterationsM2, interactions, maxSimulationsLength, unfinishedSimulations, iterationsHistogram, interactionsHistogram);
     }
 
     /**
@@ -170,7 +404,7 @@ public class SimulationConductor {
      * @return the average length in iterations of simulations conducted by this conductor
      */
     public int getAverageIterations() {
-        return iterations / simulationsConducted;
+        return (int) (iterations / simulationsConducted);
     }
 
     /**
@@ -179,10 +413,7 @@ public class SimulationConductor {
      * @return an array of weight sums of the given language in each iteration averaged over all simulations conducted by this conductor.
      */
     public double[] getAverageWeightSumsArray(Language language) {
-        double[] array = new double[maxSimulationsLength];
-        for (int i = 0; i < maxSimulationsLength; i++)
-            array[i] = averageWeightSums.get(language).get(i);
-        return array;
+        return averageWeightSums[getLanguageId(language)].getMeans(maxSimulationsLength);
     }
 
     /**
@@ -191,10 +422,7 @@ public class SimulationConductor {
      * @return an array of numbers of users of the given language in each iteration averaged over all simulations conducted by this conductor.
      */
     public double[] getAverageNumsOfUsersArray(Language language) {
-        double[] array = new double[maxSimulationsLength];
-        for (int i = 0; i < maxSimulationsLength; i++)
-            array[i] = averageNumsOfUsers.get(language).get(i);
-        return array;
+        return averageNumsOfUsers[getLanguageId(language)].getMeans(maxSimulationsLength);
     }
 
     /**
@@ -203,10 +431,7 @@ public class SimulationConductor {
      * @return an array of numbers of recognized things of the given language in each iteration averaged over all simulations conducted by this conductor.
      */
     public double[] getAverageNumsOfRecognizedThingsArray(Language language) {
-        double[] array = new double[maxSimulationsLength];
-        for (int i = 0; i < maxSimulationsLength; i++)
-            array[i] = averageNumsOfRecognizedThings.get(language).get(i);
-        return array;
+        return averageNumsOfRecognizedThings[getLanguageId(language)].getMeans(maxSimulationsLength);
     }
 
     /**
@@ -235,19 +460,23 @@ public class SimulationConductor {
         return this.patternSimulation;
     }
 
+    public TerminationCriterion getTerminationCriterion() {
+        return this.terminationCriterion;
+    }
+
     public Language[] getLanguages() {
         return this.languages;
     }
 
-    public Map<Language, ArrayList<Double>> getAverageWeightSums() {
+    public IterationStatistics[] getAverageWeightSums() {
         return this.averageWeightSums;
     }
 
-    public Map<Language, ArrayList<Double>> getAverageNumsOfUsers() {
+    public IterationStatistics[] getAverageNumsOfUsers() {
         return this.averageNumsOfUsers;
     }
 
-    public Map<Language, ArrayList<Double>> getAverageNumsOfRecognizedThings() {
+    public IterationStatistics[] getAverageNumsOfRecognizedThings() {
         return this.averageNumsOfRecognizedThings;
     }
 
@@ -255,11 +484,15 @@ public class SimulationConductor {
         return this.simulationsConducted;
     }
 
-    public int getIterations() {
+    public long getIterations() {
         return this.iterations;
     }
 
-    public int getInteractions() {
+    public double getIterationsM2() {
+        return this.iterationsM2;
+    }
+
+    public long getInteractions() {
         return this.interactions;
     }
 
@@ -270,4 +503,32 @@ public class SimulationConductor {
     public int getUnfinishedSimulations() {
         return this.unfinishedSimulations;
     }
+
+    public LogHistogram getIterationsHistogram() {
+        return this.iterationsHistogram;
+    }
+
+    public LogHistogram getInteractionsHistogram() {
+        return this.interactionsHistogram;
+    }
+
+    public SimulationSnapshots getSnapshots() {
+        return this.snapshots;
+    }
+
+    public TrajectoryRecorder getTrajectoryRecorder() {
+        return this.trajectoryRecorder;
+    }
+
+    public OutcomeWriter getOutcomeWriter() {
+        return this.outcomeWriter;
+    }
+
+    public Long getSeed() {
+        return this.seed;
+    }
+
+    public long getNextReplica() {
+        return this.nextReplica;
+    }
 }
@@ -9,6 +9,7 @@ import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import simulation.agent.Agent;
 import simulation.agent.variant.VariantAgent;
 import simulation.language.Language;
+import util.LogHistogram;
 
 import java.io.FileWriter;
 import java.io.IOException;
@@ -18,18 +19,34 @@ import java.io.Writer;
  * A class for serializing data from {@code SimulationConductor} objects in JSON format.
  * To serialize an object to file, use the static method {@code writeToFile}.
  * <p>
+ * Besides the averaged histories, the JSON holds the total numbers of iterations and interactions and, for each language, the sufficient statistics
+ * of each history (the number of simulations, the means and the sums of squared deviations from the mean in each iteration, including the last one),
+ * so that results of separate runs can be combined exactly with {@code SimulationResultsMerger}.
+ * The distributions of the numbers of iterations and of interactions of simulations are written as their percentiles {@code p50}, {@code p90}, {@code p99},
+ * the minimum and the maximum, estimated with {@code LogHistogram}, together with the lower bounds and the counts of its non-empty buckets.
+ * Histories and sufficient statistics are written in the {@code HistoryFormat} of this serializer, which is also written to the JSON.
+ * <p>
  * This class can be used also as a {@code StdSerializer<SimulationConductor>} for user-defined serialization processes using Jackson databind library.
  * @see StdSerializer
  * @see SimulationConductor
+ * @see SimulationResultsMerger
+ * @see HistoryFormat
  */
 public class SimulationConductorSerializer extends StdSerializer<SimulationConductor> {
 
+    private final HistoryFormat historyFormat;
+
     public SimulationConductorSerializer() {
         this(null);
     }
 
     public SimulationConductorSerializer(Class<SimulationConductor> t) {
+        this(t, HistoryFormat.plain());
+    }
+
+    public SimulationConductorSerializer(Class<SimulationConductor> t, HistoryFormat historyFormat) {
         super(t);
+        this.historyFormat = historyFormat;
     }
 
     /**
@@ -39,17 +56,41 @@ public class SimulationConductorSerializer extends StdSerializer<SimulationCondu
      * @throws IOException an exception of input-output operations on the file from the given path
      */
     public static void writeToFile(SimulationConductor conductor, String path) throws IOException {
+        writeToFile(conductor, path, HistoryFormat.plain());
+    }
+
+    /**
+     * Serializes in JSON format the given conductor in a file saved in the given path, with histories written in the given format.
+     * @param conductor a {@code SimulationConductor} object to be serialized
+     * @param path the path of file to serialize the given conductor
+     * @param historyFormat the format of histories
+     * @throws IOException an exception of input-output operations on the file from the given path
+     */
+    public static void writeToFile(SimulationConductor conductor, String path, HistoryFormat historyFormat) throws IOException {
         Writer writer = new FileWriter(path);
+        objectMapper(historyFormat).writeValue(writer, conductor);
+    }
 
+    /**
+     * Serializes in JSON format the given conductor in a string, with histories written in the given format.
+     * @param conductor a {@code SimulationConductor} object to be serialized
+     * @param historyFormat the format of histories
+     * @return the JSON results of the conductor in one line
+     * @throws IOException an exception of serializing the conductor
+     */
+    public static String writeToString(SimulationConductor conductor, HistoryFormat historyFormat) throws IOException {
+        return objectMapper(historyFormat).writeValueAsString(conductor);
+    }
+
+    private static ObjectMapper objectMapper(HistoryFormat historyFormat) {
         ObjectMapper objectMapper = new ObjectMapper();
 
         objectMapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
 
         SimpleModule module = new SimpleModule();
-        module.addSerializer(SimulationConductor.class, new SimulationConductorSerializer());
+        module.addSerializer(SimulationConductor.class, new SimulationConductorSerializer(null, historyFormat));
         objectMapper.registerModule(module);
-
-        objectMapper.writeValue(writer, conductor);
+        return objectMapper;
     }
 
     @Override
@@ -59,8 +100,19 @@ public class SimulationConductorSerializer extends StdSerializer<SimulationCondu
         jsonGenerator.writeNumberField("number of simulations not finished", conductor.getUnfinishedSimulations());
         jsonGenerator.writeNumberField("average number of iterations", conductor.getAverageIterations());
         jsonGenerator.writeNumberField("maximum number of iterations", conductor.getMaxSimulationsLength());
-        jsonGenerator.writeNumberField("objects", conductor.getPatternSimulation().getEnvironment().getThings().size());
+        jsonGenerator.writeNumberField("total number of iterations", conductor.getIterations());
+        jsonGenerator.writeNumberField("total number of interactions", conductor.getInteractions());
+        serializeDistribution("iterations distribution", conductor.getIterationsHistogram(), jsonGenerator);
+        serializeDistribution("interactions distribution", conductor.getInteractionsHistogram(), jsonGenerator);
+        jsonGenerator.writeNumberField("objects", conductor.getPatternSimulation().getEnvironment().size());
+        jsonGenerator.writeFieldName("objects salience");
+        jsonGenerator.writeArray(conductor.getPatternSimulation().getEnvironment().getSalience(), 0, conductor.getPatternSimulation().getEnvironment().size());
         jsonGenerator.writeStringField("population type", conductor.getPatternSimulation().getPopulation().getClass().getSimpleName());
+        jsonGenerator.writeStringField("scheduler", conductor.getPatternSimulation().getScheduler().getClass().getSimpleName());
+        jsonGenerator.writeStringField("termination criterion", conductor.getTerminationCriterion().getSpecification());
+        jsonGenerator.writeNumberField("time step", conductor.getPatternSimulation().getScheduler().getTimeStep());
+        jsonGenerator.writeStringField("history encoding", historyFormat.getEncoding());
+        jsonGenerator.writeStringField("history downsampling", historyFormat.getDownsampling());
 
         serializeVariant(conductor, jsonGenerator, serializerProvider);
         serializeAgents(conductor, jsonGenerator, serializerProvider);
@@ -107,18 +159,48 @@ public class SimulationConductorSerializer extends StdSerializer<SimulationCondu
             jsonGenerator.writeFieldName("info");
             serializerProvider.defaultSerializeValue(language, jsonGenerator);
 
-            jsonGenerator.writeFieldName("average weight sums history");
-            jsonGenerator.writeArray(conductor.getAverageWeightSumsArray(language),0,conductor.getMaxSimulationsLength());
+            historyFormat.writeHistory("average weight sums history", conductor.getAverageWeightSumsArray(language), conductor.getMaxSimulationsLength(), jsonGenerator);
+
+            historyFormat.writeHistory("average nums of users history", conductor.getAverageNumsOfUsersArray(language), conductor.getMaxSimulationsLength(), jsonGenerator);
 
-            jsonGenerator.writeFieldName("average nums of users history");
-            jsonGenerator.writeArray(conductor.getAverageNumsOfUsersArray(language),0,conductor.getMaxSimulationsLength());
+            historyFormat.writeHistory("average nums of recognized things history", conductor.getAverageNumsOfRecognizedThingsArray(language), conductor.getMaxSimulationsLength(), jsonGenerator);
 
-            jsonGenerator.writeFieldName("average nums of recognized things history");
-            jsonGenerator.writeArray(conductor.getAverageNumsOfRecognizedThingsArray(language),0,conductor.getMaxSimulationsLength());
+            if(!historyFormat.isDownsampled()) {
+                int id = conductor.getLanguageId(language);
+                jsonGenerator.writeObjectFieldStart("sufficient statistics");
+                serializeStatistics("weight sums", conductor.getAverageWeightSums()[id], historyFormat, jsonGenerator);
+                serializeStatistics("nums of users", conductor.getAverageNumsOfUsers()[id], historyFormat, jsonGenerator);
+                serializeStatistics("nums of recognized things", conductor.getAverageNumsOfRecognizedThings()[id], historyFormat, jsonGenerator);
+                jsonGenerator.writeEndObject();
+            }
 
             jsonGenerator.writeEndObject();
         }
         jsonGenerator.writeEndArray();
     }
 
+    static void serializeStatistics(String name, IterationStatistics statistics, HistoryFormat historyFormat, JsonGenerator jsonGenerator) throws IOException {
+        jsonGenerator.writeObjectFieldStart(name);
+        jsonGenerator.writeNumberField("count", statistics.getCount());
+        historyFormat.writeValues("means", statistics.getMeans(statistics.getLength()), statistics.getLength(), jsonGenerator);
+        historyFormat.writeValues("M2", statistics.getM2s(statistics.getLength()), statistics.getLength(), jsonGenerator);
+        jsonGenerator.writeEndObject();
+    }
+
+    static void serializeDistribution(String name, LogHistogram histogram, JsonGenerator jsonGenerator) throws IOException {
+        jsonGenerator.writeObjectFieldStart(name);
+        jsonGenerator.writeNumberField("p50", histogram.getValueAtPercentile(50));
+        jsonGenerator.writeNumberField("p90", histogram.getValueAtPercentile(90));
+        jsonGenerator.writeNumberField("p99", histogram.getValueAtPercentile(99));
+        jsonGenerator.writeNumberField("min", histogram.getCount() == 0 ? 0 : histogram.getMin());
+        jsonGenerator.writeNumberField("max", histogram.getCount() == 0 ? 0 : histogram.getMax());
+        long[] lowerBounds = histogram.getLowerBounds();
+        jsonGenerator.writeFieldName("bucket lower bounds");
+        jsonGenerator.writeArray(lowerBounds, 0, lowerBounds.length);
+        long[] counts = histogram.getCounts();
+        jsonGenerator.writeFieldName("bucket counts");
+        jsonGenerator.writeArray(counts, 0, counts.length);
+        jsonGenerator.writeEndObject();
+    }
+
 }
@@ -0,0 +1,284 @@
+package simulation.simulation;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import util.LogHistogram;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * A class for merging JSON results files written by {@code SimulationConductorSerializer} for the same parameters into one file,
+ * as if all simulations had been conducted by one {@code SimulationConductor}.
+ * <p>
+ * Files are read one after another with a streaming parser, and only their sufficient statistics are kept in memory.
+ * The averaged histories of the merged file are computed from the merged sufficient statistics; histories of different lengths are merged
+ * with the same rule as in {@code SimulationConductor}, i.e. a finished simulation contributes its last measurement to all later iterations.
+ * Distributions of the numbers of iterations and of interactions are merged from the buckets of their histograms, and their percentiles are estimated again.
+ * All other fields of merged files, except for numbers of simulations and iterations, must be equal, so they must be written in the same {@code HistoryFormat},
+ * which is also the format of the merged file. Files with downsampled histories have no sufficient statistics and cannot be merged.
+ * @see SimulationConductorSerializer
+ * @see IterationStatistics
+ */
+public class SimulationResultsMerger {
+
+    private static final String[] STATISTICS = {"weight sums", "nums of users", "nums of recognized things"};
+    private static final String[] HISTORIES = {"average weight sums history", "average nums of users history", "average nums of recognized things history"};
+    private static final Set<String> COUNTS = new HashSet<>(Arrays.asList("number of simulations conducted", "number of simulations not finished",
+            "average number of iterations", "maximum number of iterations", "total number of iterations", "total number of interactions"));
+    private static final Set<String> DISTRIBUTIONS = new HashSet<>(Arrays.asList("iterations distribution", "interactions distribution"));
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonFactory jsonFactory = objectMapper.getFactory();
+
+    private Map<String, JsonNode> fields;
+    private List<Map<String, JsonNode>> languageFields;
+    private IterationStatistics[][] statistics;
+    private HistoryFormat historyFormat;
+
+    private int simulations = 0;
+    private int unfinishedSimulations = 0;
+    private int maxSimulationsLength = 0;
+    private long iterations = 0;
+    private long interactions = 0;
+    private final Map<String, LogHistogram> distributions = new HashMap<>();
+
+    /**
+     * Merges the results files from the given paths and writes the merged results in the file from the given path.
+     * @param paths paths of results files to be merged
+     * @param path the path of the file to write the merged results to
+     * @throws IOException an exception of input-output operations, or if the files are not compatible or have no sufficient statistics
+     */
+    public static void merge(List<String> paths, String path) throws IOException {
+        SimulationResultsMerger merger = new SimulationResultsMerger();
+        for(String file: paths)
+            merger.add(file);
+        merger.writeToFile(path);
+    }
+
+    /**
+     * Reads the results file from the given path and merges it to the results merged so far.
+     * @param path the path of a results file
+     * @throws IOException an exception of reading the file, or if it is not compatible with the files merged so far or has no sufficient statistics
+     */
+    public void add(String path) throws IOException {
+        Map<String, JsonNode> fileFields = new LinkedHashMap<>();
+        List<Map<String, JsonNode>> fileLanguageFields = new ArrayList<>();
+        List<IterationStatistics[]> fileStatistics = new ArrayList<>();
+        HistoryFormat fileFormat = HistoryFormat.plain();
+
+        try (JsonParser parser = jsonFactory.createParser(new File(path))) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT, path);
+            while(parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                parser.nextToken();
+                if(name.equals("languages")) {
+                    fileFormat = readFormat(fileFields, path);
+                    expect(parser.currentToken(), JsonToken.START_ARRAY, path);
+                    while(parser.nextToken() == JsonToken.START_OBJECT)
+                        fileStatistics.add(readLanguage(parser, fileLanguageFields, fileFormat, path));
+                }
+                else
+                    fileFields.put(name, parser.readValueAsTree());
+            }
+        }
+
+        for(IterationStatistics[] languageStatistics: fileStatistics)
+            for(IterationStatistics statistic: languageStatistics)
+                if(statistic == null)
+                    throw new IOException(path + " has no sufficient statistics and cannot be merged.");
+        for(String count: COUNTS)
+            if(!fileFields.containsKey(count))
+                throw new IOException(path + " has no field \"" + count + "\" and cannot be merged.");
+
+        if(fields != null)
+            for(String distribution: DISTRIBUTIONS)
+                if(fields.containsKey(distribution) != fileFields.containsKey(distribution))
+                    throw new IOException(path + " differs in field \"" + distribution + "\" from the files merged before.");
+
+        if(fields == null) {
+            fields = fileFields;
+            languageFields = fileLanguageFields;
+            statistics = fileStatistics.toArray(new IterationStatistics[0][]);
+            historyFormat = fileFormat;
+        }
+        else {
+            checkCompatible(fields, fileFields, path);
+            if(languageFields.size() != fileLanguageFields.size())
+                throw new IOException(path + " has a different number of languages.");
+            for(int l = 0; l < languageFields.size(); l++) {
+                checkCompatible(languageFields.get(l), fileLanguageFields.get(l), path);
+                for(int i = 0; i < STATISTICS.length; i++)
+                    statistics[l][i].merge(fileStatistics.get(l)[i]);
+            }
+        }
+
+        simulations += fileFields.get("number of simulations conducted").asInt();
+        unfinishedSimulations += fileFields.get("number of simulations not finished").asInt();
+        maxSimulationsLength = Math.max(maxSimulationsLength, fileFields.get("maximum number of iterations").asInt());
+        iterations += fileFields.get("total number of iterations").asLong();
+        interactions += fileFields.get("total number of interactions").asLong();
+        for(String distribution: DISTRIBUTIONS)
+            if(fileFields.containsKey(distribution))
+                distributions.merge(distribution, readDistribution(fileFields.get(distribution), path), (merged, added) -> { merged.merge(added); return merged; });
+    }
+
+    private static LogHistogram readDistribution(JsonNode distribution, String path) throws IOException {
+        JsonNode lowerBounds = distribution.get("bucket lower bounds");
+        JsonNode counts = distribution.get("bucket counts");
+        if(lowerBounds == null || counts == null || !lowerBounds.isArray() || !counts.isArray())
+            throw new IOException(path + " has a distribution without buckets.");
+        long[] bounds = new long[lowerBounds.size()];
+        long[] bucketCounts = new long[counts.size()];
+        for(int b = 0; b < bounds.length; b++)
+            bounds[b] = lowerBounds.get(b).asLong();
+        for(int b = 0; b < bucketCounts.length; b++)
+            bucketCounts[b] = counts.get(b).asLong();
+        try {
+            return LogHistogram.of(bounds, bucketCounts, distribution.path("min").asLong(), distribution.path("max").asLong());
+        } catch (IllegalArgumentException e) {
+            throw new IOException(path + " has a distribution with invalid buckets.", e);
+        }
+    }
+
+    private static HistoryFormat readFormat(Map<String, JsonNode> fileFields, String path) throws IOException {
+        JsonNode encoding = fileFields.get("history encoding");
+        JsonNode downsampling = fileFields.get("history downsampling");
+        if(downsampling != null && !downsampling.asText().equals("none"))
+            throw new IOException(path + " has histories downsampled with " + downsampling.asText() + " and cannot be merged.");
+        try {
+            return HistoryFormat.parse(encoding == null ? "plain" : encoding.asText(), "none");
+        } catch (IllegalArgumentException e) {
+            throw new IOException(path + " has an unknown history encoding.", e);
+        }
+    }
+
+    private IterationStatistics[] readLanguage(JsonParser parser, List<Map<String, JsonNode>> fileLanguageFields, HistoryFormat fileFormat, String path) throws IOException {
+        Map<String, JsonNode> language = new LinkedHashMap<>();
+        IterationStatistics[] languageStatistics = new IterationStatistics[STATISTICS.length];
+        while(parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            if(name.equals("sufficient statistics")) {
+                expect(parser.currentToken(), JsonToken.START_OBJECT, path);
+                while(parser.nextToken() == JsonToken.FIELD_NAME) {
+                    int i = Arrays.asList(STATISTICS).indexOf(parser.getCurrentName());
+                    parser.nextToken();
+                    if(i < 0)
+                        parser.skipChildren();
+                    else
+                        languageStatistics[i] = readStatistics(parser, fileFormat, path);
+                }
+            }
+            else if(Arrays.asList(HISTORIES).contains(name) || name.endsWith(" history iterations"))
+                parser.skipChildren();
+            else
+                language.put(name, parser.readValueAsTree());
+        }
+        fileLanguageFields.add(language);
+        return languageStatistics;
+    }
+
+    private IterationStatistics readStatistics(JsonParser parser, HistoryFormat fileFormat, String path) throws IOException {
+        expect(parser.currentToken(), JsonToken.START_OBJECT, path);
+        int count = 0;
+        double[] means = null;
+        double[] m2s = null;
+        while(parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            if(name.equals("count"))
+                count = parser.getIntValue();
+            else if(name.equals("means"))
+                means = fileFormat.readValues(parser);
+            else if(name.equals("M2"))
+                m2s = fileFormat.readValues(parser);
+            else
+                parser.skipChildren();
+        }
+        if(means == null || m2s == null)
+            throw new IOException(path + " has incomplete sufficient statistics.");
+        return IterationStatistics.of(count, means, m2s);
+    }
+
+    private static void expect(JsonToken token, JsonToken expected, String path) throws IOException {
+        if(token != expected)
+            throw new IOException(path + " is not a results file: expected " + expected + " but found " + token + ".");
+    }
+
+    private static void checkCompatible(Map<String, JsonNode> merged, Map<String, JsonNode> added, String path) throws IOException {
+        for(Map.Entry<String, JsonNode> field: added.entrySet())
+            if(!COUNTS.contains(field.getKey()) && !DISTRIBUTIONS.contains(field.getKey()) && !field.getValue().equals(merged.get(field.getKey())))
+                throw new IOException(path + " differs in field \"" + field.getKey() + "\" from the files merged before.");
+    }
+
+    /**
+     * Writes the merged results to the file from the given path in the format of {@code SimulationConductorSerializer}.
+     * @param path the path of the file to write the merged results to
+     * @throws IOException an exception of writing the file, or if no file was merged
+     */
+    public void writeToFile(String path) throws IOException {
+        if(fields == null)
+            throw new IOException("No results files to merge.");
+        try (JsonGenerator jsonGenerator = jsonFactory.createGenerator(new File(path), JsonEncoding.UTF8)) {
+            jsonGenerator.setCodec(objectMapper);
+            jsonGenerator.writeStartObject();
+            for(Map.Entry<String, JsonNode> field: fields.entrySet()) {
+                switch (field.getKey()) {
+                    case "number of simulations conducted":
+                        jsonGenerator.writeNumberField(field.getKey(), simulations);
+                        break;
+                    case "number of simulations not finished":
+                        jsonGenerator.writeNumberField(field.getKey(), unfinishedSimulations);
+                        break;
+                    case "average number of iterations":
+                        jsonGenerator.writeNumberField(field.getKey(), simulations == 0 ? 0 : iterations / simulations);
+                        break;
+                    case "maximum number of iterations":
+                        jsonGenerator.writeNumberField(field.getKey(), maxSimulationsLength);
+                        break;
+                    case "total number of iterations":
+                        jsonGenerator.writeNumberField(field.getKey(), iterations);
+                        break;
+                    case "total number of interactions":
+                        jsonGenerator.writeNumberField(field.getKey(), interactions);
+                        break;
+                    case "iterations distribution":
+                    case "interactions distribution":
+                        SimulationConductorSerializer.serializeDistribution(field.getKey(), distributions.get(field.getKey()), jsonGenerator);
+                        break;
+                    default:
+                        jsonGenerator.writeFieldName(field.getKey());
+                        jsonGenerator.writeTree(field.getValue());
+                }
+            }
+            writeLanguages(jsonGenerator);
+            jsonGenerator.writeEndObject();
+        }
+    }
+
+    private void writeLanguages(JsonGenerator jsonGenerator) throws IOException {
+        jsonGenerator.writeArrayFieldStart("languages");
+        for(int l = 0; l < languageFields.size(); l++) {
+            jsonGenerator.writeStartObject();
+            for(Map.Entry<String, JsonNode> field: languageFields.get(l).entrySet()) {
+                jsonGenerator.writeFieldName(field.getKey());
+                jsonGenerator.writeTree(field.getValue());
+            }
+            for(int i = 0; i < STATISTICS.length; i++)
+                historyFormat.writeHistory(HISTORIES[i], statistics[l][i].getMeans(maxSimulationsLength), maxSimulationsLength, jsonGenerator);
+            jsonGenerator.writeObjectFieldStart("sufficient statistics");
+            for(int i = 0; i < STATISTICS.length; i++)
+                SimulationConductorSerializer.serializeStatistics(STATISTICS[i], statistics[l][i], historyFormat, jsonGenerator);
+            jsonGenerator.writeEndObject();
+            jsonGenerator.writeEndObject();
+        }
+        jsonGenerator.writeEndArray();
+    }
+}
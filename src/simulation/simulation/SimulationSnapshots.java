@@ -0,0 +1,296 @@
+package simulation.simulation;
+
+import com.rits.cloning.Cloner;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import simulation.agent.Agent;
+import simulation.agent.SuccessCountingAgent;
+import simulation.environment.Environment;
+import simulation.environment.Thing;
+import simulation.language.WordRegistry;
+import simulation.lexicon.LimitedWeightsLexicon;
+import util.Randoms;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * A class holding a set of saved states of agents of evolved simulations, so that conducted simulations can start from them
+ * instead of the initial state of the pattern simulation, and a shared burn-in is paid once rather than once per simulation.
+ * <p>
+ * A state is the lexicon of each agent of a population, with its associations in the internal order of the lexicon,
+ * and the counters of successes and losses of each agent. Restoring a state in a clone of the pattern simulation gives
+ * exactly the evolved agents, so a simulation started from it continues as the evolved simulation would.
+ * States are sampled for consecutive simulations in one of two ways:
+ * <ul>
+ *     <li>{@code "roundrobin"} - states are used in turn</li>
+ *     <li>{@code "random"} - a state is drawn uniformly at random for each simulation from the auxiliary stream of {@code Randoms}</li>
+ * </ul>
+ * States are stored in a compact binary file: a header with a magic number, the number of states, agents and burn-in iterations
+ * and the specification of the simulation the states were saved from, which is checked when the file is read, followed by the deflated states, in which ids of things and words are written as variable-length integers.
+ * Only populations of {@code SuccessCountingAgent} agents with {@code LimitedWeightsLexicon} lexicons are supported.
+ * @see SimulationConductor#setSnapshots(SimulationSnapshots)
+ */
+@EqualsAndHashCode(exclude = "next") @ToString(exclude = "states")
+public class SimulationSnapshots {
+
+    private static final int MAGIC = 0x454c4353;
+    private static final int VERSION = 2;
+
+    private final List<byte[]> states;
+    private final int numOfAgents;
+    private final int burnIn;
+    private final String specification;
+    private final String sampling;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private SimulationSnapshots(List<byte[]> states, int numOfAgents, int burnIn, String specification, String sampling) {
+        if(!sampling.equals("roundrobin") && !sampling.equals("random"))
+            throw new IllegalArgumentException("Unknown sampling of states: " + sampling);
+        if(states.isEmpty())
+            throw new IllegalArgumentException("At least one state is needed.");
+        this.states = states;
+        this.numOfAgents = numOfAgents;
+        this.burnIn = burnIn;
+        this.specification = specification;
+        this.sampling = sampling;
+    }
+
+    /**
+     * Evolves the given number of independent clones of the given simulation for the given number of iterations and saves their states.
+     * The clones are evolved without the variant agent of the simulation, so that the variant agent applies only after the burn-in.
+     * If a seed is given, the clone of each state is evolved on the streams of {@code Randoms} seeded with the seed and the index of the state,
+     * so that the saved states are reproducible.
+     * @param pattern the simulation to be evolved
+     * @param iterations the number of iterations of the burn-in
+     * @param count the number of states to be saved
+     * @param seed the seed of the streams of the burn-in; {@code null} for unseeded streams
+     * @param specification the specification of the population, languages and environment of the simulation, checked when the states are read
+     * @return the saved states, sampled round-robin
+     */
+    public static SimulationSnapshots burnIn(Simulation pattern, int iterations, int count, Long seed, String specification) {
+        List<byte[]> states = new ArrayList<>(count);
+        for(int i = 0; i < count; i++) {
+            if(seed != null)
+                Randoms.seed(seed, i);
+            try {
+                Simulation clone = new Cloner().deepClone(pattern);
+                Simulation simulation = new Simulation(clone.getEnvironment(), clone.getLanguages(), clone.getPopulation(),
+                        clone.getInteractionRunner(), null, 0, clone.getScheduler());
+                for(int j = 0; j < iterations; j++)
+                    simulation.simulateOneStep();
+                states.add(capture(simulation));
+            } finally {
+                if(seed != null)
+                    Randoms.unseed();
+            }
+        }
+        return new SimulationSnapshots(states, pattern.getAgentsArray().length, iterations, specification, "roundrobin");
+    }
+
+    /**
+     * Returns the state of agents of the given simulation.
+     * @param simulation a simulation
+     * @return the state of agents of the simulation in the binary form
+     */
+    public static byte[] capture(Simulation simulation) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            for(Agent agent: simulation.getAgentsArray()) {
+                SuccessCountingAgent successCountingAgent = successCountingAgent(agent);
+                LimitedWeightsLexicon lexicon = lexicon(successCountingAgent);
+                writeCounters(output, successCountingAgent.getSuccesses());
+                writeCounters(output, successCountingAgent.getLosses());
+                writeVarInt(output, lexicon.size());
+                for(Thing thing: lexicon.things()) {
+                    writeVarInt(output, thing.getId());
+                    writeVarInt(output, lexicon.getThingWordQueues()[thing.getId()].size());
+                    IOException[] failure = new IOException[1];
+                    lexicon.getThingWordQueues()[thing.getId()].forEachWithWeight((word, weight) -> {
+                        try {
+                            writeVarInt(output, word.getId());
+                            output.writeDouble(weight);
+                        } catch (IOException e) {
+                            failure[0] = e;
+                        }
+                    });
+                    if(failure[0] != null)
+                        throw failure[0];
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Restores the given state in agents of the given simulation, which must be a clone of the simulation the state was captured from or of its pattern.
+     * @param state a state returned by {@code capture}
+     * @param simulation a simulation whose agents should be set to the state
+     */
+    public static void restore(byte[] state, Simulation simulation) {
+        Environment environment = simulation.getEnvironment();
+        WordRegistry registry = environment.getWordRegistry();
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(state))) {
+            for(Agent agent: simulation.getAgentsArray()) {
+                SuccessCountingAgent successCountingAgent = successCountingAgent(agent);
+                LimitedWeightsLexicon lexicon = lexicon(successCountingAgent);
+                successCountingAgent.setCounters(readCounters(input), readCounters(input));
+                lexicon.clear();
+                int things = readVarInt(input);
+                for(int t = 0; t < things; t++) {
+                    Thing thing = environment.getThing(readVarInt(input));
+                    int words = readVarInt(input);
+                    for(int w = 0; w < words; w++)
+                        lexicon.add(thing, registry.intern(readVarInt(input)), input.readDouble());
+                }
+            }
+            if(input.read() >= 0)
+                throw new IllegalArgumentException("The state concerns more agents than the simulation.");
+        } catch (EOFException e) {
+            throw new IllegalArgumentException("The state concerns fewer agents than the simulation.", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the state for the next conducted simulation, according to the sampling of these states. It can be invoked by multiple threads.
+     * @return the state for the next conducted simulation
+     */
+    public byte[] next() {
+        if(sampling.equals("random"))
+            return states.get(Randoms.auxiliary().nextInt(states.size()));
+        return states.get(Math.floorMod(next.getAndIncrement(), states.size()));
+    }
+
+    /**
+     * Returns these states sampled in the given way.
+     * @param sampling {@code "roundrobin"} or {@code "random"}
+     * @return these states sampled in the given way
+     */
+    public SimulationSnapshots withSampling(String sampling) {
+        return new SimulationSnapshots(states, numOfAgents, burnIn, specification, sampling);
+    }
+
+    /**
+     * Writes these states to the file from the given path.
+     * @param path the path of the file to write the states to
+     * @throws IOException an exception of writing the file
+     */
+    public void writeToFile(String path) throws IOException {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(states.size());
+            output.writeInt(numOfAgents);
+            output.writeInt(burnIn);
+            output.writeUTF(specification);
+            DeflaterOutputStream deflater = new DeflaterOutputStream(output);
+            DataOutputStream deflated = new DataOutputStream(deflater);
+            for(byte[] state: states) {
+                deflated.writeInt(state.length);
+                deflated.write(state);
+            }
+            deflated.flush();
+            deflater.finish();
+        }
+    }
+
+    /**
+     * Reads states written by {@code writeToFile} from the file from the given path, checking that they were saved from a simulation of the given specification.
+     * @param path the path of a file of states
+     * @param sampling {@code "roundrobin"} or {@code "random"}
+     * @param specification the specification of the population, languages and environment of the simulations in which the states are to be restored
+     * @return the states read from the file
+     * @throws IOException an exception of reading the file, or if it is not a file of states of a simulation of the given specification
+     */
+    public static SimulationSnapshots readFromFile(String path, String sampling, String specification) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(path)))) {
+            if(input.readInt() != MAGIC || input.readInt() != VERSION)
+                throw new IOException(path + " is not a file of simulation states of a known version.");
+            int count = input.readInt();
+            int numOfAgents = input.readInt();
+            int burnIn = input.readInt();
+            String saved = input.readUTF();
+            if(!saved.equals(specification))
+                throw new IOException(path + " holds states of a simulation of " + saved + ", which differs from " + specification + ".");
+            DataInputStream inflated = new DataInputStream(new InflaterInputStream(input));
+            List<byte[]> states = new ArrayList<>(count);
+            for(int i = 0; i < count; i++) {
+                byte[] state = new byte[inflated.readInt()];
+                inflated.readFully(state);
+                states.add(state);
+            }
+            return new SimulationSnapshots(states, numOfAgents, burnIn, specification, sampling);
+        }
+    }
+
+    private static SuccessCountingAgent successCountingAgent(Agent agent) {
+        if(!(agent instanceof SuccessCountingAgent))
+            throw new IllegalArgumentException("Only states of SuccessCountingAgent agents can be saved.");
+        return (SuccessCountingAgent) agent;
+    }
+
+    private static LimitedWeightsLexicon lexicon(SuccessCountingAgent agent) {
+        if(!(agent.getLexicon() instanceof LimitedWeightsLexicon))
+            throw new IllegalArgumentException("Only states of LimitedWeightsLexicon lexicons can be saved.");
+        return (LimitedWeightsLexicon) agent.getLexicon();
+    }
+
+    private static void writeCounters(DataOutput output, int[] counters) throws IOException {
+        writeVarInt(output, counters.length);
+        for(int counter: counters)
+            writeVarInt(output, counter);
+    }
+
+    private static int[] readCounters(DataInput input) throws IOException {
+        int[] counters = new int[readVarInt(input)];
+        for(int i = 0; i < counters.length; i++)
+            counters[i] = readVarInt(input);
+        return counters;
+    }
+
+    private static void writeVarInt(DataOutput output, int value) throws IOException {
+        while((value & ~0x7F) != 0) {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte(value);
+    }
+
+    private static int readVarInt(DataInput input) throws IOException {
+        int value = 0;
+        for(int shift = 0; ; shift += 7) {
+            byte b = input.readByte();
+            value |= (b & 0x7F) << shift;
+            if(b >= 0)
+                return value;
+        }
+    }
+
+    public int size() {
+        return states.size();
+    }
+
+    public int getNumOfAgents() {
+        return this.numOfAgents;
+    }
+
+    public int getBurnIn() {
+        return this.burnIn;
+    }
+
+    public String getSpecification() {
+        return this.specification;
+    }
+
+    public String getSampling() {
+        return this.sampling;
+    }
+}
@@ -12,12 +12,20 @@ import simulation.interaction.InteractionRunner;
 import simulation.interaction.StandardInteractionRunner;
 import simulation.language.Language;
 import simulation.language.ModuloLanguage;
+import simulation.language.WordRegistry;
 import simulation.lexicon.WeightedLexicon;
 import simulation.lexicon.creator.LimitedWeightsLexiconCreator;
 import simulation.population.Population;
 import simulation.population.SquareLatticePopulation;
+import simulation.scheduler.ActivityRates;
+import simulation.scheduler.BatchedScheduler;
+import simulation.scheduler.ContinuousTimeScheduler;
+import simulation.scheduler.RandomSequentialScheduler;
+import simulation.scheduler.Scheduler;
 import simulation.simulation.Simulation;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -31,14 +39,23 @@ import java.util.Collection;
  * <ul>
  *  <li> {@code side} defines the side of the agents' lattice graph</li>
  *  <li> {@code numOfAgents} defines the number of agents</li>
- *  <li> {@code numsOfUsers[]} defines the initial sizes of the 1-lingual and 2-lingual populations</li>
+ *  <li> {@code numsOfUsers[]} defines the initial sizes of the populations using each language; agents not assigned to any population use the last language</li>
  *  <li> {@code numOfThings} defines the number of objects</li>
- *  <li> {@code devdegrees[]} defines the initial environment of the 1-lingual and 2-lingual populations</li>
+ *  <li> {@code devdegrees[]} defines the initial environment of the populations using each language</li>
  *  <li> {@code epsilon} defines the epsilon parameter</li>
  *  <li> {@code variant} defines the model variant as a {@code String} (available {@code "tl", "ts", "zero"})</li>
  *  <li> {@code variantInfluence} defines the variant influence </li>
  *  <li> {@code variantLanguage} defines the variant language </li>
+ *  <li> {@code salience[]} defines the salience of objects, i.e. weights of sampling them as topics of interactions ({@code null} for uniform salience)</li>
+ *  <li> {@code scheduler} defines the scheduler of interactions as a {@code String} (available {@code "sequential", "batched", "continuous"}; {@code "sequential"} if not given)</li>
+ *  <li> {@code rates} defines activity rates of agents for the {@code "continuous"} scheduler as a specification of {@code ActivityRates.parse}, drawn for the agents
+ *  of the population whenever a simulation is created ({@code null} for rates equal to {@code 1})</li>
+ *  <li> {@code timeStep} defines the time by which a step of the {@code "continuous"} scheduler advances ({@code 1} if not given)</li>
  * </ul>
+ * The number of competing languages is the length of {@code devdegrees[]}, which must be equal to the length of {@code numsOfUsers[]},
+ * and can range from {@code 1} to {@code WordRegistry.MAX_LANGUAGES}. The language of index {@code i} contains words with ids congruent to {@code i}
+ * modulo the number of languages.
+ * <p>
  * The {@code create()} method constructs and returns an appropriate simulation object.
  * <p>
  * For more details, please see the paper.
@@ -61,9 +78,13 @@ public class ELCPaperSimulationCreator implements SimulationCreator {
     private String variant;
     private int variantInfluence;
     private int variantLanguage;
+    private double[] salience;
+    private String scheduler;
+    private String rates;
+    private double timeStep;
 
-    @java.beans.ConstructorProperties({"numOfThings", "devdegrees", "side", "numOfAgents", "numsOfUsers", "epsilon", "variant", "variantInfluence", "variantLanguage"})
-    ELCPaperSimulationCreator(int numOfThings, int[] devdegrees, int side, int numOfAgents, int[] numsOfUsers, double epsilon, String variant, int variantInfluence, int variantLanguage) {
+    @java.beans.ConstructorProperties({"numOfThings", "devdegrees", "side", "numOfAgents", "numsOfUsers", "epsilon", "variant", "variantInfluence", "variantLanguage", "salience", "scheduler", "rates", "timeStep"})
+    ELCPaperSimulationCreator(int numOfThings, int[] devdegrees, int side, int numOfAgents, int[] numsOfUsers, double epsilon, String variant, int variantInfluence, int variantLanguage, double[] salience, String scheduler, String rates, double timeStep) {
         this.numOfThings = numOfThings;
         this.devdegrees = devdegrees;
         this.side = side;
@@ -73,6 +94,10 @@ public class ELCPaperSimulationCreator implements SimulationCreator {
         this.variant = variant;
         this.variantInfluence = variantInfluence;
         this.variantLanguage = variantLanguage;
+        this.salience = salience;
+        this.scheduler = scheduler;
+        this.rates = rates;
+        this.timeStep = timeStep;
     }
 
     public static ELCPaperSimulationCreatorBuilder builder() {
@@ -85,9 +110,14 @@ public class ELCPaperSimulationCreator implements SimulationCreator {
      */
     @Override
     public Simulation create() {
-        Environment environment = createEnvironment(numOfThings);
+        Environment environment = createEnvironment(numOfThings, salience);
+
+        if(devdegrees.length != numsOfUsers.length)
+            throw new IllegalArgumentException("There are " + devdegrees.length + " development degrees, but " + numsOfUsers.length + " numbers of users.");
+        if(devdegrees.length < 1 || devdegrees.length > WordRegistry.MAX_LANGUAGES)
+            throw new IllegalArgumentException("The number of languages must range from 1 to " + WordRegistry.MAX_LANGUAGES + ".");
 
-        Language[] languages = createLanguages();
+        Language[] languages = createLanguages(environment.getWordRegistry(), devdegrees.length);
         WeightedLexicon[] lexicons = createLexicons(environment, languages, devdegrees);
 
         Agent[] agents = createAgents(numOfAgents, numsOfUsers, lexicons, languages);
@@ -103,7 +133,49 @@ public class ELCPaperSimulationCreator implements SimulationCreator {
                 population,
                 interactionRunner,
                 variantAgent,
-                variantInfluence);
+                variantInfluence,
+                createScheduler(scheduler, population.getSize()));
+    }
+
+    /**
+     * Returns the canonical textual specification of this factory's parameters, which is equal for factories of equal parameters,
+     * so that it can identify simulations created by them, e.g. in a cache of results. The specification of rates is included only for the {@code "continuous"} scheduler,
+     * which uses them; random rates are drawn when a simulation is created, so they are identified by their specification together with the seed of the streams.
+     * @return the canonical textual specification of this factory's parameters
+     */
+    public String getSpecification() {
+        return "numOfThings=" + numOfThings + ";devdegrees=" + Arrays.toString(devdegrees) + ";side=" + side + ";numOfAgents=" + numOfAgents
+                + ";numsOfUsers=" + Arrays.toString(numsOfUsers) + ";epsilon=" + epsilon + ";variant=" + variant + ";variantInfluence=" + variantInfluence
+                + ";variantLanguage=" + variantLanguage + ";salience=" + Arrays.toString(salience) + ";scheduler=" + scheduler
+                + ("continuous".equals(scheduler) ? ";rates=" + rates : "") + ";timeStep=" + timeStep;
+    }
+
+    /**
+     * Returns the canonical textual specification of the parameters of this factory's population, languages and environment, which determine the form of states
+     * of agents of created simulations, so that states saved from a simulation of one factory can be checked before they are restored in a simulation of another.
+     * @return the canonical textual specification of the parameters of the population, languages and environment
+     * @see simulation.simulation.SimulationSnapshots
+     */
+    public String getStateSpecification() {
+        return "numOfThings=" + numOfThings + ";devdegrees=" + Arrays.toString(devdegrees) + ";side=" + side + ";numOfAgents=" + numOfAgents
+                + ";numsOfUsers=" + Arrays.toString(numsOfUsers) + ";epsilon=" + epsilon + ";salience=" + Arrays.toString(salience);
+    }
+
+    private Scheduler createScheduler(String scheduler, int populationSize) {
+        if(scheduler == null) return new RandomSequentialScheduler();
+        switch(scheduler){
+            case "sequential":
+                return new RandomSequentialScheduler();
+            case "batched":
+                return new BatchedScheduler();
+            case "continuous":
+                try {
+                    return new ContinuousTimeScheduler(ActivityRates.parse(rates, populationSize), timeStep > 0 ? timeStep : 1.0);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+        }
+        throw new IllegalArgumentException("Unknown scheduler: " + scheduler);
     }
 
     private VariantAgent createVariantAgent(String variant, int variantLanguage, WeightedLexicon[] lexicons) {
@@ -125,33 +197,43 @@ public class ELCPaperSimulationCreator implements SimulationCreator {
 
         Collection<Language> languageCollection = new ArrayList<>(Arrays.asList(languages));
         Cloner cloner = new Cloner();
-        for(int i=0;i<numsOfUsers[0];i++)
-            agents[i] = new SuccessCountingAgent(languageCollection, cloner.deepClone(lexicons[0]), 1.0, 0.3);
+        int i = 0;
+        for(int l = 0; l < languages.length - 1; l++)
+            for(int j = 0; j < numsOfUsers[l] && i < numOfAgents; j++, i++)
+                agents[i] = new SuccessCountingAgent(languageCollection, cloner.deepClone(lexicons[l]), 1.0, 0.3);
 
-        for(int i=numsOfUsers[0]; i<numOfAgents;i++)
-            agents[i] = new SuccessCountingAgent(languageCollection, cloner.deepClone(lexicons[1]), 1.0, 0.3);
+        for(; i<numOfAgents;i++)
+            agents[i] = new SuccessCountingAgent(languageCollection, cloner.deepClone(lexicons[languages.length - 1]), 1.0, 0.3);
 
         return agents;
     }
 
     private WeightedLexicon[] createLexicons(Environment environment, Language[] languages, int[] devdegrees) {
-        WeightedLexicon[] lexicons = new WeightedLexicon[2];
-        lexicons[0] = new LimitedWeightsLexiconCreator(0.0, 3.0).create(languages[0], environment, devdegrees[0], 3.0);
-        lexicons[1] = new LimitedWeightsLexiconCreator(0.0, 3.0).create(languages[1], environment, devdegrees[1], 3.0);
+        WeightedLexicon[] lexicons = new WeightedLexicon[languages.length];
+        for(int i = 0; i < languages.length; i++)
+            lexicons[i] = new LimitedWeightsLexiconCreator(0.0, 3.0).create(languages[i], environment, devdegrees[i], 3.0);
         return lexicons;
     }
 
-    private Environment createEnvironment(int numOfThings){
-        return new EnvironmentCreator(numOfThings).create();
+    private Environment createEnvironment(int numOfThings, double[] salience){
+        return new EnvironmentCreator(numOfThings, salience).create();
     }
 
-    private Language[] createLanguages(){
-        Language[] languages = new Language[2];
-        languages[0] = new ModuloLanguage(2,0);
-        languages[1] = new ModuloLanguage(2,1);
+    private Language[] createLanguages(WordRegistry wordRegistry, int numOfLanguages){
+        Language[] languages = new Language[numOfLanguages];
+        for(int i = 0; i < numOfLanguages; i++)
+            languages[i] = new ModuloLanguage(numOfLanguages, i, wordRegistry);
         return languages;
     }
 
+    public String getScheduler() {
+        return this.scheduler;
+    }
+
+    public String getRates() {
+        return this.rates;
+    }
+
     public static class ELCPaperSimulationCreatorBuilder {
         private int numOfThings;
         private int[] devdegrees;
@@ -162,6 +244,10 @@ public class ELCPaperSimulationCreator implements SimulationCreator {
         private String variant;
         private int variantInfluence;
         private int variantLanguage;
+        private double[] salience;
+        private String scheduler;
+        private String rates;
+        private double timeStep;
 
         ELCPaperSimulationCreatorBuilder() {
         }
@@ -211,12 +297,32 @@ public class ELCPaperSimulationCreator implements SimulationCreator {
             return this;
         }
 
+        public ELCPaperSimulationCreatorBuilder salience(double[] salience) {
+            this.salience = salience;
+            return this;
+        }
+
+        public ELCPaperSimulationCreatorBuilder scheduler(String scheduler) {
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        public ELCPaperSimulationCreatorBuilder rates(String rates) {
+            this.rates = rates;
+            return this;
+        }
+
+        public ELCPaperSimulationCreatorBuilder timeStep(double timeStep) {
+            this.timeStep = timeStep;
+            return this;
+        }
+
         public ELCPaperSimulationCreator build() {
-            return new ELCPaperSimulationCreator(numOfThings, devdegrees, side, numOfAgents, numsOfUsers, epsilon, variant, variantInfluence, variantLanguage);
+            return new ELCPaperSimulationCreator(numOfThings, devdegrees, side, numOfAgents, numsOfUsers, epsilon, variant, variantInfluence, variantLanguage, salience, scheduler, rates, timeStep);
         }
 
         public String toString() {
-            return "ELCPaperSimulationCreator.ELCPaperSimulationCreatorBuilder(numOfThings=" + this.numOfThings + ", devdegrees=" + Arrays.toString(this.devdegrees) + ", side=" + this.side + ", numOfAgents=" + this.numOfAgents + ", numsOfUsers=" + Arrays.toString(this.numsOfUsers) + ", epsilon=" + this.epsilon + ", variant=" + this.variant + ", variantInfluence=" + this.variantInfluence + ", variantLanguage=" + this.variantLanguage + ")";
+            return "ELCPaperSimulationCreator.ELCPaperSimulationCreatorBuilder(numOfThings=" + this.numOfThings + ", devdegrees=" + Arrays.toString(this.devdegrees) + ", side=" + this.side + ", numOfAgents=" + this.numOfAgents + ", numsOfUsers=" + Arrays.toString(this.numsOfUsers) + ", epsilon=" + this.epsilon + ", variant=" + this.variant + ", variantInfluence=" + this.variantInfluence + ", variantLanguage=" + this.variantLanguage + ", salience=" + Arrays.toString(this.salience) + ", scheduler=" + this.scheduler + ", rates=" + this.rates + ", timeStep=" + this.timeStep + ")";
         }
     }
 }
@@ -0,0 +1,42 @@
+package simulation.termination;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * A criterion satisfied when a single language is dominating for at least the given fraction of agents.
+ * @see TerminationCriterion
+ */
+@EqualsAndHashCode @ToString
+public class ConsensusFractionCriterion implements TerminationCriterion {
+
+    private final double fraction;
+
+    /**
+     * Initializes this criterion with the given fraction of users.
+     * @param fraction the fraction of agents from {@code (0, 1]} which have to use the same language
+     */
+    public ConsensusFractionCriterion(double fraction) {
+        if(fraction <= 0 || fraction > 1)
+            throw new IllegalArgumentException("The consensus fraction must belong to (0, 1].");
+        this.fraction = fraction;
+    }
+
+    @Override
+    public boolean satisfied(LexiconCounters counters) {
+        double threshold = fraction * counters.getNumOfAgents();
+        for(int l = 0; l < counters.getNumOfLanguages(); l++)
+            if(counters.getNumOfUsers(l) >= threshold)
+                return true;
+        return false;
+    }
+
+    @Override
+    public String getSpecification() {
+        return "consensus:" + fraction;
+    }
+
+    public double getFraction() {
+        return this.fraction;
+    }
+}
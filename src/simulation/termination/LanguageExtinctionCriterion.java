@@ -0,0 +1,27 @@
+package simulation.termination;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * A criterion satisfied when at most one language is left in lexicons of agents, i.e. words of all other languages
+ * are not associated with any thing by any agent.
+ * @see TerminationCriterion
+ */
+@EqualsAndHashCode @ToString
+public class LanguageExtinctionCriterion implements TerminationCriterion {
+
+    @Override
+    public boolean satisfied(LexiconCounters counters) {
+        int aliveLanguages = 0;
+        for(int l = 0; l < counters.getNumOfLanguages(); l++)
+            if(counters.getNumOfAssociations(l) > 0)
+                aliveLanguages++;
+        return aliveLanguages <= 1;
+    }
+
+    @Override
+    public String getSpecification() {
+        return "extinction";
+    }
+}
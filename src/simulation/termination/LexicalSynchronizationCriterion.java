@@ -0,0 +1,23 @@
+package simulation.termination;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * A criterion satisfied when all agents are lexically synchronized and lexicons of all agents are one-to-one.
+ * It is the criterion described in "Evolutionary language competition - an agent-based model" paper.
+ * @see TerminationCriterion
+ */
+@EqualsAndHashCode @ToString
+public class LexicalSynchronizationCriterion implements TerminationCriterion {
+
+    @Override
+    public boolean satisfied(LexiconCounters counters) {
+        return counters.lexicallySynchronized() && counters.oneToOneLexicons();
+    }
+
+    @Override
+    public String getSpecification() {
+        return "synchronization";
+    }
+}
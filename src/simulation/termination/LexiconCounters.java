@@ -0,0 +1,335 @@
+package simulation.termination;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import simulation.agent.Agent;
+import simulation.agent.WeightedLexiconAgent;
+import simulation.environment.Thing;
+import simulation.language.Language;
+import simulation.language.Word;
+import simulation.lexicon.WeightedLexicon;
+import simulation.simulation.InteractionObserver;
+import simulation.simulation.Simulation;
+import util.ObjectCounter;
+import util.Reducer;
+import util.Reducers;
+
+
+/**
+ * A class maintaining statistics of lexicons of agents of a simulation incrementally, so that termination criteria can be evaluated
+ * after each step without scanning the whole population.
+ * <p>
+ * The statistics are kept for each cell, i.e. a pair of an agent and a thing, and aggregated over agents, things and languages.
+ * As an interaction changes only the lexicons of its participants and only in association with its topic, a {@code LexiconCounters}
+ * object registered as the {@code InteractionObserver} of its simulation refreshes two cells after each interaction between agents.
+ * The topic of an interaction with the variant agent is not known to the simulation, so all cells of the agent are refreshed after it.
+ * <p>
+ * Languages are identified with their indices in the simulation's collection of languages.
+ * <p>
+ * The numbers of words and sums of weights of each language in each cell are kept in primitive tables, one per language, in which the cells of each thing
+ * occupy a contiguous range indexed by agents. Statistics of the whole population are computed from these tables with a {@code Reducer},
+ * which uses SIMD lanes of the Vector API where available, so that a snapshot of statistics costs no virtual calls or map lookups.
+ * @see TerminationCriterion
+ * @see Reducer
+ * @see Simulation#setInteractionObserver(InteractionObserver)
+ */
+@EqualsAndHashCode @ToString
+public class LexiconCounters implements InteractionObserver {
+
+    private final WeightedLexicon[] lexicons;
+    private final Thing[] things;
+    private final Language[] languages;
+    private final int[] positions;
+
+    private final Word[] signals;
+    private final boolean[] oneToOne;
+    private final int[][] cellCounts;
+    private final double[][] cellWeightSums;
+    private final ObjectCounter<Word>[] signalCounts;
+
+    private final int[] associations;
+    private final double[] weightSums;
+    private final int[][] dominatingWords;
+    private final double[] agentWeightSums;
+    private final int[] dominatingLanguages;
+    private final int[] users;
+
+    private int unrecognizedCells;
+    private int notOneToOneCells;
+    private int synchronizedThings;
+
+    private final int[] counts;
+    private final double[] weights;
+
+    private final Reducer reducer;
+
+    /**
+     * Initializes the counters with the current state of the given simulation. All agents of the simulation's population must have weighted lexicons.
+     * The counters are not registered as the observer of the simulation by this constructor.
+     * @param simulation the simulation of which lexicons should be counted
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public LexiconCounters(Simulation simulation) {
+        Agent[] agents = simulation.getAgentsArray();
+        this.lexicons = new WeightedLexicon[agents.length];
+        for(int i = 0; i < agents.length; i++) {
+            if (!(agents[i] instanceof WeightedLexiconAgent))
+                throw new AssertionError("I cannot count lexicons of agents without weighted lexicons.");
+            lexicons[i] = ((WeightedLexiconAgent) agents[i]).getLexicon();
+        }
+        this.things = simulation.getEnvironment().getThings().toArray(new Thing[0]);
+        this.languages = simulation.getLanguagesArray();
+        this.positions = Language.positions(languages);
+
+        int cells = lexicons.length * things.length;
+        this.signals = new Word[cells];
+        this.oneToOne = new boolean[cells];
+        this.cellCounts = new int[languages.length][cells];
+        this.cellWeightSums = new double[languages.length][cells];
+        this.signalCounts = new ObjectCounter[things.length];
+        for(int i = 0; i < things.length; i++)
+            signalCounts[i] = new ObjectCounter<>();
+
+        this.associations = new int[languages.length];
+        this.weightSums = new double[languages.length];
+        this.dominatingWords = new int[languages.length][lexicons.length];
+        this.agentWeightSums = new double[lexicons.length * languages.length];
+        this.dominatingLanguages = new int[lexicons.length];
+        this.users = new int[languages.length];
+
+        this.counts = new int[languages.length];
+        this.weights = new double[languages.length];
+        this.reducer = Reducers.best();
+
+        this.unrecognizedCells = cells;
+        this.notOneToOneCells = 0;
+        this.synchronizedThings = 0;
+        for(int i = 0; i < cells; i++)
+            oneToOne[i] = true;
+        for(int i = 0; i < lexicons.length; i++) {
+            dominatingLanguages[i] = -1;
+            refreshAgent(i);
+        }
+    }
+
+    @Override
+    public void interacted(int speakerId, int listenerId, int thingId) {
+        refreshCell(speakerId, thingId);
+        refreshCell(listenerId, thingId);
+        refreshDominatingLanguage(speakerId);
+        refreshDominatingLanguage(listenerId);
+    }
+
+    @Override
+    public void interactedWithVariantAgent(int agentId) {
+        refreshAgent(agentId);
+    }
+
+    private void refreshAgent(int agentId) {
+        for(int thingId = 0; thingId < things.length; thingId++)
+            refreshCell(agentId, thingId);
+        refreshDominatingLanguage(agentId);
+    }
+
+    private void refreshCell(int agentId, int thingId) {
+        int cell = thingId * lexicons.length + agentId;
+        WeightedLexicon lexicon = lexicons[agentId];
+        Thing thing = things[thingId];
+
+        Word previous = signals[cell];
+        Word current = lexicon.contains(thing) ? lexicon.signal(thing) : null;
+        if(previous == null ? current != null : !previous.equals(current)) {
+            if(previous == null) unrecognizedCells--;
+            else removeSignal(agentId, thingId, previous);
+            if(current == null) unrecognizedCells++;
+            else addSignal(agentId, thingId, current);
+            signals[cell] = current;
+        }
+
+        boolean currentOneToOne = lexicon.oneToOne(thing);
+        if(currentOneToOne != oneToOne[cell]) {
+            notOneToOneCells += currentOneToOne ? -1 : 1;
+            oneToOne[cell] = currentOneToOne;
+        }
+
+        lexicon.countWords(thing, languages, positions, counts, weights);
+        for(int l = 0; l < languages.length; l++) {
+            associations[l] += counts[l] - cellCounts[l][cell];
+            double weightChange = weights[l] - cellWeightSums[l][cell];
+            weightSums[l] += weightChange;
+            agentWeightSums[agentId * languages.length + l] += weightChange;
+            cellCounts[l][cell] = counts[l];
+            cellWeightSums[l][cell] = weights[l];
+        }
+    }
+
+    private void addSignal(int agentId, int thingId, Word word) {
+        int count = signalCounts[thingId].add(word, 1);
+        if(count == lexicons.length) synchronizedThings++;
+        changeDominatingWords(agentId, word, 1);
+    }
+
+    private void removeSignal(int agentId, int thingId, Word word) {
+        int count = signalCounts[thingId].add(word, -1) + 1;
+        if(count == lexicons.length) synchronizedThings--;
+        changeDominatingWords(agentId, word, -1);
+    }
+
+    private void changeDominatingWords(int agentId, Word word, int by) {
+        for(long m = word.getLanguageMask(); m != 0; m &= m - 1) {
+            int position = positions[Long.numberOfTrailingZeros(m)];
+            if(position >= 0)
+                dominatingWords[position][agentId] += by;
+        }
+    }
+
+    /**
+     * Refreshes the dominating language of the given agent in the same way as {@code SuccessCountingAgent.dominatingLanguage}:
+     * the language with the most dominating words, and in case of a tie, the one with the highest sum of weights.
+     */
+    private void refreshDominatingLanguage(int agentId) {
+        int offset = agentId * languages.length;
+        int dominatingLanguageWords = 0;
+        double dominatingLanguageWeights = 0;
+        int dominatingLanguage = -1;
+        for(int l = 0; l < languages.length; l++) {
+            int curDomWords = dominatingWords[l][agentId];
+            double curWeights = agentWeightSums[offset + l];
+            if(dominatingLanguageWords < curDomWords || (dominatingLanguageWords == curDomWords && dominatingLanguageWeights < curWeights)) {
+                dominatingLanguageWords = curDomWords;
+                dominatingLanguageWeights = curWeights;
+                dominatingLanguage = l;
+            }
+        }
+        int previous = dominatingLanguages[agentId];
+        if(previous != dominatingLanguage) {
+            if(previous >= 0) users[previous]--;
+            if(dominatingLanguage >= 0) users[dominatingLanguage]++;
+            dominatingLanguages[agentId] = dominatingLanguage;
+        }
+    }
+
+    /**
+     * Returns {@code true} if all agents recognize all things and denote each thing with the same word.
+     * It is equivalent to {@code Agent.lexicallySynchronized} for the simulation's population and environment.
+     * @return {@code true} if all agents are lexically synchronized; {@code false} otherwise
+     */
+    public boolean lexicallySynchronized() {
+        return lexicons.length < 2 || synchronizedThings == things.length;
+    }
+
+    /**
+     * Returns {@code true} if the lexicons of all agents are one-to-one.
+     * It is equivalent to {@code Agent.oneToOneLexicons} for the simulation's population.
+     * @return {@code true} if the lexicons of all agents are one-to-one; {@code false} otherwise
+     */
+    public boolean oneToOneLexicons() {
+        return notOneToOneCells == 0;
+    }
+
+    /**
+     * Returns the number of pairs of agents and things such that the agent does not recognize the thing.
+     * @return the number of pairs of agents and things such that the agent does not recognize the thing
+     */
+    public int getUnrecognizedCells() {
+        return unrecognizedCells;
+    }
+
+    /**
+     * Returns the number of agents for which the language of the given index is dominating.
+     * @param language the index of the language in the simulation's collection of languages
+     * @return the number of agents for which the language of the given index is dominating
+     */
+    public int getNumOfUsers(int language) {
+        return users[language];
+    }
+
+    /**
+     * Returns the index of the dominating language of the agent of the given id.
+     * @param agentId the id of an agent
+     * @return the index of the dominating language of the agent in the simulation's collection of languages; {@code -1} if the agent has no dominating language
+     */
+    public int getDominatingLanguage(int agentId) {
+        return dominatingLanguages[agentId];
+    }
+
+    /**
+     * Returns the number of associations between things and words of the language of the given index in lexicons of all agents.
+     * @param language the index of the language in the simulation's collection of languages
+     * @return the number of associations between things and words of the language of the given index in lexicons of all agents
+     */
+    public int getNumOfAssociations(int language) {
+        return associations[language];
+    }
+
+    /**
+     * Returns the sum of weights of words of the language of the given index in lexicons of all agents.
+     * The sum is updated incrementally, so it can differ from the sum computed from scratch by rounding errors.
+     * @param language the index of the language in the simulation's collection of languages
+     * @return the sum of weights of words of the language of the given index in lexicons of all agents
+     */
+    public double getWeightSum(int language) {
+        return weightSums[language];
+    }
+
+    /**
+     * Returns an array of sums of weights of words belonging to each language in lexicons of all agents, indexed by positions of languages
+     * in the simulation's collection of languages. Unlike {@code getWeightSum}, the sums are computed from the tables of cells, so they are
+     * free of rounding errors accumulated by incremental updates. It is equivalent to {@code Simulation.getWeightSumsArray}
+     * up to the order of summation.
+     * @return an array of sums of weights of words belonging to each language
+     */
+    public double[] getWeightSumsArray() {
+        double[] array = new double[languages.length];
+        for(int l = 0; l < languages.length; l++)
+            array[l] = reducer.sum(cellWeightSums[l], 0, cellWeightSums[l].length);
+        return array;
+    }
+
+    /**
+     * Returns an array of numbers of agents for which each language is dominating, indexed by positions of languages
+     * in the simulation's collection of languages. It is equivalent to {@code Simulation.getNumsOfUsersArray}.
+     * @return an array of numbers of users of each language
+     */
+    public int[] getNumsOfUsersArray() {
+        return users.clone();
+    }
+
+    /**
+     * Returns an array of numbers of things recognized by any agent in association with a word belonging to each language,
+     * indexed by positions of languages in the simulation's collection of languages. It is equivalent to {@code Simulation.getNumsOfRecognizedThingsArray}.
+     * @return an array of numbers of things recognized with words of each language
+     */
+    public int[] getNumsOfRecognizedThingsArray() {
+        int[] array = new int[languages.length];
+        for(int l = 0; l < languages.length; l++)
+            for(int thingId = 0; thingId < things.length; thingId++)
+                if(reducer.anyPositive(cellCounts[l], thingId * lexicons.length, (thingId + 1) * lexicons.length))
+                    array[l]++;
+        return array;
+    }
+
+    /**
+     * Returns an array of numbers of dominating words belonging to each language in lexicons of all agents, indexed by positions of languages
+     * in the simulation's collection of languages.
+     * @return an array of numbers of dominating words belonging to each language
+     */
+    public long[] getNumsOfDominatingWordsArray() {
+        long[] array = new long[languages.length];
+        for(int l = 0; l < languages.length; l++)
+            array[l] = reducer.sum(dominatingWords[l], 0, lexicons.length);
+        return array;
+    }
+
+    public int getNumOfAgents() {
+        return lexicons.length;
+    }
+
+    public int getNumOfThings() {
+        return things.length;
+    }
+
+    public int getNumOfLanguages() {
+        return languages.length;
+    }
+}
@@ -0,0 +1,33 @@
+package simulation.termination;
+
+/**
+ * A utility class creating termination criteria from textual specifications parsed by the {@code parse} method:
+ * <ul>
+ *     <li>{@code "synchronization"} - all agents are lexically synchronized and have one-to-one lexicons (see {@code LexicalSynchronizationCriterion})</li>
+ *     <li>{@code "extinction"} - at most one language is left in lexicons of agents (see {@code LanguageExtinctionCriterion})</li>
+ *     <li>{@code "consensus:f"} - a single language is dominating for at least the fraction {@code f} of agents (see {@code ConsensusFractionCriterion})</li>
+ *     <li>{@code "plateau:w:t"} - sums of weights of all languages changed relatively by at most {@code t} over the last {@code w} steps (see {@code WeightSumPlateauCriterion})</li>
+ * </ul>
+ * @see TerminationCriterion
+ */
+public final class TerminationCriteria {
+
+    private TerminationCriteria() {
+    }
+
+    /**
+     * Returns the termination criterion defined by the given specification.
+     * @param specification the specification of a criterion; {@code null} for {@code "synchronization"}
+     * @return the termination criterion defined by the given specification
+     */
+    public static TerminationCriterion parse(String specification) {
+        if(specification == null || specification.equals("synchronization")) return new LexicalSynchronizationCriterion();
+        if(specification.equals("extinction")) return new LanguageExtinctionCriterion();
+        String[] parts = specification.split(":");
+        if(parts[0].equals("consensus") && parts.length == 2)
+            return new ConsensusFractionCriterion(Double.parseDouble(parts[1]));
+        if(parts[0].equals("plateau") && parts.length == 3)
+            return new WeightSumPlateauCriterion(Integer.parseInt(parts[1]), Double.parseDouble(parts[2]));
+        throw new IllegalArgumentException("Unknown termination criterion: " + specification);
+    }
+}
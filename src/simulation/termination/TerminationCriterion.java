@@ -0,0 +1,26 @@
+package simulation.termination;
+
+/**
+ * An interface for defining criteria of terminating simulations conducted by a {@code SimulationConductor}.
+ * <p>
+ * A criterion is evaluated once before the first step and then after each step of a simulation, with counters maintained incrementally
+ * during the simulation. A criterion may keep state between evaluations; the conductor uses a separate copy of the criterion for each simulation.
+ * @see LexiconCounters
+ * @see TerminationCriteria
+ * @see simulation.simulation.SimulationConductor
+ */
+public interface TerminationCriterion {
+
+    /**
+     * Returns {@code true} if the simulation described by the given counters should be terminated.
+     * @param counters the counters of the simulation
+     * @return {@code true} if the simulation should be terminated; {@code false} otherwise
+     */
+    boolean satisfied(LexiconCounters counters);
+
+    /**
+     * Returns the textual specification of this criterion, which can be parsed back with {@code TerminationCriteria.parse}.
+     * @return the textual specification of this criterion
+     */
+    String getSpecification();
+}
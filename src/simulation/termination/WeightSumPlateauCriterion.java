@@ -0,0 +1,66 @@
+package simulation.termination;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * A criterion satisfied when sums of weights of all languages reach a plateau, i.e. the relative change of the sum of weights of each language
+ * over the last {@code window} evaluations does not exceed {@code tolerance}.
+ * <p>
+ * Sums of weights from the last {@code window} evaluations are kept in a cyclic buffer, so each evaluation takes time proportional to the number of languages.
+ * @see TerminationCriterion
+ */
+@EqualsAndHashCode @ToString
+public class WeightSumPlateauCriterion implements TerminationCriterion {
+
+    private final int window;
+    private final double tolerance;
+
+    private double[][] history;
+    private int evaluations;
+
+    /**
+     * Initializes this criterion with the given window and tolerance.
+     * @param window the number of evaluations over which sums of weights are compared
+     * @param tolerance the maximal relative change of sums of weights over the window
+     */
+    public WeightSumPlateauCriterion(int window, double tolerance) {
+        if(window < 1)
+            throw new IllegalArgumentException("The window of the plateau criterion must be positive.");
+        if(tolerance < 0)
+            throw new IllegalArgumentException("The tolerance of the plateau criterion must be non-negative.");
+        this.window = window;
+        this.tolerance = tolerance;
+        this.evaluations = 0;
+    }
+
+    @Override
+    public boolean satisfied(LexiconCounters counters) {
+        if(history == null)
+            history = new double[window][counters.getNumOfLanguages()];
+
+        double[] oldest = history[evaluations % window];
+        boolean plateau = evaluations >= window;
+        for(int l = 0; l < oldest.length; l++) {
+            double current = counters.getWeightSum(l);
+            if(Math.abs(current - oldest[l]) > tolerance * Math.max(Math.abs(current), Math.abs(oldest[l])))
+                plateau = false;
+            oldest[l] = current;
+        }
+        evaluations++;
+        return plateau;
+    }
+
+    @Override
+    public String getSpecification() {
+        return "plateau:" + window + ":" + tolerance;
+    }
+
+    public int getWindow() {
+        return this.window;
+    }
+
+    public double getTolerance() {
+        return this.tolerance;
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * classes defining when simulations of agent-based models of language competition are terminated
+ */
+
+package simulation.termination;
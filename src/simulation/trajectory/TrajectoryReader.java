@@ -0,0 +1,146 @@
+package simulation.trajectory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A class for random access to frames of a trajectory recorded by {@code TrajectoryRecorder}.
+ * The file is mapped into memory in chunks of frames when they are first accessed.
+ * @see TrajectoryRecorder
+ */
+public class TrajectoryReader implements Closeable {
+
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+
+    private final int numOfAgents;
+    private final int rows;
+    private final int columns;
+    private final int numOfLanguages;
+    private final int bits;
+    private final int interval;
+    private final int frameBytes;
+    private final int frames;
+
+    private final int chunkFrames;
+    private final MappedByteBuffer[] chunks;
+
+    /**
+     * Opens the trajectory file from the given path.
+     * @param path the path of a trajectory file
+     * @throws IOException an exception of reading the file, or if it is not a trajectory file
+     */
+    public TrajectoryReader(String path) throws IOException {
+        file = new RandomAccessFile(path, "r");
+        channel = file.getChannel();
+        if(channel.size() < TrajectoryRecorder.HEADER_BYTES) {
+            close();
+            throw new IOException(path + " is not a trajectory file.");
+        }
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, TrajectoryRecorder.HEADER_BYTES);
+        if(header.getInt() != TrajectoryRecorder.MAGIC || header.getInt() != TrajectoryRecorder.VERSION) {
+            close();
+            throw new IOException(path + " is not a trajectory file of a known version.");
+        }
+        numOfAgents = header.getInt();
+        rows = header.getInt();
+        columns = header.getInt();
+        numOfLanguages = header.getInt();
+        bits = header.getInt();
+        interval = header.getInt();
+        frameBytes = header.getInt();
+        frames = (int) Math.min(header.getInt(), (channel.size() - TrajectoryRecorder.HEADER_BYTES) / frameBytes);
+
+        chunkFrames = Math.max(1, Integer.MAX_VALUE / frameBytes);
+        chunks = new MappedByteBuffer[(frames + chunkFrames - 1) / chunkFrames];
+    }
+
+    /**
+     * Returns the index of the dominating language of the given agent in the given frame.
+     * @param frame the index of a frame, i.e. the iteration divided by the interval
+     * @param agent the id of an agent
+     * @return the index of the dominating language of the agent; {@code -1} if the agent has no dominating language
+     * @throws IOException an exception of mapping the file
+     */
+    public int get(int frame, int agent) throws IOException {
+        if(frame < 0 || frame >= frames)
+            throw new IndexOutOfBoundsException("Frame " + frame + " of " + frames);
+        if(agent < 0 || agent >= numOfAgents)
+            throw new IndexOutOfBoundsException("Agent " + agent + " of " + numOfAgents);
+        MappedByteBuffer chunk = chunk(frame / chunkFrames);
+        int position = (frame % chunkFrames) * frameBytes;
+        long bit = (long) agent * bits;
+        int word = (int) (bit >>> 6);
+        int offset = (int) (bit & 63);
+        long value = chunk.getLong(position + 8 * word) >>> offset;
+        if(offset + bits > 64)
+            value |= chunk.getLong(position + 8 * (word + 1)) << (64 - offset);
+        return (int) (value & ((1L << bits) - 1)) - 1;
+    }
+
+    /**
+     * Returns the index of the dominating language of the agent in the given row and column of the lattice in the given frame.
+     * @param frame the index of a frame
+     * @param row a row of the lattice
+     * @param column a column of the lattice
+     * @return the index of the dominating language of the agent; {@code -1} if the agent has no dominating language
+     * @throws IOException an exception of mapping the file
+     */
+    public int get(int frame, int row, int column) throws IOException {
+        return get(frame, row * columns + column);
+    }
+
+    /**
+     * Returns indices of dominating languages of all agents in the given frame.
+     * @param frame the index of a frame
+     * @return an array of indices of dominating languages indexed by ids of agents, with {@code -1} for agents without a dominating language
+     * @throws IOException an exception of mapping the file
+     */
+    public int[] getFrame(int frame) throws IOException {
+        int[] languages = new int[numOfAgents];
+        for(int agent = 0; agent < numOfAgents; agent++)
+            languages[agent] = get(frame, agent);
+        return languages;
+    }
+
+    private MappedByteBuffer chunk(int index) throws IOException {
+        if(chunks[index] == null) {
+            int chunkLength = Math.min(chunkFrames, frames - index * chunkFrames);
+            chunks[index] = channel.map(FileChannel.MapMode.READ_ONLY, TrajectoryRecorder.HEADER_BYTES + (long) index * chunkFrames * frameBytes, (long) chunkLength * frameBytes);
+        }
+        return chunks[index];
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+        file.close();
+    }
+
+    public int getNumOfAgents() {
+        return this.numOfAgents;
+    }
+
+    public int getRows() {
+        return this.rows;
+    }
+
+    public int getColumns() {
+        return this.columns;
+    }
+
+    public int getNumOfLanguages() {
+        return this.numOfLanguages;
+    }
+
+    public int getInterval() {
+        return this.interval;
+    }
+
+    public int getFrames() {
+        return this.frames;
+    }
+}
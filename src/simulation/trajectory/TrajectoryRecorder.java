@@ -0,0 +1,166 @@
+package simulation.trajectory;
+
+import simulation.population.SquareLatticePopulation;
+import simulation.simulation.Simulation;
+import simulation.termination.LexiconCounters;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A class recording the dominating language of each agent of one simulation every given number of iterations into a memory-mapped file.
+ * <p>
+ * The file starts with a header of {@value #HEADER_BYTES} bytes: a magic number, a version, the number of agents, the number of rows and columns of the lattice
+ * of agents (one row for populations other than {@code SquareLatticePopulation}), the number of languages, the number of bits per agent, the interval of iterations
+ * between frames, the number of bytes of a frame and the number of frames, all written as big-endian integers.
+ * Then frames follow, one per recorded iteration. In a frame, the value of the agent of id {@code i} takes {@code bits} bits starting from the bit {@code i*bits}
+ * of a sequence of big-endian longs, counting from the least significant bit of each long. The value is {@code 0} for an agent without a dominating language
+ * and {@code l+1} for the language of index {@code l}, so {@code bits} is the number of bits of {@code numOfLanguages}.
+ * <p>
+ * The file is mapped in chunks of frames, so recording a frame costs one pass over the dominating languages maintained by {@code LexiconCounters} and one bulk copy.
+ * The number of frames in the header is updated after each frame, so the file is readable even if the recording was not closed.
+ * @see TrajectoryReader
+ * @see simulation.simulation.SimulationConductor#setTrajectoryRecorder(TrajectoryRecorder)
+ */
+public class TrajectoryRecorder implements Closeable {
+
+    static final int MAGIC = 0x454c4354;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 64;
+    static final int FRAMES_OFFSET = 36;
+    private static final long CHUNK_BYTES = 1 << 26;
+
+    private final String path;
+    private final int interval;
+
+    private RandomAccessFile file;
+    private FileChannel channel;
+    private MappedByteBuffer header;
+    private MappedByteBuffer chunk;
+    private int chunkFrames;
+
+    private int numOfAgents;
+    private int bits;
+    private int frameBytes;
+    private int frames;
+    private long[] words;
+    private boolean started = false;
+
+    /**
+     * Initializes this recorder.
+     * @param path the path of the file to record the trajectory to
+     * @param interval the number of iterations between recorded frames, positive
+     */
+    public TrajectoryRecorder(String path, int interval) {
+        if(interval < 1)
+            throw new IllegalArgumentException("The interval between frames must be positive.");
+        this.path = path;
+        this.interval = interval;
+    }
+
+    /**
+     * Creates the file of this recorder for the given simulation. A recorder can record only one simulation.
+     * @param simulation the simulation to be recorded
+     * @param counters the counters of lexicons of the simulation
+     * @throws IOException an exception of creating the file
+     */
+    public void start(Simulation simulation, LexiconCounters counters) throws IOException {
+        if(started)
+            throw new IllegalStateException("A trajectory recorder can record only one simulation.");
+        started = true;
+
+        numOfAgents = counters.getNumOfAgents();
+        int rows = 1;
+        int columns = numOfAgents;
+        if(simulation.getPopulation() instanceof SquareLatticePopulation) {
+            rows = ((SquareLatticePopulation) simulation.getPopulation()).getAgents().length;
+            columns = numOfAgents / rows;
+        }
+        bits = Math.max(1, 32 - Integer.numberOfLeadingZeros(counters.getNumOfLanguages()));
+        words = new long[(int) (((long) numOfAgents * bits + 63) / 64)];
+        frameBytes = 8 * words.length;
+        chunkFrames = (int) Math.max(1, CHUNK_BYTES / frameBytes);
+
+        file = new RandomAccessFile(path, "rw");
+        file.setLength(0);
+        channel = file.getChannel();
+        header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+        header.putInt(MAGIC).putInt(VERSION).putInt(numOfAgents).putInt(rows).putInt(columns)
+                .putInt(counters.getNumOfLanguages()).putInt(bits).putInt(interval).putInt(frameBytes).putInt(0);
+    }
+
+    /**
+     * Records the frame of the given iteration if it is a multiple of the interval of this recorder.
+     * @param iteration the iteration of the recorded simulation
+     * @param counters the counters of lexicons of the recorded simulation
+     */
+    public void record(int iteration, LexiconCounters counters) {
+        if(!started || channel == null || iteration % interval != 0)
+            return;
+        java.util.Arrays.fill(words, 0);
+        for(int agent = 0; agent < numOfAgents; agent++) {
+            long value = counters.getDominatingLanguage(agent) + 1;
+            long bit = (long) agent * bits;
+            int word = (int) (bit >>> 6);
+            int offset = (int) (bit & 63);
+            words[word] |= value << offset;
+            if(offset + bits > 64)
+                words[word + 1] |= value >>> (64 - offset);
+        }
+        try {
+            if(frames % chunkFrames == 0)
+                chunk = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_BYTES + (long) frames * frameBytes, (long) chunkFrames * frameBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        ByteBuffer frame = chunk.duplicate();
+        frame.position((frames % chunkFrames) * frameBytes);
+        frame.asLongBuffer().put(words);
+        frames++;
+        header.putInt(FRAMES_OFFSET, frames);
+    }
+
+    /**
+     * Truncates the file of this recorder to the recorded frames and closes it.
+     * @throws IOException an exception of closing the file
+     */
+    @Override
+    public void close() throws IOException {
+        if(channel == null)
+            return;
+        header.force();
+        if(chunk != null)
+            chunk.force();
+        chunk = null;
+        header = null;
+        channel.truncate(HEADER_BYTES + (long) frames * frameBytes);
+        channel.close();
+        file.close();
+        channel = null;
+    }
+
+    /**
+     * Returns {@code true} if this recorder has started recording a simulation.
+     * @return {@code true} if this recorder has started recording a simulation; {@code false} otherwise
+     */
+    public boolean isStarted() {
+        return started;
+    }
+
+    public String getPath() {
+        return this.path;
+    }
+
+    public int getInterval() {
+        return this.interval;
+    }
+
+    public int getFrames() {
+        return this.frames;
+    }
+}
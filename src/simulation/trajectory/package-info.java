@@ -0,0 +1,5 @@
+/**
+ * classes for recording and reading trajectories of states of agents of simulations of agent-based models of language competition
+ */
+
+package simulation.trajectory;
@@ -0,0 +1,90 @@
+package util;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+
+/**
+ * An auxiliary class for sampling indices from a fixed discrete probability distribution in constant time.
+ * <p>
+ * The implementation is based on Vose's variant of the alias method. The table is built in linear time from
+ * the given non-negative weights, which do not have to be normalized. Each sample costs one random integer and one random double.
+ * @see simulation.environment.Environment
+ */
+@EqualsAndHashCode @ToString
+public class AliasTable {
+
+    private final double[] probabilities;
+    private final int[] aliases;
+
+    /**
+     * Initializes this table with the given weights. The index {@code i} will be sampled with probability proportional to {@code weights[i]}.
+     * @param weights non-negative weights of indices, at least one of which is positive
+     * @throws IllegalArgumentException if any weight is negative or not finite, or if all weights are equal to {@code 0}
+     */
+    public AliasTable(double[] weights) {
+        int n = weights.length;
+        double sum = 0;
+        for(double weight: weights) {
+            if(weight < 0 || Double.isNaN(weight) || Double.isInfinite(weight))
+                throw new IllegalArgumentException("Weights must be non-negative and finite.");
+            sum += weight;
+        }
+        if(sum <= 0)
+            throw new IllegalArgumentException("At least one weight must be positive.");
+
+        this.probabilities = new double[n];
+        this.aliases = new int[n];
+
+        double[] scaled = new double[n];
+        Deque<Integer> small = new ArrayDeque<>();
+        Deque<Integer> large = new ArrayDeque<>();
+        for(int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / sum;
+            if(scaled[i] < 1.0) small.push(i);
+            else large.push(i);
+        }
+
+        while(!small.isEmpty() && !large.isEmpty()) {
+            int less = small.pop();
+            int more = large.pop();
+            probabilities[less] = scaled[less];
+            aliases[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+            if(scaled[more] < 1.0) small.push(more);
+            else large.push(more);
+        }
+
+        while(!large.isEmpty()) {
+            int i = large.pop();
+            probabilities[i] = 1.0;
+            aliases[i] = i;
+        }
+        while(!small.isEmpty()) {
+            int i = small.pop();
+            probabilities[i] = 1.0;
+            aliases[i] = i;
+        }
+    }
+
+    /**
+     * Returns a random index sampled with the given random number generator.
+     * @param random a random number generator to be used for sampling
+     * @return a random index from {@code 0} to {@code size()-1}
+     */
+    public int sample(Random random) {
+        int column = random.nextInt(probabilities.length);
+        return random.nextDouble() < probabilities[column] ? column : aliases[column];
+    }
+
+    /**
+     * Returns the number of indices in this table.
+     * @return the number of indices in this table
+     */
+    public int size() {
+        return probabilities.length;
+    }
+}
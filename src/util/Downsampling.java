@@ -0,0 +1,111 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * A utility class providing downsampling of series, i.e. choosing indices of points which represent a series with linear interpolation between them.
+ * The first and the last point of a series are always chosen.
+ * <ul>
+ *     <li>{@code largestTriangleThreeBuckets} chooses a given number of points, one from each bucket of consecutive points,
+ *     maximizing the area of the triangle with the previously chosen point and the average of the next bucket</li>
+ *     <li>{@code maxDeviation} chooses points greedily so that the linear interpolation between chosen points differs from each
+ *     omitted point by at most a given value; it needs one pass over the series</li>
+ * </ul>
+ */
+public final class Downsampling {
+
+    private Downsampling() {
+    }
+
+    /**
+     * Returns indices of points chosen from the first {@code length} values of the given series with the Largest-Triangle-Three-Buckets algorithm.
+     * @param values values of the series
+     * @param length the number of values of the series
+     * @param threshold the number of points to be chosen, at least {@code 3}
+     * @return increasing indices of the chosen points; all indices if {@code length <= threshold}
+     */
+    public static int[] largestTriangleThreeBuckets(double[] values, int length, int threshold) {
+        if(threshold < 3)
+            throw new IllegalArgumentException("At least 3 points must be chosen.");
+        if(length <= threshold)
+            return all(length);
+
+        int[] indices = new int[threshold];
+        double bucketSize = (double) (length - 2) / (threshold - 2);
+        int chosen = 0;
+        for(int bucket = 0; bucket < threshold - 2; bucket++) {
+            int nextFrom = (int) ((bucket + 1) * bucketSize) + 1;
+            int nextTo = Math.min((int) ((bucket + 2) * bucketSize) + 1, length);
+            double averageX = 0;
+            double averageY = 0;
+            for(int i = nextFrom; i < nextTo; i++) {
+                averageX += i;
+                averageY += values[i];
+            }
+            averageX /= nextTo - nextFrom;
+            averageY /= nextTo - nextFrom;
+
+            int from = (int) (bucket * bucketSize) + 1;
+            int to = (int) ((bucket + 1) * bucketSize) + 1;
+            double maxArea = -1;
+            int best = from;
+            for(int i = from; i < to; i++) {
+                double area = Math.abs((chosen - averageX) * (values[i] - values[chosen]) - (chosen - i) * (averageY - values[chosen]));
+                if(area > maxArea) {
+                    maxArea = area;
+                    best = i;
+                }
+            }
+            indices[bucket + 1] = best;
+            chosen = best;
+        }
+        indices[threshold - 1] = length - 1;
+        return indices;
+    }
+
+    /**
+     * Returns indices of points chosen from the first {@code length} values of the given series so that the linear interpolation
+     * between consecutive chosen points differs from each value by at most the given deviation.
+     * @param values values of the series
+     * @param length the number of values of the series
+     * @param maxDeviation the maximal absolute difference between a value and its interpolation, non-negative
+     * @return increasing indices of the chosen points
+     */
+    public static int[] maxDeviation(double[] values, int length, double maxDeviation) {
+        if(maxDeviation < 0)
+            throw new IllegalArgumentException("The maximal deviation must be non-negative.");
+        if(length <= 2)
+            return all(length);
+
+        int[] indices = new int[16];
+        int size = 0;
+        indices[size++] = 0;
+        int anchor = 0;
+        double lower = Double.NEGATIVE_INFINITY;
+        double upper = Double.POSITIVE_INFINITY;
+        for(int i = anchor + 1; i < length; i++) {
+            double slope = (values[i] - values[anchor]) / (i - anchor);
+            if(slope < lower || slope > upper) {
+                if(size == indices.length)
+                    indices = Arrays.copyOf(indices, 2 * size);
+                indices[size++] = i - 1;
+                anchor = i - 1;
+                lower = Double.NEGATIVE_INFINITY;
+                upper = Double.POSITIVE_INFINITY;
+            }
+            lower = Math.max(lower, (values[i] - maxDeviation - values[anchor]) / (i - anchor));
+            upper = Math.min(upper, (values[i] + maxDeviation - values[anchor]) / (i - anchor));
+        }
+        if(size == indices.length)
+            indices = Arrays.copyOf(indices, size + 1);
+        indices[size++] = length - 1;
+        return Arrays.copyOf(indices, size);
+    }
+
+    private static int[] all(int length) {
+        int[] indices = new int[length];
+        for(int i = 0; i < length; i++)
+            indices[i] = i;
+        return indices;
+    }
+}
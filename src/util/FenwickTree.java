@@ -0,0 +1,116 @@
+package util;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * An auxiliary class which keeps non-negative double-valued weights of a fixed number of indices in a Fenwick (binary indexed) tree.
+ * <p>
+ * Both changing the weight of an index and sampling an index with probability proportional to its weight take {@code O(log n)} time,
+ * where {@code n} is the number of indices.
+ * @see simulation.scheduler.ContinuousTimeScheduler
+ */
+@EqualsAndHashCode @ToString
+public class FenwickTree {
+
+    private final double[] values;
+    private final double[] tree;
+    private final int highestPowerOfTwo;
+
+    /**
+     * Initializes a tree with the given number of indices, all of weight {@code 0}.
+     * @param size the number of indices
+     */
+    public FenwickTree(int size) {
+        this.values = new double[size];
+        this.tree = new double[size + 1];
+        this.highestPowerOfTwo = size == 0 ? 0 : Integer.highestOneBit(size);
+    }
+
+    /**
+     * Initializes a tree with the given weights of indices.
+     * @param weights non-negative weights of indices
+     */
+    public FenwickTree(double[] weights) {
+        this(weights.length);
+        for(int i = 0; i < weights.length; i++) {
+            values[i] = weights[i];
+            tree[i + 1] += weights[i];
+            int parent = (i + 1) + ((i + 1) & -(i + 1));
+            if(parent <= weights.length)
+                tree[parent] += tree[i + 1];
+        }
+    }
+
+    /**
+     * Sets the weight of the given index.
+     * @param index the index of which weight should be set
+     * @param weight a new non-negative weight of the index
+     */
+    public void set(int index, double weight) {
+        double delta = weight - values[index];
+        values[index] = weight;
+        for(int i = index + 1; i < tree.length; i += i & -i)
+            tree[i] += delta;
+    }
+
+    /**
+     * Returns the weight of the given index.
+     * @param index the index of which weight should be returned
+     * @return the weight of the given index
+     */
+    public double get(int index) {
+        return values[index];
+    }
+
+    /**
+     * Returns the sum of weights of indices lower than the given index.
+     * @param index the exclusive upper bound of summed indices
+     * @return the sum of weights of indices lower than the given index
+     */
+    public double prefixSum(int index) {
+        double sum = 0;
+        for(int i = index; i > 0; i -= i & -i)
+            sum += tree[i];
+        return sum;
+    }
+
+    /**
+     * Returns the sum of weights of all indices.
+     * @return the sum of weights of all indices
+     */
+    public double total() {
+        return prefixSum(values.length);
+    }
+
+    /**
+     * Returns the lowest index such that the sum of weights of indices lower than or equal to it is greater than the given value.
+     * If the given value is drawn uniformly from {@code [0, total())}, the index is sampled with probability proportional to its weight.
+     * Indices of weight {@code 0}, which could be returned only due to rounding errors, are skipped.
+     * @param value a value from {@code [0, total())}
+     * @return the lowest index such that the sum of weights up to it is greater than the given value
+     */
+    public int find(double value) {
+        int position = 0;
+        for(int step = highestPowerOfTwo; step > 0; step >>= 1) {
+            int next = position + step;
+            if(next < tree.length && tree[next] <= value) {
+                position = next;
+                value -= tree[next];
+            }
+        }
+        if(position >= values.length)
+            position = values.length - 1;
+        while(position > 0 && values[position] == 0)
+            position--;
+        return position;
+    }
+
+    /**
+     * Returns the number of indices in this tree.
+     * @return the number of indices in this tree
+     */
+    public int size() {
+        return values.length;
+    }
+}
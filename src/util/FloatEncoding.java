@@ -0,0 +1,220 @@
+package util;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+/**
+ * A utility class providing lossless compact encodings of sequences of doubles, suited to slowly changing series.
+ * <ul>
+ *     <li>{@code xor} - each value is XOR-ed with the previous one and only the meaningful bits of the result are written,
+ *     reusing the window of leading and trailing zero bits of the previous value when possible; a repeated value takes one bit</li>
+ *     <li>{@code delta} - differences between the bit patterns of consecutive values are written as zig-zag variable-length integers;
+ *     a repeated value takes one byte</li>
+ * </ul>
+ * Both encodings start with the number of values and decode to exactly the same bit patterns.
+ */
+public final class FloatEncoding {
+
+    private FloatEncoding() {
+    }
+
+    /**
+     * Encodes the first {@code length} values of the given array with the XOR encoding.
+     * @param values values to be encoded
+     * @param length the number of values to be encoded
+     * @return the encoded values
+     */
+    public static byte[] xor(double[] values, int length) {
+        BitOutput output = new BitOutput();
+        output.write(length, 32);
+        if(length == 0)
+            return output.toByteArray();
+        long previous = Double.doubleToRawLongBits(values[0]);
+        output.write(previous, 64);
+        int previousLeading = -1;
+        int previousTrailing = 0;
+        for(int i = 1; i < length; i++) {
+            long bits = Double.doubleToRawLongBits(values[i]);
+            long xor = bits ^ previous;
+            if(xor == 0)
+                output.write(0, 1);
+            else {
+                int leading = Long.numberOfLeadingZeros(xor);
+                int trailing = Long.numberOfTrailingZeros(xor);
+                if(previousLeading >= 0 && leading >= previousLeading && trailing >= previousTrailing) {
+                    output.write(0b10, 2);
+                    output.write(xor >>> previousTrailing, 64 - previousLeading - previousTrailing);
+                }
+                else {
+                    int meaningful = 64 - leading - trailing;
+                    output.write(0b11, 2);
+                    output.write(leading, 6);
+                    output.write(meaningful - 1, 6);
+                    output.write(xor >>> trailing, meaningful);
+                    previousLeading = leading;
+                    previousTrailing = trailing;
+                }
+            }
+            previous = bits;
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Decodes values encoded with the XOR encoding.
+     * @param bytes encoded values
+     * @return the decoded values
+     */
+    public static double[] unxor(byte[] bytes) {
+        BitInput input = new BitInput(bytes);
+        double[] values = new double[(int) input.read(32)];
+        if(values.length == 0)
+            return values;
+        long previous = input.read(64);
+        values[0] = Double.longBitsToDouble(previous);
+        int leading = 0;
+        int trailing = 0;
+        for(int i = 1; i < values.length; i++) {
+            if(input.read(1) != 0) {
+                if(input.read(1) != 0) {
+                    leading = (int) input.read(6);
+                    int meaningful = (int) input.read(6) + 1;
+                    trailing = 64 - leading - meaningful;
+                }
+                previous ^= input.read(64 - leading - trailing) << trailing;
+            }
+            values[i] = Double.longBitsToDouble(previous);
+        }
+        return values;
+    }
+
+    /**
+     * Encodes the first {@code length} values of the given array with the delta encoding.
+     * @param values values to be encoded
+     * @param length the number of values to be encoded
+     * @return the encoded values
+     */
+    public static byte[] delta(double[] values, int length) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        writeVarLong(output, length);
+        long previous = 0;
+        for(int i = 0; i < length; i++) {
+            long bits = Double.doubleToRawLongBits(values[i]);
+            long difference = bits - previous;
+            writeVarLong(output, (difference << 1) ^ (difference >> 63));
+            previous = bits;
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Decodes values encoded with the delta encoding.
+     * @param bytes encoded values
+     * @return the decoded values
+     */
+    public static double[] undelta(byte[] bytes) {
+        int[] position = {0};
+        double[] values = new double[(int) readVarLong(bytes, position)];
+        long previous = 0;
+        for(int i = 0; i < values.length; i++) {
+            long zigzag = readVarLong(bytes, position);
+            previous += (zigzag >>> 1) ^ -(zigzag & 1);
+            values[i] = Double.longBitsToDouble(previous);
+        }
+        return values;
+    }
+
+    /**
+     * Encodes the first {@code length} values of the given array with the encoding of the given name.
+     * @param encoding {@code "xor"} or {@code "delta"}
+     * @param values values to be encoded
+     * @param length the number of values to be encoded
+     * @return the encoded values
+     */
+    public static byte[] encode(String encoding, double[] values, int length) {
+        switch (encoding) {
+            case "xor": return xor(values, length);
+            case "delta": return delta(values, length);
+            default: throw new IllegalArgumentException("Unknown encoding: " + encoding);
+        }
+    }
+
+    /**
+     * Decodes values encoded with the encoding of the given name.
+     * @param encoding {@code "xor"} or {@code "delta"}
+     * @param bytes encoded values
+     * @return the decoded values
+     */
+    public static double[] decode(String encoding, byte[] bytes) {
+        switch (encoding) {
+            case "xor": return unxor(bytes);
+            case "delta": return undelta(bytes);
+            default: throw new IllegalArgumentException("Unknown encoding: " + encoding);
+        }
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream output, long value) {
+        while((value & ~0x7FL) != 0) {
+            output.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.write((int) value);
+    }
+
+    private static long readVarLong(byte[] bytes, int[] position) {
+        long value = 0;
+        for(int shift = 0; ; shift += 7) {
+            byte b = bytes[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if(b >= 0)
+                return value;
+        }
+    }
+
+    private static class BitOutput {
+
+        private byte[] bytes = new byte[64];
+        private long bits = 0;
+
+        void write(long value, int length) {
+            while(length > 0) {
+                int index = (int) (bits >>> 3);
+                if(index == bytes.length)
+                    bytes = Arrays.copyOf(bytes, 2 * bytes.length);
+                int free = 8 - (int) (bits & 7);
+                int n = Math.min(free, length);
+                int chunk = (int) (value >>> (length - n)) & ((1 << n) - 1);
+                bytes[index] |= chunk << (free - n);
+                bits += n;
+                length -= n;
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, (int) ((bits + 7) >>> 3));
+        }
+    }
+
+    private static class BitInput {
+
+        private final byte[] bytes;
+        private long bits = 0;
+
+        BitInput(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        long read(int length) {
+            long value = 0;
+            while(length > 0) {
+                int available = 8 - (int) (bits & 7);
+                int n = Math.min(available, length);
+                int chunk = (bytes[(int) (bits >>> 3)] >>> (available - n)) & ((1 << n) - 1);
+                value = (value << n) | chunk;
+                bits += n;
+                length -= n;
+            }
+            return value;
+        }
+    }
+}
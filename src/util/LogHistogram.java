@@ -0,0 +1,213 @@
+package util;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * An auxiliary class counting non-negative long values in logarithmic buckets, so that percentiles of heavy-tailed distributions can be estimated
+ * in constant memory over the whole range of long values.
+ * <p>
+ * Values below {@code 2^SUB_BUCKET_BITS} are counted exactly. Every higher range {@code [2^e, 2^(e+1))} is split into {@code 2^(SUB_BUCKET_BITS-1)}
+ * buckets of equal width, so a value is estimated with the relative error below {@code 2^(1-SUB_BUCKET_BITS)}, i.e. below 1.6%.
+ * The array of buckets grows up to the highest bucket used, at most 3712 buckets. The minimum and the maximum are kept exactly.
+ * Histograms have the same buckets, so they can be merged exactly, e.g. histograms of simulations conducted in separate threads or processes.
+ */
+@EqualsAndHashCode @ToString
+public class LogHistogram {
+
+    public static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF = SUB_BUCKETS / 2;
+
+    private long[] counts = new long[0];
+    private long count = 0;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    /**
+     * Counts the given value.
+     * @param value a non-negative value
+     */
+    public void record(long value) {
+        record(value, 1);
+    }
+
+    private void record(long value, long times) {
+        if(value < 0)
+            throw new IllegalArgumentException("Only non-negative values can be counted, but found " + value);
+        int index = index(value);
+        if(index >= counts.length)
+            counts = Arrays.copyOf(counts, Math.max(index + 1, Math.min(2 * counts.length, index(Long.MAX_VALUE) + 1)));
+        counts[index] += times;
+        count += times;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Merges the given histogram to this histogram.
+     * @param other a histogram to be merged to this one
+     */
+    public void merge(LogHistogram other) {
+        if(other.counts.length > counts.length)
+            counts = Arrays.copyOf(counts, other.counts.length);
+        for(int i = 0; i < other.counts.length; i++)
+            counts[i] += other.counts[i];
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    private static int index(long value) {
+        if(value < SUB_BUCKETS)
+            return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS + 1;
+        return SUB_BUCKETS + (exponent - SUB_BUCKET_BITS) * HALF + (int) (value >>> shift) - HALF;
+    }
+
+    private static long lowerBound(int index) {
+        if(index < SUB_BUCKETS)
+            return index;
+        int exponent = (index - SUB_BUCKETS) / HALF + SUB_BUCKET_BITS;
+        return (long) (HALF + (index - SUB_BUCKETS) % HALF) << (exponent - SUB_BUCKET_BITS + 1);
+    }
+
+    private static long upperBound(int index) {
+        if(index < SUB_BUCKETS)
+            return index;
+        int exponent = (index - SUB_BUCKETS) / HALF + SUB_BUCKET_BITS;
+        return lowerBound(index) + (1L << (exponent - SUB_BUCKET_BITS + 1)) - 1;
+    }
+
+    /**
+     * Returns the estimate of the given percentile of counted values: the highest value of the bucket of the value of the given rank,
+     * bounded by the minimum and the maximum.
+     * @param percentile a percentile from {@code 0} to {@code 100}
+     * @return the estimate of the percentile, or {@code 0} if no value is counted
+     */
+    public long getValueAtPercentile(double percentile) {
+        if(count == 0)
+            return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long cumulative = 0;
+        for(int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if(cumulative >= rank)
+                return Math.max(min, Math.min(max, upperBound(i)));
+        }
+        return max;
+    }
+
+    /**
+     * Returns lower bounds of buckets with positive counts, in increasing order.
+     * @return lower bounds of buckets with positive counts
+     */
+    public long[] getLowerBounds() {
+        long[] lowerBounds = new long[buckets()];
+        for(int i = 0, b = 0; i < counts.length; i++)
+            if(counts[i] > 0)
+                lowerBounds[b++] = lowerBound(i);
+        return lowerBounds;
+    }
+
+    /**
+     * Returns positive counts of buckets, parallel to {@code getLowerBounds}.
+     * @return positive counts of buckets
+     */
+    public long[] getCounts() {
+        long[] positive = new long[buckets()];
+        for(int i = 0, b = 0; i < counts.length; i++)
+            if(counts[i] > 0)
+                positive[b++] = counts[i];
+        return positive;
+    }
+
+    private int buckets() {
+        int buckets = 0;
+        for(long c: counts)
+            if(c > 0)
+                buckets++;
+        return buckets;
+    }
+
+    /**
+     * Returns a histogram with the given counts of buckets and the given minimum and maximum, e.g. read from a results file.
+     * @param lowerBounds lower bounds of buckets, as returned by {@code getLowerBounds}
+     * @param counts counts of buckets, parallel to {@code lowerBounds}
+     * @param min the minimum counted value
+     * @param max the maximum counted value
+     * @return a histogram with the given buckets
+     */
+    public static LogHistogram of(long[] lowerBounds, long[] counts, long min, long max) {
+        if(lowerBounds.length != counts.length)
+            throw new IllegalArgumentException("Lower bounds and counts of buckets must be of the same length.");
+        LogHistogram histogram = new LogHistogram();
+        for(int i = 0; i < lowerBounds.length; i++) {
+            if(lowerBound(index(lowerBounds[i])) != lowerBounds[i])
+                throw new IllegalArgumentException(lowerBounds[i] + " is not a lower bound of a bucket.");
+            histogram.record(lowerBounds[i], counts[i]);
+        }
+        if(histogram.count > 0) {
+            histogram.min = min;
+            histogram.max = max;
+        }
+        return histogram;
+    }
+
+    /**
+     * Writes this histogram to the given output in a binary form readable by {@code readFrom}.
+     * @param output the output to write this histogram to
+     * @throws IOException an exception of writing to the output
+     */
+    public void writeTo(DataOutput output) throws IOException {
+        output.writeLong(min);
+        output.writeLong(max);
+        output.writeInt(buckets());
+        for(int i = 0; i < counts.length; i++) {
+            if(counts[i] > 0) {
+                output.writeInt(i);
+                output.writeLong(counts[i]);
+            }
+        }
+    }
+
+    /**
+     * Reads a histogram written by {@code writeTo} from the given input.
+     * @param input the input to read a histogram from
+     * @return the histogram read from the input
+     * @throws IOException an exception of reading from the input
+     */
+    public static LogHistogram readFrom(DataInput input) throws IOException {
+        LogHistogram histogram = new LogHistogram();
+        long min = input.readLong();
+        long max = input.readLong();
+        int buckets = input.readInt();
+        for(int b = 0; b < buckets; b++) {
+            int index = input.readInt();
+            if(index < 0 || index > index(Long.MAX_VALUE))
+                throw new IOException("Unknown bucket of a histogram: " + index);
+            histogram.record(lowerBound(index), input.readLong());
+        }
+        histogram.min = min;
+        histogram.max = max;
+        return histogram;
+    }
+
+    public long getCount() {
+        return this.count;
+    }
+
+    public long getMin() {
+        return this.min;
+    }
+
+    public long getMax() {
+        return this.max;
+    }
+}
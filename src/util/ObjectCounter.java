@@ -0,0 +1,125 @@
+package util;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * An auxiliary class counting objects in an open-addressing hash table with linear probing, so that counts are changed without allocations,
+ * unlike boxed counts in a {@code HashMap}. An object is removed when its count drops to zero, and the table grows only when it is half full,
+ * so a counter of a steady number of objects does not allocate.
+ * @param <K> class of counted objects, with consistent {@code equals} and {@code hashCode}
+ */
+@EqualsAndHashCode @ToString
+public class ObjectCounter<K> {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private Object[] keys = new Object[INITIAL_CAPACITY];
+    private int[] counts = new int[INITIAL_CAPACITY];
+    private int size = 0;
+
+    /**
+     * Adds the given number to the count of the given object, which is removed if its count drops to zero.
+     * @param key a counted object
+     * @param by the number to be added to the count of the object
+     * @return the new count of the object
+     */
+    public int add(K key, int by) {
+        int i = indexOf(key);
+        if(keys[i] == null) {
+            if(by == 0)
+                return 0;
+            if(2 * (size + 1) > keys.length) {
+                grow();
+                i = indexOf(key);
+            }
+            keys[i] = key;
+            counts[i] = by;
+            size++;
+            return by;
+        }
+        int count = counts[i] + by;
+        if(count == 0)
+            removeAt(i);
+        else
+            counts[i] = count;
+        return count;
+    }
+
+    /**
+     * Returns the count of the given object.
+     * @param key an object
+     * @return the count of the object; {@code 0} if it is not counted
+     */
+    public int get(K key) {
+        int i = indexOf(key);
+        return keys[i] == null ? 0 : counts[i];
+    }
+
+    /**
+     * Returns the count of the only counted object.
+     * @return the count of the only counted object
+     * @throws IllegalStateException if the number of counted objects is not {@code 1}
+     */
+    public int getOnlyCount() {
+        if(size != 1)
+            throw new IllegalStateException("There are " + size + " counted objects instead of one.");
+        for(int i = 0; i < keys.length; i++)
+            if(keys[i] != null)
+                return counts[i];
+        throw new IllegalStateException();
+    }
+
+    /**
+     * Returns the number of objects with non-zero counts.
+     * @return the number of counted objects
+     */
+    public int size() {
+        return size;
+    }
+
+    private int indexOf(Object key) {
+        int mask = keys.length - 1;
+        int i = mix(key.hashCode()) & mask;
+        while(keys[i] != null && !keys[i].equals(key))
+            i = (i + 1) & mask;
+        return i;
+    }
+
+    private static int mix(int hash) {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Removes the object at the given index and shifts back the following objects of its cluster, so that no object is separated from its probe position.
+     */
+    private void removeAt(int i) {
+        int mask = keys.length - 1;
+        keys[i] = null;
+        size--;
+        for(int j = (i + 1) & mask; keys[j] != null; j = (j + 1) & mask) {
+            int home = mix(keys[j].hashCode()) & mask;
+            if(((j - home) & mask) >= ((j - i) & mask)) {
+                keys[i] = keys[j];
+                counts[i] = counts[j];
+                keys[j] = null;
+                i = j;
+            }
+        }
+    }
+
+    private void grow() {
+        Object[] oldKeys = keys;
+        int[] oldCounts = counts;
+        keys = new Object[2 * oldKeys.length];
+        counts = new int[2 * oldKeys.length];
+        for(int i = 0; i < oldKeys.length; i++) {
+            if(oldKeys[i] != null) {
+                int j = indexOf(oldKeys[i]);
+                keys[j] = oldKeys[i];
+                counts[j] = oldCounts[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package util;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A utility class holding random number generators of simulations for each thread.
+ * <p>
+ * Randomness of a simulation is drawn from two streams:
+ * <ul>
+ *     <li>{@code dynamics} - choices of speakers, listeners and topics of interactions between agents of a population</li>
+ *     <li>{@code auxiliary} - everything else, e.g. choices of agents interacting with a variant agent and generated words</li>
+ * </ul>
+ * By default both streams of a thread are {@code ThreadLocalRandom}. A thread can seed them with {@code seed}, so that
+ * simulations of different configurations, e.g. with different variant agents, are conducted on identical streams of population dynamics
+ * as long as their interactions between agents are the same, which is the basis of common random numbers.
+ * @see SplitMixRandom
+ */
+public final class Randoms {
+
+    private static final ThreadLocal<Random[]> STREAMS = new ThreadLocal<>();
+
+    private Randoms() {
+    }
+
+    /**
+     * Returns the generator of the stream of population dynamics of the current thread.
+     * @return the generator of the stream of population dynamics of the current thread
+     */
+    public static Random dynamics() {
+        Random[] streams = STREAMS.get();
+        return streams == null ? ThreadLocalRandom.current() : streams[0];
+    }
+
+    /**
+     * Returns the generator of the auxiliary stream of the current thread.
+     * @return the generator of the auxiliary stream of the current thread
+     */
+    public static Random auxiliary() {
+        Random[] streams = STREAMS.get();
+        return streams == null ? ThreadLocalRandom.current() : streams[1];
+    }
+
+    /**
+     * Seeds both streams of the current thread with seeds derived from the given seed and index, e.g. of a replica.
+     * @param seed the seed
+     * @param index the index
+     */
+    public static void seed(long seed, long index) {
+        long dynamics = SplitMixRandom.mix(seed + SplitMixRandom.mix(index));
+        STREAMS.set(new Random[]{new SplitMixRandom(dynamics), new SplitMixRandom(SplitMixRandom.mix(dynamics ^ 0x5DEECE66DL))});
+    }
+
+    /**
+     * Restores {@code ThreadLocalRandom} as both streams of the current thread.
+     */
+    public static void unseed() {
+        STREAMS.remove();
+    }
+}
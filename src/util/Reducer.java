@@ -0,0 +1,51 @@
+package util;
+
+/**
+ * An interface of reductions over ranges of primitive arrays, used to compute statistics of whole populations from primitive tables.
+ * <p>
+ * The default implementation is {@code ScalarReducer}. An implementation using SIMD lanes of the incubating Vector API
+ * is compiled with the {@code vector} Maven profile on JDK 16 or later; {@code Reducers.best()} returns it when it can be loaded.
+ * Implementations may sum values in different orders, so sums of doubles can differ in the last bits between implementations.
+ * @see Reducers
+ * @see ScalarReducer
+ * @see simulation.termination.LexiconCounters
+ */
+public interface Reducer {
+
+    /**
+     * Returns the sum of elements of the given array from the range {@code [from, to)}.
+     * @param values an array of values
+     * @param from the inclusive beginning of the range
+     * @param to the exclusive end of the range
+     * @return the sum of elements from the given range
+     */
+    double sum(double[] values, int from, int to);
+
+    /**
+     * Returns the sum of elements of the given array from the range {@code [from, to)}.
+     * @param values an array of values
+     * @param from the inclusive beginning of the range
+     * @param to the exclusive end of the range
+     * @return the sum of elements from the given range
+     */
+    long sum(int[] values, int from, int to);
+
+    /**
+     * Returns the number of elements of the given array from the range {@code [from, to)} equal to the given value.
+     * @param values an array of values
+     * @param from the inclusive beginning of the range
+     * @param to the exclusive end of the range
+     * @param value the value to be counted
+     * @return the number of elements from the given range equal to the given value
+     */
+    int count(int[] values, int from, int to, int value);
+
+    /**
+     * Returns {@code true} if any element of the given array from the range {@code [from, to)} is positive.
+     * @param values an array of values
+     * @param from the inclusive beginning of the range
+     * @param to the exclusive end of the range
+     * @return {@code true} if any element from the given range is positive; {@code false} otherwise
+     */
+    boolean anyPositive(int[] values, int from, int to);
+}
@@ -0,0 +1,37 @@
+package util;
+
+/**
+ * A utility class providing the best available implementation of {@code Reducer}.
+ * <p>
+ * The implementation using the Vector API ({@code util.VectorReducer}) is compiled only with the {@code vector} Maven profile and requires
+ * running with {@code --add-modules jdk.incubator.vector}, so it is loaded reflectively and {@code ScalarReducer} is used whenever it cannot be loaded.
+ * Setting the {@code elc.reducer} system property to {@code scalar} forces the scalar implementation.
+ * @see Reducer
+ */
+public final class Reducers {
+
+    private static final String VECTOR_REDUCER = "util.VectorReducer";
+
+    private static final Reducer BEST = load();
+
+    private Reducers() {
+    }
+
+    /**
+     * Returns the best available implementation of {@code Reducer}.
+     * @return the vectorized implementation if it can be loaded; {@code ScalarReducer} otherwise
+     */
+    public static Reducer best() {
+        return BEST;
+    }
+
+    private static Reducer load() {
+        if("scalar".equals(System.getProperty("elc.reducer")))
+            return new ScalarReducer();
+        try {
+            return (Reducer) Class.forName(VECTOR_REDUCER).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new ScalarReducer();
+        }
+    }
+}
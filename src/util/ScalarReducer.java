@@ -0,0 +1,41 @@
+package util;
+
+/**
+ * An implementation of {@code Reducer} with plain loops, available on every JVM.
+ * @see Reducer
+ */
+public class ScalarReducer implements Reducer {
+
+    @Override
+    public double sum(double[] values, int from, int to) {
+        double sum = 0;
+        for(int i = from; i < to; i++)
+            sum += values[i];
+        return sum;
+    }
+
+    @Override
+    public long sum(int[] values, int from, int to) {
+        long sum = 0;
+        for(int i = from; i < to; i++)
+            sum += values[i];
+        return sum;
+    }
+
+    @Override
+    public int count(int[] values, int from, int to, int value) {
+        int count = 0;
+        for(int i = from; i < to; i++)
+            if(values[i] == value)
+                count++;
+        return count;
+    }
+
+    @Override
+    public boolean anyPositive(int[] values, int from, int to) {
+        for(int i = from; i < to; i++)
+            if(values[i] > 0)
+                return true;
+        return false;
+    }
+}
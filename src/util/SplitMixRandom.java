@@ -0,0 +1,55 @@
+package util;
+
+import java.util.Random;
+
+/**
+ * A fast, unsynchronized random number generator based on the SplitMix64 algorithm, which can be seeded to reproduce its stream.
+ * It is meant to be confined to one thread.
+ * @see Randoms
+ */
+public class SplitMixRandom extends Random {
+
+    private static final long serialVersionUID = 1L;
+
+    private long state;
+
+    /**
+     * Initializes this generator with the given seed.
+     * @param seed the seed of this generator
+     */
+    public SplitMixRandom(long seed) {
+        super(seed);
+        this.state = seed;
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        this.state = seed;
+    }
+
+    @Override
+    public long nextLong() {
+        return mix(state += 0x9E3779B97F4A7C15L);
+    }
+
+    @Override
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    @Override
+    protected int next(int bits) {
+        return (int) (nextLong() >>> (64 - bits));
+    }
+
+    /**
+     * Returns the SplitMix64 finalizer of the given value, which can be used to derive independent seeds from consecutive numbers.
+     * @param z a value to be mixed
+     * @return the mixed value
+     */
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -1,32 +1,45 @@
 package util;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.Iterator;
-import java.util.PriorityQueue;
+import java.util.NoSuchElementException;
+import java.util.function.ObjDoubleConsumer;
 
 /**
  * An auxiliary class which serves as a priority queue whose values are sorted in accordance with their weights
  * - values with higher weights are at the beginning of the queue.
  * <p>
- * The implementation is based mainly on the PriorityQueue class from Java Collections Framework and the interface is inspired by it.
+ * The implementation is a binary heap modelled on the PriorityQueue class from Java Collections Framework and the interface is inspired by it.
  * In this case, inheritance of PriorityQueue class would not agree with Liskov Substition Principle, because the WeightPriorityQueue class keeps a collection of value-weight pairs, not a collection of values.
+ * The heap is kept in an array owned by this class, so that weights of pairs can be changed in place and weights of many values
+ * can be changed in a single pass followed by a single rebuild of the heap (see {@code decreaseAllExcept}).
+ * Pairs of removed values are kept in the array beyond the heap and reused by {@code add}, so that a queue of a steady size does not allocate.
  * @see simulation.lexicon.LimitedWeightsLexicon
  * @see WeightValuePair
  * @param <V> class of values to be kept in the queue
  */
 public class WeightPriorityQueue <V> implements Iterable<V>{
 
+    private static final int DEFAULT_INITIAL_CAPACITY = 2;
+
     /**
-     * A PriorityQueue object which keeps the pairs of values and weights
+     * An array keeping the pairs of values and weights as a binary heap; the pair with the highest weight is at index {@code 0}
      */
-    private PriorityQueue<WeightValuePair<V>> queue;
+    private WeightValuePair<V>[] queue;
+
+    /**
+     * The number of pairs in the heap; pairs at higher indices are pairs of removed values to be reused
+     */
+    private int size;
 
     /**
      * Initilizes an empty queue
      */
     public WeightPriorityQueue(){
-        this.queue = new PriorityQueue<>();
+        this.queue = newQueue(DEFAULT_INITIAL_CAPACITY);
+        this.size = 0;
     }
 
     /**
@@ -35,8 +48,18 @@ public class WeightPriorityQueue <V> implements Iterable<V>{
      * @param weight the weight of the value to be added to the queue
      */
     public void add(V value, double weight){
-        if(!contains(value))
-            queue.add(new WeightValuePair<>(value, weight));
+        if(!contains(value)) {
+            if(size == queue.length)
+                queue = Arrays.copyOf(queue, 2 * queue.length);
+            WeightValuePair<V> pair = queue[size];
+            if(pair == null)
+                pair = new WeightValuePair<>(value, weight);
+            else {
+                pair.setValue(value);
+                pair.setWeight(weight);
+            }
+            siftUp(size++, pair);
+        }
         else
             changeWeight(value, weight);
     }
@@ -47,10 +70,8 @@ public class WeightPriorityQueue <V> implements Iterable<V>{
      * @return the weight of the value in this queue; {@code 0} if the value is not kept in the queue
      */
     public double weight(V value){
-        for (WeightValuePair<V> pair : queue)
-            if(pair.getValue().equals(value))
-                return pair.getWeight();
-        return 0;
+        int i = indexOf(value);
+        return i < 0 ? 0 : queue[i].getWeight();
     }
 
     /**
@@ -59,16 +80,14 @@ public class WeightPriorityQueue <V> implements Iterable<V>{
      * @return {@code true} if this WeightPriorityQueue contains the specified value; {@code false} otherwise
      */
     public boolean contains(V value){
-        for(WeightValuePair<V> pair: queue)
-            if(pair.getValue().equals(value)) return true;
-        return false;
+        return indexOf(value) >= 0;
     }
 
     /**
      * Removes all of the values from this queue
      */
     public void clear(){
-        queue.clear();
+        size = 0;
     }
 
     /**
@@ -76,8 +95,8 @@ public class WeightPriorityQueue <V> implements Iterable<V>{
      * @return the value with the highest weight in this queue, or null if this queue is empty
      */
     public V peek(){
-        if(queue.isEmpty()) return null;
-        return queue.peek().getValue();
+        if(size == 0) return null;
+        return queue[0].getValue();
     }
 
     /**
@@ -85,8 +104,10 @@ public class WeightPriorityQueue <V> implements Iterable<V>{
      * @return the value with the highest weight in this queue, or null if this queue is empty
      */
     public V poll(){
-        if(queue.isEmpty()) return null;
-        return queue.poll().getValue();
+        if(size == 0) return null;
+        V value = queue[0].getValue();
+        removeAt(0);
+        return value;
     }
 
     /**
@@ -94,7 +115,7 @@ public class WeightPriorityQueue <V> implements Iterable<V>{
      * @return {@code true} if this queue contains no values; {@code false} otherwise
      */
     public boolean isEmpty(){
-        return queue.isEmpty();
+        return size == 0;
     }
 
     /**
@@ -103,17 +124,42 @@ public class WeightPriorityQueue <V> implements Iterable<V>{
      * @param to new weight for the specified value
      */
     public void changeWeight(V value, double to) {
-        WeightValuePair<V> valuePair = null;
-        for(WeightValuePair<V> pair: queue)
-            if(pair.getValue().equals(value)) {
-                valuePair = pair;
-                break;
+        int i = indexOf(value);
+        if(i >= 0) {
+            WeightValuePair<V> pair = queue[i];
+            pair.setWeight(to);
+            siftDown(i, pair);
+            if(queue[i] == pair)
+                siftUp(i, pair);
+        }
+    }
+
+    /**
+     * Decreases the weights of all values in this queue except for the specified value by {@code by} and removes all
+     * decreased values whose weights are then lower than or equal to {@code removalWeight}.
+     * <p>
+     * The weights are decreased and the values are removed in a single pass over this queue, after which the heap is rebuilt once.
+     * The resulting weights are exactly the same as if {@code changeWeight(v, weight(v) - by)} was invoked for each decreased value {@code v}.
+     * @param value value of which weight should not be decreased
+     * @param by value to decrease the weights of all other values
+     * @param removalWeight the weight at or below which decreased values are removed
+     * @return the number of removed values
+     */
+    public int decreaseAllExcept(V value, double by, double removalWeight) {
+        int kept = 0;
+        for(int i = 0; i < size; i++) {
+            WeightValuePair<V> pair = queue[i];
+            if(!pair.getValue().equals(value)) {
+                pair.setWeight(pair.getWeight() - by);
+                if(pair.getWeight() <= removalWeight) continue;
             }
-        if(valuePair != null) {
-            queue.remove(valuePair);
-            valuePair.setWeight(to);
-            queue.add(valuePair);
+            queue[i] = queue[kept];
+            queue[kept++] = pair;
         }
+        int removed = size - kept;
+        size = kept;
+        heapify();
+        return removed;
     }
 
     /**
@@ -123,7 +169,10 @@ public class WeightPriorityQueue <V> implements Iterable<V>{
      * @return {@code true} if this queue contained the specified value; {@code false} otherwise
      */
     public boolean remove(V value){
-        return queue.remove(pair(value));
+        int i = indexOf(value);
+        if(i < 0) return false;
+        removeAt(i);
+        return true;
     }
 
     /**
@@ -131,7 +180,7 @@ public class WeightPriorityQueue <V> implements Iterable<V>{
      * @return the number of elements in this queue
      */
     public int size(){
-        return queue.size();
+        return size;
     }
 
     /**
@@ -139,17 +188,96 @@ public class WeightPriorityQueue <V> implements Iterable<V>{
      * @return a collection of all the values contained in this queue
      */
     public Collection<V> values() {
-        Collection<V> values = new HashSet<>();
-        for(WeightValuePair<V> pair: queue)
-            values.add(pair.getValue());
+        Collection<V> values = new ArrayList<>(size);
+        for(int i = 0; i < size; i++)
+            values.add(queue[i].getValue());
         return values;
     }
 
-    private WeightValuePair<V> pair(V value){
-        for(WeightValuePair<V> pair: queue)
-            if(pair.getValue().equals(value))
-                return pair;
-        return null;
+    /**
+     * Performs the given action for each value in this queue and its weight, without searching for weights of values.
+     * The values are not processed in any particular order.
+     * @param action the action to be performed for each value and its weight
+     */
+    public void forEachWithWeight(ObjDoubleConsumer<V> action) {
+        for(int i = 0; i < size; i++)
+            action.accept(queue[i].getValue(), queue[i].getWeight());
+    }
+
+    /**
+     * Returns the value at the given index of this queue, so that values and their weights can be iterated over without allocations.
+     * Indices from {@code 0} to {@code size() - 1} cover all values, which are not in any particular order.
+     * @param index an index from {@code 0} to {@code size() - 1}
+     * @return the value at the given index
+     */
+    public V valueAt(int index){
+        return queue[index].getValue();
+    }
+
+    /**
+     * Returns the weight of the value at the given index of this queue.
+     * @param index an index from {@code 0} to {@code size() - 1}
+     * @return the weight of the value at the given index
+     * @see #valueAt(int)
+     */
+    public double weightAt(int index){
+        return queue[index].getWeight();
+    }
+
+    private int indexOf(V value){
+        for(int i = 0; i < size; i++)
+            if(queue[i].getValue().equals(value))
+                return i;
+        return -1;
+    }
+
+    private void removeAt(int i){
+        int s = --size;
+        if(s != i) {
+            WeightValuePair<V> moved = queue[s];
+            queue[s] = queue[i];
+            siftDown(i, moved);
+            if(queue[i] == moved)
+                siftUp(i, moved);
+        }
+    }
+
+    private void heapify(){
+        for(int i = (size >>> 1) - 1; i >= 0; i--)
+            siftDown(i, queue[i]);
+    }
+
+    private void siftUp(int k, WeightValuePair<V> pair){
+        while(k > 0) {
+            int parent = (k - 1) >>> 1;
+            WeightValuePair<V> e = queue[parent];
+            if(pair.compareTo(e) >= 0)
+                break;
+            queue[k] = e;
+            k = parent;
+        }
+        queue[k] = pair;
+    }
+
+    private void siftDown(int k, WeightValuePair<V> pair){
+        int half = size >>> 1;
+        while(k < half) {
+            int child = (k << 1) + 1;
+            WeightValuePair<V> c = queue[child];
+            int right = child + 1;
+            if(right < size && c.compareTo(queue[right]) > 0)
+                c = queue[child = right];
+            if(pair.compareTo(c) <= 0)
+                break;
+            queue[k] = c;
+            k = child;
+        }
+        queue[k] = pair;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <V> WeightValuePair<V>[] newQueue(int capacity){
+        return new WeightValuePair[capacity];
     }
 
     /**
@@ -161,16 +289,17 @@ public class WeightPriorityQueue <V> implements Iterable<V>{
 
         return new Iterator<V>() {
 
-            Iterator<WeightValuePair<V>> iterator = queue.iterator();
+            int cursor = 0;
 
             @Override
             public boolean hasNext() {
-                return iterator.hasNext();
+                return cursor < size;
             }
 
             @Override
             public V next() {
-                return iterator.next().getValue();
+                if(cursor >= size) throw new NoSuchElementException();
+                return queue[cursor++].getValue();
             }
         };
     }
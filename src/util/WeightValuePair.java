@@ -12,7 +12,7 @@ import lombok.ToString;
 public class WeightValuePair<V> implements Comparable<WeightValuePair<V>>{
 
     private double weight;
-    private final V value;
+    private V value;
 
     /**
      * Initializes a WeightValuePair object with the specified value and weight
@@ -55,4 +55,12 @@ public class WeightValuePair<V> implements Comparable<WeightValuePair<V>>{
     public void setWeight(double weight) {
         this.weight = weight;
     }
+
+    /**
+     * Sets the value of this pair, so that a pair of a value removed from a {@code WeightPriorityQueue} can be reused for another value.
+     * @param value the new value of this pair
+     */
+    void setValue(V value) {
+        this.value = value;
+    }
 }